@@ -31,6 +31,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 public class Main {
     private static final Logger LOGGER = LogManager.getLogger(Main.class);
@@ -73,6 +74,9 @@ public class Main {
                 LOGGER.info("After removing task 3: {}", taskList);
                 taskList.add(1, "Delivery materials");
                 LOGGER.info("After adding task at index 1: {}", taskList);
+                LOGGER.info("Tasks starting with 'I': {}", taskList.stream()
+                        .filter(task -> task.startsWith("I"))
+                        .collect(Collectors.toList()));
 
                 // Demonstrate MaterialInventory with generics
                 LOGGER.info("\n=== Material Inventory Demo ===");
@@ -94,6 +98,7 @@ public class Main {
 
                 LOGGER.info("Total inventory count: {}", inventory.getTotalInventoryCount());
                 LOGGER.info("Total inventory value: ${}", inventory.calculateTotalInventoryValue());
+                LOGGER.info("Inventory value by unit type: {}", inventory.getInventoryValueByUnitType());
                 LOGGER.info("Suppliers: {}", inventory.getSuppliers());
 
                 inventory.orderMaterial(cement);
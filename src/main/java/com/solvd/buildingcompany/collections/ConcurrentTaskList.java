@@ -0,0 +1,263 @@
+package com.solvd.buildingcompany.collections;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free, insertion-ordered task list that can be shared between threads.
+ * Appends and polls follow the Michael-Scott non-blocking queue; removal of an
+ * arbitrary element follows Harris: the node is first marked deleted by
+ * clearing its item with a CAS, then unlinked from its predecessor on a best
+ * effort basis (later traversals finish the job). The last node is never
+ * unlinked, so a concurrent append can't be lost.
+ * Iteration is weakly consistent and never throws ConcurrentModificationException.
+ * Null elements are not permitted.
+ */
+public class ConcurrentTaskList<T> extends AbstractQueue<T> {
+    private static final Logger LOGGER = LogManager.getLogger(ConcurrentTaskList.class);
+
+    private static final VarHandle ITEM;
+    private static final VarHandle NEXT;
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            ITEM = lookup.findVarHandle(Node.class, "item", Object.class);
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+            HEAD = lookup.findVarHandle(ConcurrentTaskList.class, "head", Node.class);
+            TAIL = lookup.findVarHandle(ConcurrentTaskList.class, "tail", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // Head is a sentinel whose item is always null; tail may lag behind the last node
+    private volatile Node<T> head;
+    private volatile Node<T> tail;
+    private final LongAdder size;
+
+    private static class Node<T> {
+        private volatile Object item;
+        private volatile Node<T> next;
+
+        public Node(T item) {
+            this.item = item;
+        }
+
+        @SuppressWarnings("unchecked")
+        public T getItem() {
+            return (T) item;
+        }
+
+        public Node<T> getNext() {
+            return next;
+        }
+
+        public boolean casItem(Object expected, Object update) {
+            return ITEM.compareAndSet(this, expected, update);
+        }
+
+        public boolean casNext(Node<T> expected, Node<T> update) {
+            return NEXT.compareAndSet(this, expected, update);
+        }
+    }
+
+    public ConcurrentTaskList() {
+        Node<T> sentinel = new Node<>(null);
+        this.head = sentinel;
+        this.tail = sentinel;
+        this.size = new LongAdder();
+        LOGGER.debug("Created new concurrent task list");
+    }
+
+    // Append an element to the end of the list
+    @Override
+    public boolean offer(T data) {
+        if (data == null) {
+            throw new NullPointerException("Task list does not accept null elements");
+        }
+        Node<T> newNode = new Node<>(data);
+        while (true) {
+            Node<T> last = tail;
+            Node<T> current = last;
+            Node<T> next;
+            while ((next = current.getNext()) != null) {
+                current = next;
+            }
+            if (current.casNext(null, newNode)) {
+                // Swing the tail forward; failure means another thread already did
+                TAIL.compareAndSet(this, last, newNode);
+                size.increment();
+                return true;
+            }
+        }
+    }
+
+    // Remove and return the first element, or null if the list is empty
+    @Override
+    public T poll() {
+        while (true) {
+            Node<T> first = head;
+            Node<T> current = first.getNext();
+            while (current != null) {
+                T item = current.getItem();
+                if (item != null && current.casItem(item, null)) {
+                    // The drained node becomes the new sentinel
+                    HEAD.compareAndSet(this, first, current);
+                    size.decrement();
+                    return item;
+                }
+                current = current.getNext();
+            }
+            if (first == head) {
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public T peek() {
+        for (Node<T> current = head.getNext(); current != null; current = current.getNext()) {
+            T item = current.getItem();
+            if (item != null) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    // Remove first occurrence of element
+    @Override
+    public boolean remove(Object element) {
+        if (element == null) {
+            return false;
+        }
+        Node<T> previous = head;
+        Node<T> current = previous.getNext();
+        while (current != null) {
+            Node<T> next = current.getNext();
+            T item = current.getItem();
+            if (item == null) {
+                unlink(previous, current, next);
+            } else if (element.equals(item) && current.casItem(item, null)) {
+                size.decrement();
+                unlink(previous, current, next);
+                LOGGER.debug("Removed element from concurrent task list");
+                return true;
+            } else {
+                previous = current;
+            }
+            current = next;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        if (element == null) {
+            return false;
+        }
+        for (Node<T> current = head.getNext(); current != null; current = current.getNext()) {
+            if (element.equals(current.getItem())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Get list size; exact when quiescent, an estimate while other threads are mutating
+    @Override
+    public int size() {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, size.sum()));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return peek() == null;
+    }
+
+    // Remove all elements present when the traversal reaches them
+    @Override
+    public void clear() {
+        while (poll() != null) {
+            // keep draining
+        }
+        LOGGER.debug("Cleared concurrent task list");
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new WeakIterator();
+    }
+
+    // Physically unlink a deleted node, except the last one which appends may still target
+    private void unlink(Node<T> previous, Node<T> deleted, Node<T> next) {
+        if (next != null) {
+            previous.casNext(deleted, next);
+        }
+    }
+
+    private class WeakIterator implements Iterator<T> {
+        private Node<T> nextNode;
+        private T nextItem;
+        private Node<T> lastReturned;
+        private T lastItem;
+
+        WeakIterator() {
+            advance(head);
+        }
+
+        private void advance(Node<T> from) {
+            Node<T> current = from.getNext();
+            while (current != null) {
+                T item = current.getItem();
+                if (item != null) {
+                    nextNode = current;
+                    nextItem = item;
+                    return;
+                }
+                current = current.getNext();
+            }
+            nextNode = null;
+            nextItem = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextNode != null;
+        }
+
+        @Override
+        public T next() {
+            if (nextNode == null) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = nextNode;
+            lastItem = nextItem;
+            advance(nextNode);
+            return lastItem;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            // Only succeeds if no other thread removed the element first
+            if (lastReturned.casItem(lastItem, null)) {
+                size.decrement();
+            }
+            lastReturned = null;
+            lastItem = null;
+        }
+    }
+}
@@ -3,26 +3,63 @@ package com.solvd.buildingcompany.collections;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-public class CustomLinkedList<T> {
+import java.util.AbstractSequentialList;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Doubly linked list with head and tail pointers.
+ * Appends, removals at either end and removals through an iterator are O(1);
+ * positional access walks from whichever end is closer to the index.
+ * Iterators are fail-fast: structural changes made outside the iterator
+ * cause a {@link ConcurrentModificationException}.
+ * {@link #stream()} and {@link #parallelStream()} are backed by a spliterator
+ * that hands off growing array batches, so parallel pipelines can split the
+ * list without copying it into another collection first.
+ */
+public class CustomLinkedList<T> extends AbstractSequentialList<T> implements Deque<T> {
     private static final Logger LOGGER = LogManager.getLogger(CustomLinkedList.class);
 
     private Node<T> head;
+    private Node<T> tail;
     private int size;
 
     public Node<T> getHead() {
         return head;
     }
 
+    /**
+     * Replaces the chain of nodes starting at the given head.
+     * Previous links, the tail pointer and the size are rebuilt by walking the chain.
+     */
     public void setHead(Node<T> head) {
         this.head = head;
+        this.tail = null;
+        this.size = 0;
+        Node<T> previous = null;
+        for (Node<T> current = head; current != null; current = current.getNext()) {
+            current.setPrev(previous);
+            previous = current;
+            size++;
+        }
+        this.tail = previous;
+        modCount++;
     }
 
     private static class Node<T> {
         private T data;
+        private Node<T> prev;
         private Node<T> next;
 
         public Node(T data) {
             this.data = data;
+            this.prev = null;
             this.next = null;
         }
 
@@ -34,6 +71,14 @@ public class CustomLinkedList<T> {
             this.data = data;
         }
 
+        public Node<T> getPrev() {
+            return prev;
+        }
+
+        public void setPrev(Node<T> prev) {
+            this.prev = prev;
+        }
+
         public Node<T> getNext() {
             return next;
         }
@@ -45,132 +90,277 @@ public class CustomLinkedList<T> {
 
     public CustomLinkedList() {
         this.head = null;
+        this.tail = null;
         this.size = 0;
         LOGGER.debug("Created new custom linked list");
     }
 
     // Add an element to the end of the list
-    public void add(T data) {
-        Node<T> newNode = new Node<>(data);
-        if (head == null) {
-            head = newNode;
-        } else {
-            Node<T> current = head;
-            while (current.getNext() != null) {
-                current = current.getNext();
-            }
-            current.setNext(newNode);
-        }
-        size++;
+    @Override
+    public boolean add(T data) {
+        linkLast(data);
         LOGGER.debug("Added element to linked list, new size: {}", size);
+        return true;
     }
 
     // Add an element at specified index
+    @Override
     public void add(int index, T data) {
-        if (index < 0 || index > size) {
-            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
-        }
-
-        Node<T> newNode = new Node<>(data);
-
-        if (index == 0) {
-            newNode.setNext(head);
-            head = newNode;
+        checkPositionIndex(index);
+        if (index == size) {
+            linkLast(data);
         } else {
-            Node<T> current = head;
-            for (int i = 0; i < index - 1; i++) {
-                current = current.getNext();
-            }
-            newNode.setNext(current.getNext());
-            current.setNext(newNode);
+            linkBefore(data, node(index));
         }
-        size++;
         LOGGER.debug("Added element at index {}, new size: {}", index, size);
     }
 
     // Get element at specified index
+    @Override
     public T get(int index) {
-        if (index < 0 || index >= size) {
-            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
-        }
-
-        Node<T> current = head;
-        for (int i = 0; i < index; i++) {
-            current = current.getNext();
-        }
-
+        checkElementIndex(index);
         LOGGER.debug("Retrieved element at index {}", index);
-        return current.getData();
+        return node(index).getData();
+    }
+
+    // Replace element at specified index
+    @Override
+    public T set(int index, T data) {
+        checkElementIndex(index);
+        Node<T> target = node(index);
+        T oldData = target.getData();
+        target.setData(data);
+        return oldData;
     }
 
     // Remove element at specified index
+    @Override
     public T remove(int index) {
-        if (index < 0 || index >= size) {
-            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
-        }
-
-        T removedData;
-        if (index == 0) {
-            removedData = head.getData();
-            head = head.getNext();
-        } else {
-            Node<T> current = head;
-            for (int i = 0; i < index - 1; i++) {
-                current = current.getNext();
-            }
-            removedData = current.getNext().getData();
-            current.setNext(current.getNext().getNext());
-        }
-        size--;
+        checkElementIndex(index);
+        T removedData = unlink(node(index));
         LOGGER.debug("Removed element at index {}, new size: {}", index, size);
         return removedData;
     }
 
     // Remove first occurrence of element
-    public boolean remove(T element) {
-        if (head == null) {
-            return false;
-        }
-
-        if (head.getData().equals(element)) {
-            head = head.getNext();
-            size--;
-            LOGGER.debug("Removed element from start of list, new size: {}", size);
-            return true;
-        }
-
-        Node<T> current = head;
-        while (current.getNext() != null && !current.getNext().getData().equals(element)) {
-            current = current.getNext();
-        }
-
-        if (current.getNext() != null) {
-            current.setNext(current.getNext().getNext());
-            size--;
-            LOGGER.debug("Removed element from list, new size: {}", size);
-            return true;
-        }
-
-        return false;
+    @Override
+    public boolean remove(Object element) {
+        return removeFirstOccurrence(element);
     }
 
     // Get list size
+    @Override
     public int size() {
         return size;
     }
 
     // Check if list is empty
+    @Override
     public boolean isEmpty() {
         return size == 0;
     }
 
     // Clear the list
+    @Override
     public void clear() {
+        // Break the links so detached nodes do not keep each other reachable
+        Node<T> current = head;
+        while (current != null) {
+            Node<T> next = current.getNext();
+            current.setData(null);
+            current.setPrev(null);
+            current.setNext(null);
+            current = next;
+        }
         head = null;
+        tail = null;
         size = 0;
+        modCount++;
         LOGGER.debug("Cleared linked list");
     }
 
+    @Override
+    public Iterator<T> iterator() {
+        return new ListItr(0);
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int index) {
+        checkPositionIndex(index);
+        return new ListItr(index);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new NodeSpliterator();
+    }
+
+    @Override
+    public Iterator<T> descendingIterator() {
+        ListItr itr = new ListItr(size);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return itr.hasPrevious();
+            }
+
+            @Override
+            public T next() {
+                return itr.previous();
+            }
+
+            @Override
+            public void remove() {
+                itr.remove();
+            }
+        };
+    }
+
+    /**
+     * Returns a live view of this list in reverse order, as {@link java.util.LinkedList#reversed()} does.
+     * Reads and writes through the view go straight to this list.
+     * @return Reverse-ordered view backed by this list
+     */
+    @Override
+    public ReverseView reversed() {
+        return new ReverseView();
+    }
+
+    // Deque operations
+
+    @Override
+    public void addFirst(T data) {
+        linkFirst(data);
+    }
+
+    @Override
+    public void addLast(T data) {
+        linkLast(data);
+    }
+
+    @Override
+    public boolean offerFirst(T data) {
+        linkFirst(data);
+        return true;
+    }
+
+    @Override
+    public boolean offerLast(T data) {
+        linkLast(data);
+        return true;
+    }
+
+    @Override
+    public T removeFirst() {
+        if (head == null) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return unlink(head);
+    }
+
+    @Override
+    public T removeLast() {
+        if (tail == null) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return unlink(tail);
+    }
+
+    @Override
+    public T pollFirst() {
+        return head == null ? null : unlink(head);
+    }
+
+    @Override
+    public T pollLast() {
+        return tail == null ? null : unlink(tail);
+    }
+
+    @Override
+    public T getFirst() {
+        if (head == null) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return head.getData();
+    }
+
+    @Override
+    public T getLast() {
+        if (tail == null) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return tail.getData();
+    }
+
+    @Override
+    public T peekFirst() {
+        return head == null ? null : head.getData();
+    }
+
+    @Override
+    public T peekLast() {
+        return tail == null ? null : tail.getData();
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object element) {
+        for (Node<T> current = head; current != null; current = current.getNext()) {
+            if (equal(element, current.getData())) {
+                unlink(current);
+                LOGGER.debug("Removed element from list, new size: {}", size);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object element) {
+        for (Node<T> current = tail; current != null; current = current.getPrev()) {
+            if (equal(element, current.getData())) {
+                unlink(current);
+                LOGGER.debug("Removed element from list, new size: {}", size);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean offer(T data) {
+        return offerLast(data);
+    }
+
+    @Override
+    public T remove() {
+        return removeFirst();
+    }
+
+    @Override
+    public T poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public T element() {
+        return getFirst();
+    }
+
+    @Override
+    public T peek() {
+        return peekFirst();
+    }
+
+    @Override
+    public void push(T data) {
+        addFirst(data);
+    }
+
+    @Override
+    public T pop() {
+        return removeFirst();
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("[");
@@ -187,4 +377,486 @@ public class CustomLinkedList<T> {
         sb.append("]");
         return sb.toString();
     }
+
+    private void linkFirst(T data) {
+        Node<T> newNode = new Node<>(data);
+        newNode.setNext(head);
+        if (head == null) {
+            tail = newNode;
+        } else {
+            head.setPrev(newNode);
+        }
+        head = newNode;
+        size++;
+        modCount++;
+    }
+
+    private void linkLast(T data) {
+        Node<T> newNode = new Node<>(data);
+        newNode.setPrev(tail);
+        if (tail == null) {
+            head = newNode;
+        } else {
+            tail.setNext(newNode);
+        }
+        tail = newNode;
+        size++;
+        modCount++;
+    }
+
+    private void linkBefore(T data, Node<T> successor) {
+        Node<T> predecessor = successor.getPrev();
+        Node<T> newNode = new Node<>(data);
+        newNode.setPrev(predecessor);
+        newNode.setNext(successor);
+        successor.setPrev(newNode);
+        if (predecessor == null) {
+            head = newNode;
+        } else {
+            predecessor.setNext(newNode);
+        }
+        size++;
+        modCount++;
+    }
+
+    private T unlink(Node<T> target) {
+        T data = target.getData();
+        Node<T> predecessor = target.getPrev();
+        Node<T> successor = target.getNext();
+
+        if (predecessor == null) {
+            head = successor;
+        } else {
+            predecessor.setNext(successor);
+            target.setPrev(null);
+        }
+
+        if (successor == null) {
+            tail = predecessor;
+        } else {
+            successor.setPrev(predecessor);
+            target.setNext(null);
+        }
+
+        target.setData(null);
+        size--;
+        modCount++;
+        return data;
+    }
+
+    // Walk from whichever end is closer to the index
+    private Node<T> node(int index) {
+        if (index < (size >> 1)) {
+            Node<T> current = head;
+            for (int i = 0; i < index; i++) {
+                current = current.getNext();
+            }
+            return current;
+        }
+        Node<T> current = tail;
+        for (int i = size - 1; i > index; i--) {
+            current = current.getPrev();
+        }
+        return current;
+    }
+
+    private void checkElementIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void checkPositionIndex(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private static boolean equal(Object first, Object second) {
+        return first == null ? second == null : first.equals(second);
+    }
+
+    /**
+     * Reverse-ordered view of the enclosing list. Its first element is the list's last;
+     * adding to its front appends to the list, and so on. Iterators walk the prev links.
+     */
+    public class ReverseView extends AbstractSequentialList<T> implements Deque<T> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public ListIterator<T> listIterator(int index) {
+            checkPositionIndex(index);
+            ListItr itr = new ListItr(size - index);
+            return new ListIterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return itr.hasPrevious();
+                }
+
+                @Override
+                public T next() {
+                    return itr.previous();
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return itr.hasNext();
+                }
+
+                @Override
+                public T previous() {
+                    return itr.next();
+                }
+
+                @Override
+                public int nextIndex() {
+                    return size - itr.nextIndex();
+                }
+
+                @Override
+                public int previousIndex() {
+                    return nextIndex() - 1;
+                }
+
+                @Override
+                public void remove() {
+                    itr.remove();
+                }
+
+                @Override
+                public void set(T data) {
+                    itr.set(data);
+                }
+
+                @Override
+                public void add(T data) {
+                    // Inserted before the cursor of the list, then stepped over so it sits behind the view's cursor
+                    itr.add(data);
+                    itr.previous();
+                    itr.lastReturned = null;
+                }
+            };
+        }
+
+        @Override
+        public Iterator<T> descendingIterator() {
+            return CustomLinkedList.this.iterator();
+        }
+
+        @Override
+        public CustomLinkedList<T> reversed() {
+            return CustomLinkedList.this;
+        }
+
+        @Override
+        public boolean add(T data) {
+            CustomLinkedList.this.addFirst(data);
+            return true;
+        }
+
+        @Override
+        public void addFirst(T data) {
+            CustomLinkedList.this.addLast(data);
+        }
+
+        @Override
+        public void addLast(T data) {
+            CustomLinkedList.this.addFirst(data);
+        }
+
+        @Override
+        public boolean offerFirst(T data) {
+            return CustomLinkedList.this.offerLast(data);
+        }
+
+        @Override
+        public boolean offerLast(T data) {
+            return CustomLinkedList.this.offerFirst(data);
+        }
+
+        @Override
+        public T removeFirst() {
+            return CustomLinkedList.this.removeLast();
+        }
+
+        @Override
+        public T removeLast() {
+            return CustomLinkedList.this.removeFirst();
+        }
+
+        @Override
+        public T pollFirst() {
+            return CustomLinkedList.this.pollLast();
+        }
+
+        @Override
+        public T pollLast() {
+            return CustomLinkedList.this.pollFirst();
+        }
+
+        @Override
+        public T getFirst() {
+            return CustomLinkedList.this.getLast();
+        }
+
+        @Override
+        public T getLast() {
+            return CustomLinkedList.this.getFirst();
+        }
+
+        @Override
+        public T peekFirst() {
+            return CustomLinkedList.this.peekLast();
+        }
+
+        @Override
+        public T peekLast() {
+            return CustomLinkedList.this.peekFirst();
+        }
+
+        @Override
+        public boolean removeFirstOccurrence(Object element) {
+            return CustomLinkedList.this.removeLastOccurrence(element);
+        }
+
+        @Override
+        public boolean removeLastOccurrence(Object element) {
+            return CustomLinkedList.this.removeFirstOccurrence(element);
+        }
+
+        @Override
+        public boolean offer(T data) {
+            return offerLast(data);
+        }
+
+        @Override
+        public T remove() {
+            return removeFirst();
+        }
+
+        @Override
+        public T poll() {
+            return pollFirst();
+        }
+
+        @Override
+        public T element() {
+            return getFirst();
+        }
+
+        @Override
+        public T peek() {
+            return peekFirst();
+        }
+
+        @Override
+        public void push(T data) {
+            addFirst(data);
+        }
+
+        @Override
+        public T pop() {
+            return removeFirst();
+        }
+    }
+
+    private class ListItr implements ListIterator<T> {
+        private Node<T> lastReturned;
+        private Node<T> next;
+        private int nextIndex;
+        private int expectedModCount = modCount;
+
+        ListItr(int index) {
+            this.next = (index == size) ? null : node(index);
+            this.nextIndex = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @Override
+        public T next() {
+            checkForComodification();
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = next;
+            next = next.getNext();
+            nextIndex++;
+            return lastReturned.getData();
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        public T previous() {
+            checkForComodification();
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            next = (next == null) ? tail : next.getPrev();
+            lastReturned = next;
+            nextIndex--;
+            return lastReturned.getData();
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            Node<T> lastNext = lastReturned.getNext();
+            unlink(lastReturned);
+            if (next == lastReturned) {
+                // Removed after previous(): the cursor moves to the successor
+                next = lastNext;
+            } else {
+                nextIndex--;
+            }
+            lastReturned = null;
+            expectedModCount++;
+        }
+
+        @Override
+        public void set(T data) {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            lastReturned.setData(data);
+        }
+
+        @Override
+        public void add(T data) {
+            checkForComodification();
+            lastReturned = null;
+            if (next == null) {
+                linkLast(data);
+            } else {
+                linkBefore(data, next);
+            }
+            nextIndex++;
+            expectedModCount++;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /*
+     * Late-binding spliterator: it captures head, size and modCount on first use.
+     * trySplit copies the next batch of elements into an array (batches grow by
+     * BATCH_UNIT each split), which is the cheapest way to split a linked
+     * structure that has no random access.
+     */
+    private class NodeSpliterator implements Spliterator<T> {
+        private static final int BATCH_UNIT = 1 << 10;
+        private static final int MAX_BATCH = 1 << 25;
+
+        private Node<T> current;
+        private int estimate = -1;
+        private int expectedModCount;
+        private int batch;
+
+        private int getEstimate() {
+            if (estimate < 0) {
+                current = head;
+                estimate = size;
+                expectedModCount = modCount;
+            }
+            return estimate;
+        }
+
+        @Override
+        public long estimateSize() {
+            return getEstimate();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            if (getEstimate() > 0 && current != null) {
+                estimate--;
+                T data = current.getData();
+                current = current.getNext();
+                action.accept(data);
+                checkForComodification();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            int remaining = getEstimate();
+            Node<T> node = current;
+            current = null;
+            estimate = 0;
+            while (remaining-- > 0 && node != null) {
+                T data = node.getData();
+                node = node.getNext();
+                action.accept(data);
+            }
+            checkForComodification();
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int remaining = getEstimate();
+            if (remaining <= 1 || current == null) {
+                return null;
+            }
+            int batchSize = Math.min(Math.min(batch + BATCH_UNIT, remaining), MAX_BATCH);
+            Object[] elements = new Object[batchSize];
+            Node<T> node = current;
+            int count = 0;
+            do {
+                elements[count++] = node.getData();
+                node = node.getNext();
+            } while (node != null && count < batchSize);
+            current = node;
+            batch = count;
+            estimate = remaining - count;
+            return Spliterators.spliterator(elements, 0, count, Spliterator.ORDERED);
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
 }
@@ -0,0 +1,196 @@
+package com.solvd.buildingcompany.collections;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+
+/**
+ * Growable array of primitive doubles for cost and duration series.
+ * Values are stored unboxed, so a million points take 8 MB instead of
+ * the ~24 MB a list of Double objects needs.
+ */
+public class DoubleList {
+    private static final Logger LOGGER = LogManager.getLogger(DoubleList.class);
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private double[] values;
+    private int size;
+
+    public DoubleList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public DoubleList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative: " + initialCapacity);
+        }
+        this.values = new double[initialCapacity];
+        this.size = 0;
+        LOGGER.debug("Created new double list with capacity {}", initialCapacity);
+    }
+
+    // Add a value to the end of the list
+    public void add(double value) {
+        if (size == values.length) {
+            grow(size + 1);
+        }
+        values[size++] = value;
+    }
+
+    // Add all values from the given array
+    public void addAll(double[] source) {
+        ensureCapacity(size + source.length);
+        System.arraycopy(source, 0, values, size, source.length);
+        size += source.length;
+    }
+
+    // Get value at specified index
+    public double get(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    // Replace value at specified index, returning the old one
+    public double set(int index, double value) {
+        checkIndex(index);
+        double oldValue = values[index];
+        values[index] = value;
+        return oldValue;
+    }
+
+    // Remove value at specified index
+    public double removeAt(int index) {
+        checkIndex(index);
+        double removed = values[index];
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+        LOGGER.debug("Cleared double list");
+    }
+
+    /**
+     * Sums all values using compensated (Kahan) summation,
+     * the same technique DoubleStream.sum() uses to limit rounding error
+     * @return Sum of the values, 0 for an empty list
+     */
+    public double sum() {
+        double sum = 0.0;
+        double compensation = 0.0;
+        for (int i = 0; i < size; i++) {
+            double corrected = values[i] - compensation;
+            double next = sum + corrected;
+            compensation = (next - sum) - corrected;
+            sum = next;
+        }
+        return sum;
+    }
+
+    /**
+     * @return Smallest value in the list
+     * @throws NoSuchElementException if the list is empty
+     */
+    public double min() {
+        checkNotEmpty();
+        double min = values[0];
+        for (int i = 1; i < size; i++) {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+
+    /**
+     * @return Largest value in the list
+     * @throws NoSuchElementException if the list is empty
+     */
+    public double max() {
+        checkNotEmpty();
+        double max = values[0];
+        for (int i = 1; i < size; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+
+    /**
+     * @return Arithmetic mean of the values
+     * @throws NoSuchElementException if the list is empty
+     */
+    public double average() {
+        checkNotEmpty();
+        return sum() / size;
+    }
+
+    public void forEach(DoubleConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    // Copy of the values in list order
+    public double[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    public DoubleStream stream() {
+        return Arrays.stream(values, 0, size);
+    }
+
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > values.length) {
+            grow(minCapacity);
+        }
+    }
+
+    // Release unused capacity
+    public void trimToSize() {
+        if (values.length > size) {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            sb.append(values[i]);
+            if (i + 1 < size) {
+                sb.append(", ");
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    private void grow(int minCapacity) {
+        int newCapacity = Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, values.length + (values.length >> 1)));
+        values = Arrays.copyOf(values, newCapacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("List is empty");
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.solvd.buildingcompany.collections;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.AbstractList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Positional list built on an indexable skip list.
+ * Every forward link also stores its width (how many elements it jumps over),
+ * so get, set, add and remove at an index take O(log n) expected time instead
+ * of the O(n) walk of {@link CustomLinkedList}. Iteration follows the bottom
+ * level and costs O(1) per element.
+ */
+public class IndexableSkipList<T> extends AbstractList<T> {
+    private static final Logger LOGGER = LogManager.getLogger(IndexableSkipList.class);
+    private static final int MAX_LEVEL = 32;
+
+    private final Node<T> head;
+    private int level;
+    private int size;
+
+    private static class Node<T> {
+        private T data;
+        private final Node<T>[] next;
+        // width[l] is the rank distance to next[l]; links to null point one past the last element
+        private final int[] width;
+
+        @SuppressWarnings("unchecked")
+        public Node(T data, int level) {
+            this.data = data;
+            this.next = (Node<T>[]) new Node[level];
+            this.width = new int[level];
+        }
+
+        public T getData() {
+            return data;
+        }
+
+        public void setData(T data) {
+            this.data = data;
+        }
+    }
+
+    public IndexableSkipList() {
+        this.head = new Node<>(null, MAX_LEVEL);
+        this.level = 0;
+        this.size = 0;
+        LOGGER.debug("Created new indexable skip list");
+    }
+
+    // Add an element to the end of the list
+    @Override
+    public boolean add(T data) {
+        insert(size + 1, data);
+        LOGGER.debug("Added element to skip list, new size: {}", size);
+        return true;
+    }
+
+    // Add an element at specified index
+    @Override
+    public void add(int index, T data) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        insert(index + 1, data);
+        LOGGER.debug("Added element at index {}, new size: {}", index, size);
+    }
+
+    // Get element at specified index
+    @Override
+    public T get(int index) {
+        checkElementIndex(index);
+        LOGGER.debug("Retrieved element at index {}", index);
+        return nodeAtRank(index + 1).getData();
+    }
+
+    // Replace element at specified index
+    @Override
+    public T set(int index, T data) {
+        checkElementIndex(index);
+        Node<T> target = nodeAtRank(index + 1);
+        T oldData = target.getData();
+        target.setData(data);
+        return oldData;
+    }
+
+    // Remove element at specified index
+    @Override
+    public T remove(int index) {
+        checkElementIndex(index);
+        T removedData = removeRank(index + 1);
+        LOGGER.debug("Removed element at index {}, new size: {}", index, size);
+        return removedData;
+    }
+
+    // Remove first occurrence of element
+    @Override
+    public boolean remove(Object element) {
+        int index = indexOf(element);
+        if (index < 0) {
+            return false;
+        }
+        removeRank(index + 1);
+        LOGGER.debug("Removed element from skip list, new size: {}", size);
+        return true;
+    }
+
+    @Override
+    public int indexOf(Object element) {
+        int index = 0;
+        for (Node<T> current = bottomNext(head); current != null; current = bottomNext(current), index++) {
+            if (element == null ? current.getData() == null : element.equals(current.getData())) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    // Get list size
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Check if list is empty
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Clear the list
+    @Override
+    public void clear() {
+        for (int l = 0; l < MAX_LEVEL; l++) {
+            head.next[l] = null;
+            head.width[l] = 1;
+        }
+        level = 0;
+        size = 0;
+        modCount++;
+        LOGGER.debug("Cleared skip list");
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private Node<T> next = bottomNext(head);
+            private int lastRank = 0;
+            private boolean canRemove;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                checkForComodification();
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                T data = next.getData();
+                next = bottomNext(next);
+                lastRank++;
+                canRemove = true;
+                return data;
+            }
+
+            @Override
+            public void remove() {
+                checkForComodification();
+                if (!canRemove) {
+                    throw new IllegalStateException();
+                }
+                removeRank(lastRank);
+                lastRank--;
+                canRemove = false;
+                expectedModCount = modCount;
+            }
+
+            private void checkForComodification() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (Node<T> current = bottomNext(head); current != null; current = bottomNext(current)) {
+            sb.append(current.getData());
+            if (bottomNext(current) != null) {
+                sb.append(", ");
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    // Ranks are 1-based; the head sentinel has rank 0
+    private Node<T> nodeAtRank(int rank) {
+        Node<T> current = head;
+        int position = 0;
+        for (int l = level - 1; l >= 0; l--) {
+            while (current.next[l] != null && position + current.width[l] <= rank) {
+                position += current.width[l];
+                current = current.next[l];
+            }
+        }
+        return current;
+    }
+
+    private void insert(int rank, T data) {
+        @SuppressWarnings("unchecked")
+        Node<T>[] update = (Node<T>[]) new Node[MAX_LEVEL];
+        int[] updateRank = new int[MAX_LEVEL];
+        findPredecessors(rank, update, updateRank);
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int l = level; l < nodeLevel; l++) {
+                update[l] = head;
+                updateRank[l] = 0;
+                head.next[l] = null;
+                head.width[l] = size + 1;
+            }
+            level = nodeLevel;
+        }
+
+        Node<T> newNode = new Node<>(data, nodeLevel);
+        for (int l = 0; l < nodeLevel; l++) {
+            Node<T> predecessor = update[l];
+            newNode.next[l] = predecessor.next[l];
+            newNode.width[l] = predecessor.width[l] - (rank - updateRank[l]) + 1;
+            predecessor.next[l] = newNode;
+            predecessor.width[l] = rank - updateRank[l];
+        }
+        // Links above the new node now jump over one more element
+        for (int l = nodeLevel; l < level; l++) {
+            update[l].width[l]++;
+        }
+        size++;
+        modCount++;
+    }
+
+    private T removeRank(int rank) {
+        @SuppressWarnings("unchecked")
+        Node<T>[] update = (Node<T>[]) new Node[MAX_LEVEL];
+        findPredecessors(rank, update, new int[MAX_LEVEL]);
+
+        Node<T> target = update[0].next[0];
+        for (int l = 0; l < level; l++) {
+            Node<T> predecessor = update[l];
+            if (predecessor.next[l] == target) {
+                predecessor.width[l] += target.width[l] - 1;
+                predecessor.next[l] = target.next[l];
+            } else {
+                predecessor.width[l]--;
+            }
+        }
+        while (level > 0 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        modCount++;
+        return target.getData();
+    }
+
+    // Fills update[l] with the last node on level l whose rank is below the given rank
+    private void findPredecessors(int rank, Node<T>[] update, int[] updateRank) {
+        Node<T> current = head;
+        int position = 0;
+        for (int l = level - 1; l >= 0; l--) {
+            while (current.next[l] != null && position + current.width[l] < rank) {
+                position += current.width[l];
+                current = current.next[l];
+            }
+            update[l] = current;
+            updateRank[l] = position;
+        }
+    }
+
+    // Geometric level distribution with p = 1/2
+    private static int randomLevel() {
+        int bits = ThreadLocalRandom.current().nextInt() | (1 << (MAX_LEVEL - 1));
+        return Integer.numberOfTrailingZeros(bits) + 1;
+    }
+
+    private static <T> Node<T> bottomNext(Node<T> node) {
+        return node.next[0];
+    }
+
+    private void checkElementIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
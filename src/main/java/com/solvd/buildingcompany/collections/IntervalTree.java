@@ -0,0 +1,234 @@
+package com.solvd.buildingcompany.collections;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Half-open intervals [start, end) of long positions, at most one per start, kept apart
+ * even when they overlap. The intervals are nodes of an AVL tree ordered by start, and
+ * every node also stores the largest end in its subtree. That way the intervals overlapping
+ * a query range are found in O(log n + k) for k matches, and whether there is any in
+ * O(log n), without visiting the intervals that merely lie next to them.
+ */
+public class IntervalTree {
+    private static final Logger LOGGER = LogManager.getLogger(IntervalTree.class);
+
+    private Node root;
+    private int size;
+
+    /**
+     * One stored interval, end exclusive
+     */
+    public record Interval(long start, long end) {
+    }
+
+    private static class Node {
+        private final long start;
+        private long end;
+        private long maxEnd;
+        private int height;
+        private Node left;
+        private Node right;
+
+        public Node(long start, long end) {
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+            this.height = 1;
+        }
+    }
+
+    public IntervalTree() {
+        LOGGER.debug("Created new interval tree");
+    }
+
+    /**
+     * Stores [start, end), replacing the interval that had the same start
+     */
+    public void put(long start, long end) {
+        if (start >= end) {
+            throw new IllegalArgumentException("Interval start must be before its end: [" + start + ", " + end + ")");
+        }
+        root = put(root, start, end);
+    }
+
+    /**
+     * @return true if an interval started at start
+     */
+    public boolean remove(long start) {
+        int before = size;
+        root = remove(root, start);
+        return size < before;
+    }
+
+    /**
+     * @return true if a stored interval overlaps [start, end)
+     */
+    public boolean overlaps(long start, long end) {
+        Node node = root;
+        while (node != null) {
+            if (node.start < end && node.end > start) {
+                return true;
+            }
+            // If no interval on the left ends after start, none there overlaps; if one does but
+            // starts at or after end, every interval on the right starts later still
+            node = node.left != null && node.left.maxEnd > start ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /**
+     * @return true if a stored interval other than the one starting at ignoredStart overlaps [start, end)
+     */
+    public boolean overlapsExcept(long start, long end, long ignoredStart) {
+        return findOverlapping(root, start, end, ignoredStart, null);
+    }
+
+    /**
+     * @return The intervals overlapping [start, end), by start
+     */
+    public List<Interval> overlapping(long start, long end) {
+        List<Interval> found = new ArrayList<>();
+        findOverlapping(root, start, end, 0, found);
+        return found;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        root = null;
+        size = 0;
+        LOGGER.debug("Cleared interval tree");
+    }
+
+    // Visits the overlapping intervals in start order, skipping subtrees that end too early or start
+    // too late; collects them into found, or stops at the first one not starting at ignoredStart
+    private static boolean findOverlapping(Node node, long start, long end, long ignoredStart, List<Interval> found) {
+        if (node == null || node.maxEnd <= start) {
+            return false;
+        }
+        if (findOverlapping(node.left, start, end, ignoredStart, found)) {
+            return true;
+        }
+        if (node.start >= end) {
+            return false;
+        }
+        if (node.end > start) {
+            if (found != null) {
+                found.add(new Interval(node.start, node.end));
+            } else if (node.start != ignoredStart) {
+                return true;
+            }
+        }
+        return findOverlapping(node.right, start, end, ignoredStart, found);
+    }
+
+    private Node put(Node node, long start, long end) {
+        if (node == null) {
+            size++;
+            return new Node(start, end);
+        }
+        if (start < node.start) {
+            node.left = put(node.left, start, end);
+        } else if (start > node.start) {
+            node.right = put(node.right, start, end);
+        } else {
+            node.end = end;
+        }
+        return rebalance(node);
+    }
+
+    private Node remove(Node node, long start) {
+        if (node == null) {
+            return null;
+        }
+        if (start < node.start) {
+            node.left = remove(node.left, start);
+        } else if (start > node.start) {
+            node.right = remove(node.right, start);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            // Replace the node by its successor, taken out of the right subtree
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return rebalance(node);
+    }
+
+    private static Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static long maxEnd(Node node) {
+        return node == null ? Long.MIN_VALUE : node.maxEnd;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxEnd = Math.max(node.end, Math.max(maxEnd(node.left), maxEnd(node.right)));
+    }
+
+    private static Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+}
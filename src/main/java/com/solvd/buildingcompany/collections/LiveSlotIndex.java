@@ -0,0 +1,111 @@
+package com.solvd.buildingcompany.collections;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+
+/**
+ * Tracks which slots of an append-only slot list are still live, for lists that mark removed
+ * entries instead of shifting the rest. The live counts are kept in a Fenwick tree, so the
+ * slot holding the n-th live entry is found in O(log n) without compacting the list, and
+ * appending or removing a slot is O(log n) as well.
+ */
+public class LiveSlotIndex {
+    private static final Logger LOGGER = LogManager.getLogger(LiveSlotIndex.class);
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // 1-based Fenwick tree: tree[i] counts the live slots in (i - lowbit(i), i]
+    private int[] tree;
+    private int slots;
+    private int live;
+
+    public LiveSlotIndex() {
+        this.tree = new int[DEFAULT_CAPACITY + 1];
+        LOGGER.debug("Created new live slot index");
+    }
+
+    /**
+     * Adds a live slot after the last one
+     * @return The new slot
+     */
+    public int append() {
+        if (slots + 1 == tree.length) {
+            tree = Arrays.copyOf(tree, tree.length * 2);
+        }
+        int i = ++slots;
+        // The node covers itself plus the nodes directly below it, which are already built
+        int count = 1;
+        for (int j = i - 1, stop = i - (i & -i); j > stop; j -= j & -j) {
+            count += tree[j];
+        }
+        tree[i] = count;
+        live++;
+        return i - 1;
+    }
+
+    /**
+     * Marks a live slot as removed; the caller must not remove a slot twice
+     */
+    public void remove(int slot) {
+        if (slot < 0 || slot >= slots) {
+            throw new IndexOutOfBoundsException("Slot: " + slot + ", Slots: " + slots);
+        }
+        for (int i = slot + 1; i <= slots; i += i & -i) {
+            tree[i]--;
+        }
+        live--;
+    }
+
+    /**
+     * @param rank Position among the live slots, from 0
+     * @return The slot holding the live entry at that position
+     */
+    public int slotOf(int rank) {
+        if (rank < 0 || rank >= live) {
+            throw new IndexOutOfBoundsException("Index: " + rank + ", Size: " + live);
+        }
+        // Descend from the largest power of two, skipping every node that ends before the rank
+        int remaining = rank + 1;
+        int position = 0;
+        for (int step = Integer.highestOneBit(slots); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= slots && tree[next] < remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Starts over with liveSlots slots, all live, e.g. after the slot list was compacted
+     */
+    public void reset(int liveSlots) {
+        if (liveSlots < 0) {
+            throw new IllegalArgumentException("Slot count cannot be negative: " + liveSlots);
+        }
+        if (liveSlots >= tree.length) {
+            tree = new int[Math.max(liveSlots + 1, DEFAULT_CAPACITY + 1)];
+        }
+        // With every slot live, each node counts exactly the slots it covers
+        for (int i = 1; i <= liveSlots; i++) {
+            tree[i] = i & -i;
+        }
+        slots = liveSlots;
+        live = liveSlots;
+    }
+
+    public void clear() {
+        slots = 0;
+        live = 0;
+    }
+
+    public int slotCount() {
+        return slots;
+    }
+
+    public int liveCount() {
+        return live;
+    }
+}
@@ -0,0 +1,195 @@
+package com.solvd.buildingcompany.collections;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * Growable array of primitive longs for counters, identifiers and epoch-day series.
+ * Values are stored unboxed, so a million points take 8 MB instead of
+ * the ~24 MB a list of Long objects needs.
+ */
+public class LongList {
+    private static final Logger LOGGER = LogManager.getLogger(LongList.class);
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] values;
+    private int size;
+
+    public LongList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative: " + initialCapacity);
+        }
+        this.values = new long[initialCapacity];
+        this.size = 0;
+        LOGGER.debug("Created new long list with capacity {}", initialCapacity);
+    }
+
+    // Add a value to the end of the list
+    public void add(long value) {
+        if (size == values.length) {
+            grow(size + 1);
+        }
+        values[size++] = value;
+    }
+
+    // Add all values from the given array
+    public void addAll(long[] source) {
+        ensureCapacity(size + source.length);
+        System.arraycopy(source, 0, values, size, source.length);
+        size += source.length;
+    }
+
+    // Get value at specified index
+    public long get(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    // Replace value at specified index, returning the old one
+    public long set(int index, long value) {
+        checkIndex(index);
+        long oldValue = values[index];
+        values[index] = value;
+        return oldValue;
+    }
+
+    // Remove value at specified index
+    public long removeAt(int index) {
+        checkIndex(index);
+        long removed = values[index];
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+        LOGGER.debug("Cleared long list");
+    }
+
+    /**
+     * @return Sum of the values, 0 for an empty list
+     * @throws ArithmeticException if the sum overflows a long
+     */
+    public long sum() {
+        long sum = 0L;
+        for (int i = 0; i < size; i++) {
+            sum = Math.addExact(sum, values[i]);
+        }
+        return sum;
+    }
+
+    /**
+     * @return Smallest value in the list
+     * @throws NoSuchElementException if the list is empty
+     */
+    public long min() {
+        checkNotEmpty();
+        long min = values[0];
+        for (int i = 1; i < size; i++) {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+
+    /**
+     * @return Largest value in the list
+     * @throws NoSuchElementException if the list is empty
+     */
+    public long max() {
+        checkNotEmpty();
+        long max = values[0];
+        for (int i = 1; i < size; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+
+    /**
+     * @return Arithmetic mean of the values
+     * @throws NoSuchElementException if the list is empty
+     */
+    public double average() {
+        checkNotEmpty();
+        double sum = 0.0;
+        for (int i = 0; i < size; i++) {
+            sum += values[i];
+        }
+        return sum / size;
+    }
+
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    // Copy of the values in list order
+    public long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    public LongStream stream() {
+        return Arrays.stream(values, 0, size);
+    }
+
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > values.length) {
+            grow(minCapacity);
+        }
+    }
+
+    // Release unused capacity
+    public void trimToSize() {
+        if (values.length > size) {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            sb.append(values[i]);
+            if (i + 1 < size) {
+                sb.append(", ");
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    private void grow(int minCapacity) {
+        int newCapacity = Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, values.length + (values.length >> 1)));
+        values = Arrays.copyOf(values, newCapacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("List is empty");
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.solvd.buildingcompany.collections;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.*;
+
+/**
+ * Case-insensitive search index over names, built as a radix tree (a trie whose
+ * single-child chains are merged into one edge label). Children are kept in
+ * sorted char arrays instead of maps, so the tree stays compact at a million names
+ * and prefix results come out in alphabetical order.
+ * Supports prefix queries and fuzzy queries within a Levenshtein distance,
+ * and is updated in place on add and remove. Not thread-safe.
+ */
+public class NameSearchIndex {
+    private static final Logger LOGGER = LogManager.getLogger(NameSearchIndex.class);
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final String[] NO_NAMES = new String[0];
+
+    private final Node root;
+    private int size;
+
+    private static class Node {
+        private String label;
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private int childCount;
+        // Original spellings that normalize to the key ending here
+        private String[] names = NO_NAMES;
+
+        public Node(String label) {
+            this.label = label;
+        }
+
+        private int indexOf(char key) {
+            return Arrays.binarySearch(keys, 0, childCount, key);
+        }
+
+        private void addChild(Node child) {
+            int index = -indexOf(child.label.charAt(0)) - 1;
+            if (childCount == keys.length) {
+                int capacity = Math.max(2, childCount * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, index, keys, index + 1, childCount - index);
+            System.arraycopy(children, index, children, index + 1, childCount - index);
+            keys[index] = child.label.charAt(0);
+            children[index] = child;
+            childCount++;
+        }
+
+        private void removeChild(int index) {
+            System.arraycopy(keys, index + 1, keys, index, childCount - index - 1);
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            childCount--;
+            children[childCount] = null;
+        }
+
+        private boolean addName(String name) {
+            for (String existing : names) {
+                if (existing.equals(name)) {
+                    return false;
+                }
+            }
+            names = Arrays.copyOf(names, names.length + 1);
+            names[names.length - 1] = name;
+            return true;
+        }
+
+        private boolean removeName(String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    String[] remaining = new String[names.length - 1];
+                    System.arraycopy(names, 0, remaining, 0, i);
+                    System.arraycopy(names, i + 1, remaining, i, names.length - i - 1);
+                    names = remaining;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    public NameSearchIndex() {
+        this.root = new Node("");
+        this.size = 0;
+        LOGGER.debug("Created new name search index");
+    }
+
+    /**
+     * @return true if the exact name was not indexed before
+     */
+    public boolean add(String name) {
+        String key = normalize(name);
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int index = node.indexOf(key.charAt(position));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(position));
+                leaf.addName(name);
+                node.addChild(leaf);
+                size++;
+                return true;
+            }
+            Node child = node.children[index];
+            int common = commonPrefixLength(child.label, key, position);
+            if (common < child.label.length()) {
+                // Split the edge where the new key leaves it
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.addChild(child);
+                node.children[index] = middle;
+                child = middle;
+            }
+            node = child;
+            position += common;
+        }
+        if (node.addName(name)) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the exact name was indexed
+     */
+    public boolean remove(String name) {
+        String key = normalize(name);
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int index = node.indexOf(key.charAt(position));
+            if (index < 0) {
+                return false;
+            }
+            Node child = node.children[index];
+            if (!key.startsWith(child.label, position)) {
+                return false;
+            }
+            path.add(node);
+            node = child;
+            position += child.label.length();
+        }
+        if (!node.removeName(name)) {
+            return false;
+        }
+        size--;
+        prune(path, node);
+        return true;
+    }
+
+    public boolean contains(String name) {
+        Node node = find(normalize(name));
+        return node != null && Arrays.asList(node.names).contains(name);
+    }
+
+    /**
+     * Names starting with the prefix, ignoring case, in alphabetical order
+     * @param prefix Prefix to match
+     * @param limit Largest number of names to return
+     * @return Matching names in their original spelling
+     */
+    public List<String> findByPrefix(String prefix, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        List<String> results = new ArrayList<>(Math.min(limit, 64));
+        String key = normalize(prefix);
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int index = node.indexOf(key.charAt(position));
+            if (index < 0) {
+                return results;
+            }
+            Node child = node.children[index];
+            int common = commonPrefixLength(child.label, key, position);
+            if (position + common < key.length() && common < child.label.length()) {
+                return results;
+            }
+            node = child;
+            position += common;
+        }
+        collect(node, results, limit);
+        return results;
+    }
+
+    /**
+     * Names within the given Levenshtein distance of the query, ignoring case.
+     * Branches whose best possible distance already exceeds the bound are skipped
+     * @param query Name to match
+     * @param maxDistance Largest number of single-character edits allowed
+     * @param limit Largest number of names to return
+     * @return Matching names, closest first, ties in alphabetical order
+     */
+    public List<String> findFuzzy(String query, int maxDistance, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        String key = normalize(query);
+        int[] firstRow = new int[key.length() + 1];
+        for (int i = 0; i < firstRow.length; i++) {
+            firstRow[i] = i;
+        }
+        List<FuzzyMatch> matches = new ArrayList<>();
+        if (firstRow[key.length()] <= maxDistance) {
+            for (String name : root.names) {
+                matches.add(new FuzzyMatch(name, firstRow[key.length()]));
+            }
+        }
+        for (int i = 0; i < root.childCount; i++) {
+            searchFuzzy(root.children[i], key, firstRow, maxDistance, matches);
+        }
+        matches.sort(Comparator.comparingInt(FuzzyMatch::distance).thenComparing(FuzzyMatch::name));
+
+        List<String> results = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int i = 0; i < matches.size() && i < limit; i++) {
+            results.add(matches.get(i).name());
+        }
+        return results;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        root.keys = NO_KEYS;
+        root.children = NO_CHILDREN;
+        root.childCount = 0;
+        root.names = NO_NAMES;
+        size = 0;
+        LOGGER.debug("Cleared name search index");
+    }
+
+    private void searchFuzzy(Node node, String key, int[] parentRow, int maxDistance, List<FuzzyMatch> matches) {
+        int[] row = parentRow;
+        for (int c = 0; c < node.label.length(); c++) {
+            char ch = node.label.charAt(c);
+            int[] next = new int[row.length];
+            next[0] = row[0] + 1;
+            int best = next[0];
+            for (int i = 1; i < row.length; i++) {
+                int substitution = row[i - 1] + (key.charAt(i - 1) == ch ? 0 : 1);
+                next[i] = Math.min(substitution, Math.min(row[i] + 1, next[i - 1] + 1));
+                best = Math.min(best, next[i]);
+            }
+            if (best > maxDistance) {
+                return;
+            }
+            row = next;
+        }
+        int distance = row[key.length()];
+        if (distance <= maxDistance) {
+            for (String name : node.names) {
+                matches.add(new FuzzyMatch(name, distance));
+            }
+        }
+        for (int i = 0; i < node.childCount; i++) {
+            searchFuzzy(node.children[i], key, row, maxDistance, matches);
+        }
+    }
+
+    // Depth-first, children in key order, so names come out alphabetically
+    private static void collect(Node node, List<String> results, int limit) {
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            Node current = stack.pop();
+            for (String name : current.names) {
+                if (results.size() == limit) {
+                    return;
+                }
+                results.add(name);
+            }
+            for (int i = current.childCount - 1; i >= 0; i--) {
+                stack.push(current.children[i]);
+            }
+        }
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int index = node.indexOf(key.charAt(position));
+            if (index < 0) {
+                return null;
+            }
+            Node child = node.children[index];
+            if (!key.startsWith(child.label, position)) {
+                return null;
+            }
+            node = child;
+            position += child.label.length();
+        }
+        return node;
+    }
+
+    // Drops nodes left without names or children and merges single-child chains back into one edge
+    private static void prune(List<Node> path, Node node) {
+        Node current = node;
+        for (int level = path.size() - 1; level >= 0; level--) {
+            Node parent = path.get(level);
+            if (current.names.length == 0 && current.childCount == 0) {
+                parent.removeChild(parent.indexOf(current.label.charAt(0)));
+            } else if (current.names.length == 0 && current.childCount == 1) {
+                Node only = current.children[0];
+                only.label = current.label + only.label;
+                parent.children[parent.indexOf(current.label.charAt(0))] = only;
+                return;
+            } else {
+                return;
+            }
+            current = parent;
+        }
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int limit = Math.min(label.length(), key.length() - offset);
+        int length = 0;
+        while (length < limit && label.charAt(length) == key.charAt(offset + length)) {
+            length++;
+        }
+        return length;
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private record FuzzyMatch(String name, int distance) {
+    }
+}
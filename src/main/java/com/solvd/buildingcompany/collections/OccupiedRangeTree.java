@@ -0,0 +1,315 @@
+package com.solvd.buildingcompany.collections;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Set of occupied half-open ranges [start, end) of long positions, such as epoch days.
+ * Overlapping or touching ranges are merged into one, and the merged ranges are kept in an
+ * AVL tree ordered by start. Every node also stores the free gap before its range and the
+ * largest such gap in its subtree. That way the first free window of a given length is found
+ * in O(log n), the same as adding or freeing a range, instead of walking the gaps one by one.
+ * Which ranges overlap a query is answered by {@link IntervalTree}, which keeps them apart.
+ */
+public class OccupiedRangeTree {
+    private static final Logger LOGGER = LogManager.getLogger(OccupiedRangeTree.class);
+    // Gap before the first range: everything below it is free
+    private static final long UNBOUNDED_GAP = Long.MAX_VALUE;
+
+    private Node root;
+    private int size;
+
+    private static class Node {
+        private final long start;
+        private final long end;
+        // start minus the end of the previous range
+        private long gapBefore;
+        private long maxGap;
+        private int height;
+        private Node left;
+        private Node right;
+
+        public Node(long start, long end, long gapBefore) {
+            this.start = start;
+            this.end = end;
+            this.gapBefore = gapBefore;
+            this.maxGap = gapBefore;
+            this.height = 1;
+        }
+    }
+
+    public OccupiedRangeTree() {
+        LOGGER.debug("Created new occupied range tree");
+    }
+
+    /**
+     * Marks [start, end) as occupied, merging it with the ranges it overlaps or touches
+     */
+    public void add(long start, long end) {
+        checkRange(start, end);
+        Node before = floor(start);
+        if (before != null && before.end >= start) {
+            start = before.start;
+            end = Math.max(end, before.end);
+            deleteRange(before.start);
+        }
+        for (Node next = ceiling(start); next != null && next.start <= end; next = ceiling(start)) {
+            end = Math.max(end, next.end);
+            deleteRange(next.start);
+        }
+        insertRange(start, end);
+        LOGGER.debug("Occupied [{}, {}), {} ranges", start, end, size);
+    }
+
+    /**
+     * Marks [start, end) as free, cutting the ranges it overlaps
+     */
+    public void remove(long start, long end) {
+        checkRange(start, end);
+        Node first = floor(start);
+        if (first == null || first.end <= start) {
+            first = ceiling(start);
+        }
+        for (Node node = first; node != null && node.start < end; node = ceiling(start)) {
+            long nodeStart = node.start;
+            long nodeEnd = node.end;
+            deleteRange(nodeStart);
+            if (nodeStart < start) {
+                insertRange(nodeStart, start);
+            }
+            if (nodeEnd > end) {
+                insertRange(end, nodeEnd);
+                break;
+            }
+        }
+        LOGGER.debug("Freed [{}, {}), {} ranges", start, end, size);
+    }
+
+    /**
+     * @return The smallest position p >= from with [p, p + length) free
+     */
+    public long firstFreeWindow(long from, long length) {
+        if (length < 1) {
+            throw new IllegalArgumentException("Window length must be positive: " + length);
+        }
+        long candidate = from;
+        Node covering = floor(from);
+        if (covering != null && covering.end > from) {
+            candidate = covering.end;
+        }
+        Node next = ceiling(candidate);
+        if (next == null || next.start - candidate >= length) {
+            return candidate;
+        }
+        // The gap after candidate is too short; find the first later gap that is long enough
+        Node wide = firstWideGapAfter(root, next.start, length);
+        return wide != null ? wide.start - wide.gapBefore : last().end;
+    }
+
+    /**
+     * @return Number of merged ranges
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        root = null;
+        size = 0;
+        LOGGER.debug("Cleared occupied range tree");
+    }
+
+    private static void checkRange(long start, long end) {
+        if (start >= end) {
+            throw new IllegalArgumentException("Range start must be before its end: [" + start + ", " + end + ")");
+        }
+    }
+
+    // Leftmost node after the key whose gap before it is at least length
+    private static Node firstWideGapAfter(Node node, long key, long length) {
+        if (node == null || node.maxGap < length) {
+            return null;
+        }
+        if (node.start <= key) {
+            return firstWideGapAfter(node.right, key, length);
+        }
+        Node found = firstWideGapAfter(node.left, key, length);
+        if (found != null) {
+            return found;
+        }
+        return node.gapBefore >= length ? node : firstWideGapAfter(node.right, key, length);
+    }
+
+    // Adds a range known not to overlap or touch another, and fixes the gap of the range after it
+    private void insertRange(long start, long end) {
+        Node previous = lower(start);
+        root = insert(root, new Node(start, end, previous != null ? start - previous.end : UNBOUNDED_GAP));
+        size++;
+        Node next = higher(start);
+        if (next != null) {
+            root = updateGap(root, next.start, next.start - end);
+        }
+    }
+
+    // Removes the range starting at start, and fixes the gap of the range after it
+    private void deleteRange(long start) {
+        Node previous = lower(start);
+        root = delete(root, start);
+        size--;
+        Node next = higher(start);
+        if (next != null) {
+            root = updateGap(root, next.start, previous != null ? next.start - previous.end : UNBOUNDED_GAP);
+        }
+    }
+
+    private Node floor(long key) {
+        Node result = null;
+        for (Node node = root; node != null; ) {
+            if (node.start <= key) {
+                result = node;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return result;
+    }
+
+    private Node lower(long key) {
+        return key == Long.MIN_VALUE ? null : floor(key - 1);
+    }
+
+    private Node ceiling(long key) {
+        Node result = null;
+        for (Node node = root; node != null; ) {
+            if (node.start >= key) {
+                result = node;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return result;
+    }
+
+    private Node higher(long key) {
+        return key == Long.MAX_VALUE ? null : ceiling(key + 1);
+    }
+
+    private Node last() {
+        Node node = root;
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node;
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.start < node.start) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return rebalance(node);
+    }
+
+    private static Node delete(Node node, long start) {
+        if (start < node.start) {
+            node.left = delete(node.left, start);
+        } else if (start > node.start) {
+            node.right = delete(node.right, start);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            // Replace the node by its successor, taken out of the right subtree
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = deleteMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return rebalance(node);
+    }
+
+    private static Node deleteMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = deleteMin(node.left);
+        return rebalance(node);
+    }
+
+    private static Node updateGap(Node node, long start, long gapBefore) {
+        if (start < node.start) {
+            node.left = updateGap(node.left, start, gapBefore);
+        } else if (start > node.start) {
+            node.right = updateGap(node.right, start, gapBefore);
+        } else {
+            node.gapBefore = gapBefore;
+        }
+        update(node);
+        return node;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static long maxGap(Node node) {
+        return node == null ? Long.MIN_VALUE : node.maxGap;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxGap = Math.max(node.gapBefore, Math.max(maxGap(node.left), maxGap(node.right)));
+    }
+
+    private static Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+}
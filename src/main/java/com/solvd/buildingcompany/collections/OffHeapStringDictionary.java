@@ -0,0 +1,299 @@
+package com.solvd.buildingcompany.collections;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Dictionary that maps strings to small int codes, with everything stored off-heap
+ * in direct ByteBuffers: the UTF-8 bytes, the per-code entries and the hash index.
+ * Only the strings passed in and handed out live on the heap.
+ * Codes of released strings are reused, and the byte pool is compacted
+ * once more than half of it belongs to released strings.
+ */
+public class OffHeapStringDictionary {
+    private static final Logger LOGGER = LogManager.getLogger(OffHeapStringDictionary.class);
+    private static final int INITIAL_CODES = 1024;
+    private static final int INITIAL_POOL_BYTES = 16 * 1024;
+    // Entry layout per code: int offset, int length (-1 when free), int hash
+    private static final int ENTRY_BYTES = 12;
+    private static final int FREE = -1;
+    private static final int EMPTY_SLOT = 0;
+
+    private ByteBuffer pool;
+    private int poolUsed;
+    private int deadBytes;
+    private ByteBuffer entries;
+    private int codeLimit;
+    // Released codes form a linked list through the offset field
+    private int freeHead;
+    // Linear probing table of code + 1, 0 marks an empty slot
+    private ByteBuffer table;
+    private int tableMask;
+    private int size;
+
+    public OffHeapStringDictionary() {
+        clear();
+        LOGGER.debug("Created new off-heap string dictionary");
+    }
+
+    /**
+     * @return Code of the string, or -1 if it is not in the dictionary
+     */
+    public int lookup(String value) {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        int slot = findSlot(encoded, hash(encoded));
+        return slot < 0 ? -1 : table.getInt(slot * Integer.BYTES) - 1;
+    }
+
+    /**
+     * Returns the code of the string, adding it first if needed
+     * @return Code of the string
+     */
+    public int intern(String value) {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(encoded);
+        int slot = findSlot(encoded, hash);
+        if (slot >= 0) {
+            return table.getInt(slot * Integer.BYTES) - 1;
+        }
+
+        int code = allocateCode();
+        int offset = appendBytes(encoded);
+        putEntry(code, offset, encoded.length, hash);
+        if ((size + 1) * 2 > tableMask + 1) {
+            resizeTable((tableMask + 1) * 2);
+        }
+        insertIntoTable(code, hash);
+        size++;
+        return code;
+    }
+
+    // Decodes the string for a live code
+    public String get(int code) {
+        checkCode(code);
+        byte[] encoded = new byte[entryLength(code)];
+        pool.get(entryOffset(code), encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+
+    public boolean isLive(int code) {
+        return code >= 0 && code < codeLimit && entryLength(code) != FREE;
+    }
+
+    /**
+     * Removes a string; its code may be handed out again by a later intern
+     * @param code Code of a live string
+     */
+    public void release(int code) {
+        checkCode(code);
+        int slot = entryHash(code) & tableMask;
+        while (table.getInt(slot * Integer.BYTES) != code + 1) {
+            slot = (slot + 1) & tableMask;
+        }
+        deleteSlot(slot);
+
+        deadBytes += entryLength(code);
+        putEntry(code, freeHead, FREE, 0);
+        freeHead = code;
+        size--;
+        if (deadBytes > INITIAL_POOL_BYTES && deadBytes * 2 > poolUsed) {
+            compactPool();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return One past the highest code handed out, useful for sizing code-indexed arrays
+     */
+    public int getCodeLimit() {
+        return codeLimit;
+    }
+
+    public long getOffHeapBytes() {
+        return (long) pool.capacity() + entries.capacity() + table.capacity();
+    }
+
+    public void clear() {
+        this.pool = allocate(INITIAL_POOL_BYTES);
+        this.poolUsed = 0;
+        this.deadBytes = 0;
+        this.entries = allocate(INITIAL_CODES * ENTRY_BYTES);
+        this.codeLimit = 0;
+        this.freeHead = FREE;
+        this.table = allocate(INITIAL_CODES * 2 * Integer.BYTES);
+        this.tableMask = INITIAL_CODES * 2 - 1;
+        this.size = 0;
+    }
+
+    /**
+     * Allocates a native-order direct buffer
+     */
+    public static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Copies a direct buffer into a bigger one, at least doubling the capacity
+     */
+    public static ByteBuffer grow(ByteBuffer buffer, long minCapacity) {
+        long capacity = Math.max(minCapacity, (long) buffer.capacity() * 2);
+        if (capacity > Integer.MAX_VALUE - 8) {
+            capacity = Integer.MAX_VALUE - 8;
+            if (capacity < minCapacity) {
+                throw new IllegalStateException("Off-heap column cannot grow past 2 GB");
+            }
+        }
+        ByteBuffer grown = allocate((int) capacity);
+        grown.put(0, buffer, 0, buffer.capacity());
+        return grown;
+    }
+
+    // Returns the table slot holding the string, or -1
+    private int findSlot(byte[] encoded, int hash) {
+        int slot = hash & tableMask;
+        int value;
+        while ((value = table.getInt(slot * Integer.BYTES)) != EMPTY_SLOT) {
+            int code = value - 1;
+            if (entryHash(code) == hash && entryLength(code) == encoded.length
+                    && bytesEqual(entryOffset(code), encoded)) {
+                return slot;
+            }
+            slot = (slot + 1) & tableMask;
+        }
+        return -1;
+    }
+
+    private boolean bytesEqual(int offset, byte[] encoded) {
+        for (int i = 0; i < encoded.length; i++) {
+            if (pool.get(offset + i) != encoded[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void insertIntoTable(int code, int hash) {
+        int slot = hash & tableMask;
+        while (table.getInt(slot * Integer.BYTES) != EMPTY_SLOT) {
+            slot = (slot + 1) & tableMask;
+        }
+        table.putInt(slot * Integer.BYTES, code + 1);
+    }
+
+    // Backward-shift deletion keeps probe chains intact without tombstones
+    private void deleteSlot(int slot) {
+        int hole = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & tableMask;
+            int value = table.getInt(next * Integer.BYTES);
+            if (value == EMPTY_SLOT) {
+                break;
+            }
+            int home = entryHash(value - 1) & tableMask;
+            boolean homeBetween = hole <= next
+                    ? home > hole && home <= next
+                    : home > hole || home <= next;
+            if (!homeBetween) {
+                table.putInt(hole * Integer.BYTES, value);
+                hole = next;
+            }
+        }
+        table.putInt(hole * Integer.BYTES, EMPTY_SLOT);
+    }
+
+    private void resizeTable(int capacity) {
+        table = allocate(capacity * Integer.BYTES);
+        tableMask = capacity - 1;
+        for (int code = 0; code < codeLimit; code++) {
+            if (entryLength(code) != FREE) {
+                insertIntoTable(code, entryHash(code));
+            }
+        }
+        LOGGER.debug("Resized dictionary hash table to {} slots", capacity);
+    }
+
+    private int allocateCode() {
+        if (freeHead != FREE) {
+            int code = freeHead;
+            freeHead = entryOffset(code);
+            return code;
+        }
+        if ((long) (codeLimit + 1) * ENTRY_BYTES > entries.capacity()) {
+            entries = grow(entries, (long) (codeLimit + 1) * ENTRY_BYTES);
+        }
+        return codeLimit++;
+    }
+
+    private int appendBytes(byte[] encoded) {
+        if ((long) poolUsed + encoded.length > pool.capacity()) {
+            pool = grow(pool, (long) poolUsed + encoded.length);
+        }
+        int offset = poolUsed;
+        pool.put(offset, encoded);
+        poolUsed += encoded.length;
+        return offset;
+    }
+
+    // Copies live strings into a fresh pool, dropping bytes of released ones
+    private void compactPool() {
+        int live = poolUsed - deadBytes;
+        ByteBuffer compacted = allocate(Math.max(INITIAL_POOL_BYTES, live * 2));
+        int offset = 0;
+        for (int code = 0; code < codeLimit; code++) {
+            int length = entryLength(code);
+            if (length != FREE) {
+                compacted.put(offset, pool, entryOffset(code), length);
+                entries.putInt(code * ENTRY_BYTES, offset);
+                offset += length;
+            }
+        }
+        LOGGER.debug("Compacted dictionary pool from {} to {} bytes", poolUsed, offset);
+        pool = compacted;
+        poolUsed = offset;
+        deadBytes = 0;
+    }
+
+    private void putEntry(int code, int offset, int length, int hash) {
+        int base = code * ENTRY_BYTES;
+        entries.putInt(base, offset);
+        entries.putInt(base + 4, length);
+        entries.putInt(base + 8, hash);
+    }
+
+    private int entryOffset(int code) {
+        return entries.getInt(code * ENTRY_BYTES);
+    }
+
+    private int entryLength(int code) {
+        return entries.getInt(code * ENTRY_BYTES + 4);
+    }
+
+    private int entryHash(int code) {
+        return entries.getInt(code * ENTRY_BYTES + 8);
+    }
+
+    private void checkCode(int code) {
+        if (!isLive(code)) {
+            throw new IllegalArgumentException("Unknown dictionary code: " + code);
+        }
+    }
+
+    // FNV-1a with a final mix so low bits spread well over the table
+    private static int hash(byte[] encoded) {
+        int hash = 0x811C9DC5;
+        for (byte b : encoded) {
+            hash = (hash ^ b) * 0x01000193;
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        return hash ^ (hash >>> 13);
+    }
+}
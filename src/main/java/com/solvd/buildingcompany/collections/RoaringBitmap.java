@@ -0,0 +1,542 @@
+package com.solvd.buildingcompany.collections;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative ints in the style of Roaring bitmaps.
+ * Values are split by their high 16 bits into chunks of 65536; each chunk is
+ * stored as a sorted char array while it holds at most 4096 values and as a
+ * 1024-word bitset once it grows past that, so both sparse and dense sets stay small.
+ * and/or work chunk by chunk and only touch chunks present on both (or either) sides.
+ * Not thread-safe.
+ */
+public class RoaringBitmap {
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    // Sorted high 16 bits of each chunk, and the chunk's container
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+
+    public RoaringBitmap() {
+        this.keys = new char[4];
+        this.containers = new Container[4];
+        this.size = 0;
+    }
+
+    public static RoaringBitmap of(int... values) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    /**
+     * @return true if the value was not in the set before
+     */
+    public boolean add(int value) {
+        checkValue(value);
+        char high = (char) (value >>> 16);
+        int index = Arrays.binarySearch(keys, 0, size, high);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, high, new ArrayContainer());
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        containers[index] = container.add((char) value);
+        return containers[index].cardinality() > before;
+    }
+
+    /**
+     * @return true if the value was in the set
+     */
+    public boolean remove(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        Container updated = container.remove((char) value);
+        if (updated.cardinality() == 0) {
+            removeContainer(index);
+        } else {
+            containers[index] = updated;
+        }
+        return updated.cardinality() < before;
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    public int getCardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(containers, 0, size, null);
+        size = 0;
+    }
+
+    // Visits the values in ascending order
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    public int[] toArray() {
+        int[] values = new int[getCardinality()];
+        int[] position = new int[1];
+        forEach(value -> values[position[0]++] = value);
+        return values;
+    }
+
+    public RoaringBitmap copy() {
+        RoaringBitmap copy = new RoaringBitmap();
+        copy.keys = Arrays.copyOf(keys, Math.max(4, size));
+        copy.containers = new Container[copy.keys.length];
+        for (int i = 0; i < size; i++) {
+            copy.containers[i] = containers[i].copy();
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    // Approximate bytes used by the containers
+    public long getSizeInBytes() {
+        long bytes = (long) keys.length * Character.BYTES;
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Adds every value of the other bitmap to this one; cheaper than or() when
+     * folding many bitmaps into one, since dense chunks are updated in place
+     */
+    public void addAll(RoaringBitmap other) {
+        for (int j = 0; j < other.size; j++) {
+            int index = Arrays.binarySearch(keys, 0, size, other.keys[j]);
+            if (index < 0) {
+                insertContainer(-index - 1, other.keys[j], other.containers[j].copy());
+            } else {
+                containers[index] = containers[index].orInPlace(other.containers[j]);
+            }
+        }
+    }
+
+    /**
+     * @return New bitmap with the values present in both
+     */
+    public static RoaringBitmap and(RoaringBitmap first, RoaringBitmap second) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < first.size && j < second.size) {
+            char firstKey = first.keys[i];
+            char secondKey = second.keys[j];
+            if (firstKey < secondKey) {
+                i++;
+            } else if (firstKey > secondKey) {
+                j++;
+            } else {
+                Container container = first.containers[i].and(second.containers[j]);
+                if (container.cardinality() > 0) {
+                    result.insertContainer(result.size, firstKey, container);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return New bitmap with the values present in either
+     */
+    public static RoaringBitmap or(RoaringBitmap first, RoaringBitmap second) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < first.size || j < second.size) {
+            if (j == second.size || (i < first.size && first.keys[i] < second.keys[j])) {
+                result.insertContainer(result.size, first.keys[i], first.containers[i].copy());
+                i++;
+            } else if (i == first.size || first.keys[i] > second.keys[j]) {
+                result.insertContainer(result.size, second.keys[j], second.containers[j].copy());
+                j++;
+            } else {
+                result.insertContainer(result.size, first.keys[i], first.containers[i].or(second.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof RoaringBitmap bitmap)) {
+            return false;
+        }
+        return Arrays.equals(toArray(), bitmap.toArray());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toArray());
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    private void insertContainer(int index, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private void removeContainer(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        size--;
+        containers[size] = null;
+    }
+
+    private static void checkValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Bitmap values must be non-negative: " + value);
+        }
+    }
+
+    // Low 16 bits of one chunk; operations may return a container of the other kind
+    private abstract static class Container {
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        abstract Container and(Container other);
+
+        abstract Container or(Container other);
+
+        // May modify and return this container
+        abstract Container orInPlace(Container other);
+
+        abstract void forEach(int high, IntConsumer action);
+
+        abstract Container copy();
+
+        abstract long sizeInBytes();
+    }
+
+    private static final class ArrayContainer extends Container {
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, cardinality * 2)));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container and(Container other) {
+            char[] result = new char[Math.min(cardinality, other.cardinality())];
+            int count = 0;
+            if (other instanceof ArrayContainer array) {
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        result[count++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        result[count++] = values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer bitmap) {
+                return bitmap.or(this);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            char[] merged = new char[cardinality + array.cardinality];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < array.cardinality) {
+                if (j == array.cardinality || (i < cardinality && values[i] < array.values[j])) {
+                    merged[count++] = values[i++];
+                } else if (i == cardinality || values[i] > array.values[j]) {
+                    merged[count++] = array.values[j++];
+                } else {
+                    merged[count++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            ArrayContainer result = new ArrayContainer(merged, count);
+            return count > ARRAY_MAX ? result.toBitmap() : result;
+        }
+
+        @Override
+        Container orInPlace(Container other) {
+            return or(other);
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < cardinality; i++) {
+                action.accept(high | values[i]);
+            }
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(4, cardinality)), cardinality);
+        }
+
+        @Override
+        long sizeInBytes() {
+            return 16L + (long) values.length * Character.BYTES;
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.words[values[i] >>> 6] |= 1L << values[i];
+            }
+            bitmap.cardinality = cardinality;
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer() {
+            this.words = new long[BITMAP_WORDS];
+        }
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            long before = words[value >>> 6];
+            long after = before | (1L << value);
+            if (before != after) {
+                words[value >>> 6] = after;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long before = words[value >>> 6];
+            long after = before & ~(1L << value);
+            if (before != after) {
+                words[value >>> 6] = after;
+                cardinality--;
+                if (cardinality <= ARRAY_MAX) {
+                    return toArray();
+                }
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer array) {
+                return array.and(this);
+            }
+            BitmapContainer bitmap = (BitmapContainer) other;
+            long[] result = new long[BITMAP_WORDS];
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result[i] = words[i] & bitmap.words[i];
+                count += Long.bitCount(result[i]);
+            }
+            BitmapContainer container = new BitmapContainer(result, count);
+            return count <= ARRAY_MAX ? container.toArray() : container;
+        }
+
+        @Override
+        Container or(Container other) {
+            long[] result = words.clone();
+            if (other instanceof ArrayContainer array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    result[array.values[i] >>> 6] |= 1L << array.values[i];
+                }
+            } else {
+                long[] otherWords = ((BitmapContainer) other).words;
+                for (int i = 0; i < BITMAP_WORDS; i++) {
+                    result[i] |= otherWords[i];
+                }
+            }
+            int count = 0;
+            for (long word : result) {
+                count += Long.bitCount(word);
+            }
+            return new BitmapContainer(result, count);
+        }
+
+        @Override
+        Container orInPlace(Container other) {
+            if (other instanceof ArrayContainer array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    add(array.values[i]);
+                }
+                return this;
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                words[i] |= otherWords[i];
+                count += Long.bitCount(words[i]);
+            }
+            cardinality = count;
+            return this;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    action.accept(high | (i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        long sizeInBytes() {
+            return 16L + (long) BITMAP_WORDS * Long.BYTES;
+        }
+
+        private ArrayContainer toArray() {
+            char[] values = new char[Math.max(4, cardinality)];
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[count++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package com.solvd.buildingcompany.collections;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Unrolled linked list: every node stores a small array of elements instead of one.
+ * Index lookup skips whole chunks and traversal reads contiguous arrays,
+ * so both the per-element overhead and the number of pointer hops drop by
+ * roughly the chunk capacity compared to {@link CustomLinkedList}.
+ * Nodes are kept at least half full except for the last one.
+ */
+public class UnrolledLinkedList<T> extends AbstractList<T> {
+    private static final Logger LOGGER = LogManager.getLogger(UnrolledLinkedList.class);
+    private static final int DEFAULT_CHUNK_CAPACITY = 32;
+
+    private final int chunkCapacity;
+    private Chunk<T> head;
+    private Chunk<T> tail;
+    private int size;
+
+    private static class Chunk<T> {
+        private final Object[] elements;
+        private int count;
+        private Chunk<T> prev;
+        private Chunk<T> next;
+
+        public Chunk(int capacity) {
+            this.elements = new Object[capacity];
+            this.count = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        public T getElement(int offset) {
+            return (T) elements[offset];
+        }
+
+        public boolean isFull() {
+            return count == elements.length;
+        }
+    }
+
+    public UnrolledLinkedList() {
+        this(DEFAULT_CHUNK_CAPACITY);
+    }
+
+    public UnrolledLinkedList(int chunkCapacity) {
+        if (chunkCapacity < 2) {
+            throw new IllegalArgumentException("Chunk capacity must be at least 2, got: " + chunkCapacity);
+        }
+        this.chunkCapacity = chunkCapacity;
+        this.size = 0;
+        LOGGER.debug("Created new unrolled linked list with chunk capacity {}", chunkCapacity);
+    }
+
+    public int getChunkCapacity() {
+        return chunkCapacity;
+    }
+
+    // Add an element to the end of the list
+    @Override
+    public boolean add(T data) {
+        if (tail == null || tail.isFull()) {
+            linkChunkAfter(tail, new Chunk<>(chunkCapacity));
+        }
+        tail.elements[tail.count++] = data;
+        size++;
+        modCount++;
+        LOGGER.debug("Added element to unrolled list, new size: {}", size);
+        return true;
+    }
+
+    // Add an element at specified index
+    @Override
+    public void add(int index, T data) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (index == size) {
+            add(data);
+            return;
+        }
+
+        Chunk<T> chunk = head;
+        int offset = index;
+        // Skip whole chunks until the one holding the index
+        while (offset >= chunk.count) {
+            offset -= chunk.count;
+            chunk = chunk.next;
+        }
+
+        if (chunk.isFull()) {
+            Chunk<T> upper = split(chunk);
+            if (offset > chunk.count) {
+                offset -= chunk.count;
+                chunk = upper;
+            }
+        }
+        System.arraycopy(chunk.elements, offset, chunk.elements, offset + 1, chunk.count - offset);
+        chunk.elements[offset] = data;
+        chunk.count++;
+        size++;
+        modCount++;
+        LOGGER.debug("Added element at index {}, new size: {}", index, size);
+    }
+
+    // Get element at specified index
+    @Override
+    public T get(int index) {
+        checkElementIndex(index);
+        Chunk<T> chunk;
+        int offset;
+        if (index < (size >> 1)) {
+            chunk = head;
+            offset = index;
+            while (offset >= chunk.count) {
+                offset -= chunk.count;
+                chunk = chunk.next;
+            }
+        } else {
+            chunk = tail;
+            offset = index - (size - tail.count);
+            while (offset < 0) {
+                chunk = chunk.prev;
+                offset += chunk.count;
+            }
+        }
+        LOGGER.debug("Retrieved element at index {}", index);
+        return chunk.getElement(offset);
+    }
+
+    // Replace element at specified index
+    @Override
+    public T set(int index, T data) {
+        checkElementIndex(index);
+        Chunk<T> chunk = head;
+        int offset = index;
+        while (offset >= chunk.count) {
+            offset -= chunk.count;
+            chunk = chunk.next;
+        }
+        T oldData = chunk.getElement(offset);
+        chunk.elements[offset] = data;
+        return oldData;
+    }
+
+    // Remove element at specified index
+    @Override
+    public T remove(int index) {
+        checkElementIndex(index);
+        Chunk<T> chunk = head;
+        int offset = index;
+        while (offset >= chunk.count) {
+            offset -= chunk.count;
+            chunk = chunk.next;
+        }
+        T removedData = removeAt(chunk, offset);
+        LOGGER.debug("Removed element at index {}, new size: {}", index, size);
+        return removedData;
+    }
+
+    // Remove first occurrence of element
+    @Override
+    public boolean remove(Object element) {
+        for (Chunk<T> chunk = head; chunk != null; chunk = chunk.next) {
+            for (int i = 0; i < chunk.count; i++) {
+                if (equal(element, chunk.elements[i])) {
+                    removeAt(chunk, i);
+                    LOGGER.debug("Removed element from unrolled list, new size: {}", size);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int indexOf(Object element) {
+        int index = 0;
+        for (Chunk<T> chunk = head; chunk != null; chunk = chunk.next) {
+            for (int i = 0; i < chunk.count; i++, index++) {
+                if (equal(element, chunk.elements[i])) {
+                    return index;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        return indexOf(element) >= 0;
+    }
+
+    // Get list size
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Check if list is empty
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Clear the list
+    @Override
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+        modCount++;
+        LOGGER.debug("Cleared unrolled linked list");
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new ChunkIterator();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (Chunk<T> chunk = head; chunk != null; chunk = chunk.next) {
+            for (int i = 0; i < chunk.count; i++) {
+                sb.append(chunk.elements[i]);
+                if (i + 1 < chunk.count || chunk.next != null) {
+                    sb.append(", ");
+                }
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    // Moves the upper half of a full chunk into a new chunk linked right after it
+    private Chunk<T> split(Chunk<T> chunk) {
+        Chunk<T> upper = new Chunk<>(chunkCapacity);
+        int keep = chunk.count / 2;
+        int moved = chunk.count - keep;
+        System.arraycopy(chunk.elements, keep, upper.elements, 0, moved);
+        Arrays.fill(chunk.elements, keep, chunk.count, null);
+        upper.count = moved;
+        chunk.count = keep;
+        linkChunkAfter(chunk, upper);
+        return upper;
+    }
+
+    /*
+     * Removes one element and rebalances by pulling elements from the following chunk.
+     * Elements of the chunk before the removed offset never move, and anything
+     * pulled in is appended at the end, so iterator positions stay valid.
+     */
+    private T removeAt(Chunk<T> chunk, int offset) {
+        T removedData = chunk.getElement(offset);
+        System.arraycopy(chunk.elements, offset + 1, chunk.elements, offset, chunk.count - offset - 1);
+        chunk.elements[--chunk.count] = null;
+        size--;
+        modCount++;
+
+        int minFill = chunkCapacity / 2;
+        Chunk<T> next = chunk.next;
+        if (chunk.count == 0) {
+            unlinkChunk(chunk);
+        } else if (chunk.count < minFill && next != null) {
+            if (chunk.count + next.count <= chunkCapacity) {
+                // Merge the following chunk into this one
+                System.arraycopy(next.elements, 0, chunk.elements, chunk.count, next.count);
+                chunk.count += next.count;
+                unlinkChunk(next);
+            } else {
+                // Borrow enough elements from the following chunk to even them out
+                int borrow = (next.count - chunk.count) / 2;
+                System.arraycopy(next.elements, 0, chunk.elements, chunk.count, borrow);
+                System.arraycopy(next.elements, borrow, next.elements, 0, next.count - borrow);
+                Arrays.fill(next.elements, next.count - borrow, next.count, null);
+                chunk.count += borrow;
+                next.count -= borrow;
+            }
+        }
+        return removedData;
+    }
+
+    private void linkChunkAfter(Chunk<T> predecessor, Chunk<T> chunk) {
+        chunk.prev = predecessor;
+        if (predecessor == null) {
+            chunk.next = head;
+            if (head != null) {
+                head.prev = chunk;
+            }
+            head = chunk;
+        } else {
+            chunk.next = predecessor.next;
+            if (predecessor.next != null) {
+                predecessor.next.prev = chunk;
+            }
+            predecessor.next = chunk;
+        }
+        if (chunk.next == null) {
+            tail = chunk;
+        }
+    }
+
+    private void unlinkChunk(Chunk<T> chunk) {
+        if (chunk.prev == null) {
+            head = chunk.next;
+        } else {
+            chunk.prev.next = chunk.next;
+        }
+        if (chunk.next == null) {
+            tail = chunk.prev;
+        } else {
+            chunk.next.prev = chunk.prev;
+        }
+        chunk.prev = null;
+        chunk.next = null;
+    }
+
+    private void checkElementIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private static boolean equal(Object first, Object second) {
+        return first == null ? second == null : first.equals(second);
+    }
+
+    private class ChunkIterator implements Iterator<T> {
+        private Chunk<T> chunk = head;
+        private int offset;
+        private int remaining = size;
+        private boolean canRemove;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public T next() {
+            checkForComodification();
+            if (remaining <= 0) {
+                throw new NoSuchElementException();
+            }
+            while (offset >= chunk.count) {
+                chunk = chunk.next;
+                offset = 0;
+            }
+            remaining--;
+            canRemove = true;
+            return chunk.getElement(offset++);
+        }
+
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (!canRemove) {
+                throw new IllegalStateException();
+            }
+            Chunk<T> following = chunk.next;
+            boolean lastInChunk = chunk.count == 1;
+            removeAt(chunk, offset - 1);
+            if (lastInChunk) {
+                chunk = following;
+                offset = 0;
+                if (chunk == null) {
+                    // Only reachable when nothing remains; keep next() from dereferencing null
+                    chunk = tail;
+                    offset = tail == null ? 0 : tail.count;
+                }
+            } else {
+                offset--;
+            }
+            canRemove = false;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.solvd.buildingcompany.enums;
+
+public enum InventoryOperation {
+    ADD_MATERIAL("Add material", 1),
+    REMOVE_MATERIAL("Remove material", 2),
+    ORDER_MATERIAL("Order material", 3),
+    PROCESS_ORDER("Process order", 4),
+    ADD_SUPPLIER("Add supplier", 5);
+
+    private final String description;
+    // Stable code used in the write-ahead log, never reuse or renumber
+    private final byte code;
+
+    InventoryOperation(String description, int code) {
+        this.description = description;
+        this.code = (byte) code;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public static InventoryOperation fromCode(byte code) {
+        for (InventoryOperation operation : values()) {
+            if (operation.code == code) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown inventory operation code: " + code);
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
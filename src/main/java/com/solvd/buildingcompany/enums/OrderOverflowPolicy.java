@@ -0,0 +1,28 @@
+package com.solvd.buildingcompany.enums;
+
+public enum OrderOverflowPolicy {
+    BLOCK("Block", "Wait until a consumer frees space"),
+    REJECT("Reject", "Refuse the new order"),
+    DROP_OLDEST("Drop oldest", "Discard the oldest pending order to make room");
+
+    private final String name;
+    private final String description;
+
+    OrderOverflowPolicy(String name, String description) {
+        this.name = name;
+        this.description = description;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + description + ")";
+    }
+}
@@ -0,0 +1,113 @@
+package com.solvd.buildingcompany.examples;
+
+import com.solvd.buildingcompany.models.ConcurrentConstructionTeam;
+import com.solvd.buildingcompany.models.ConstructionTeam;
+import com.solvd.buildingcompany.models.workers.AbstractConstructionTeamMember;
+import com.solvd.buildingcompany.models.workers.Builder;
+import com.solvd.buildingcompany.models.workers.Electrician;
+import com.solvd.buildingcompany.models.workers.Plumber;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Measures onboarding a workforce into an empty team: addMember per member against
+ * addAll, the TeamBuilder fed one member at a time, and both paths on
+ * ConcurrentConstructionTeam, which publishes a view per addMember call.
+ * Every run gets freshly created members, so no listeners of earlier teams are attached.
+ */
+public class BulkTeamLoadBenchmark {
+    private static final Logger LOGGER = LogManager.getLogger(BulkTeamLoadBenchmark.class);
+    private static final int[] WORKFORCE_SIZES = {10_000, 50_000};
+    private static final String[] POSITIONS = {"Builder", "Plumber", "Electrician", "Carpenter", "Roofer", "Welder"};
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        System.out.println("\n=== Loading a workforce into an empty team (ms, median of " + RUNS + " runs) ===");
+        System.out.printf("%10s %12s %12s %12s %16s %16s%n",
+                "members", "addMember", "addAll", "builder", "concurrent each", "concurrent all");
+        // Untimed runs first, so no path is measured while still being compiled
+        for (int i = 0; i < 3; i++) {
+            measureAll(5_000);
+        }
+        for (int size : WORKFORCE_SIZES) {
+            double[] results = measureAll(size);
+            System.out.printf("%10d %12.2f %12.2f %12.2f %16.2f %16.2f%n",
+                    size, results[0], results[1], results[2], results[3], results[4]);
+        }
+    }
+
+    private static double[] measureAll(int size) {
+        return new double[]{
+                measure(size, workforce -> {
+                    ConstructionTeam<AbstractConstructionTeamMember> team = new ConstructionTeam<>();
+                    for (AbstractConstructionTeamMember member : workforce) {
+                        team.addMember(member);
+                    }
+                    return team;
+                }),
+                measure(size, workforce -> {
+                    ConstructionTeam<AbstractConstructionTeamMember> team = new ConstructionTeam<>();
+                    team.addAll(workforce);
+                    return team;
+                }),
+                measure(size, workforce -> {
+                    // As a file reader would: one member at a time into the builder
+                    ConstructionTeam.TeamBuilder<AbstractConstructionTeamMember> builder =
+                            ConstructionTeam.builder(workforce.size());
+                    for (AbstractConstructionTeamMember member : workforce) {
+                        builder.add(member);
+                    }
+                    return builder.build();
+                }),
+                measure(size, workforce -> {
+                    ConstructionTeam<AbstractConstructionTeamMember> team = new ConcurrentConstructionTeam<>();
+                    for (AbstractConstructionTeamMember member : workforce) {
+                        team.addMember(member);
+                    }
+                    return team;
+                }),
+                measure(size, workforce -> {
+                    ConstructionTeam<AbstractConstructionTeamMember> team = new ConcurrentConstructionTeam<>();
+                    team.addAll(workforce);
+                    return team;
+                })
+        };
+    }
+
+    private static List<AbstractConstructionTeamMember> createWorkforce(int size) {
+        List<AbstractConstructionTeamMember> workforce = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            AbstractConstructionTeamMember member = switch (i % 3) {
+                case 0 -> new Builder("Builder-" + i, "mason", 40 + i % 10);
+                case 1 -> new Plumber("Plumber-" + i, i % 2 == 0, 35 + i % 10);
+                default -> new Electrician("Electrician-" + i, i % 4 == 0 ? 500 : 1500, 50 + i % 10);
+            };
+            member.setPosition(POSITIONS[(i * 7) % POSITIONS.length]);
+            member.setExperienceLevel((i * 31) % 41);
+            workforce.add(member);
+        }
+        return workforce;
+    }
+
+    // Median milliseconds to load a fresh workforce of the given size
+    private static double measure(int size,
+                                  Function<List<AbstractConstructionTeamMember>, ConstructionTeam<AbstractConstructionTeamMember>> load) {
+        double[] times = new double[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            List<AbstractConstructionTeamMember> workforce = createWorkforce(size);
+            // Keeps collections caused by creating the workforce out of the timed load
+            System.gc();
+            long begin = System.nanoTime();
+            ConstructionTeam<AbstractConstructionTeamMember> team = load.apply(workforce);
+            times[run] = (System.nanoTime() - begin) / 1e6;
+            LOGGER.debug("Loaded {} members", team.getSize());
+        }
+        Arrays.sort(times);
+        return times[RUNS / 2];
+    }
+}
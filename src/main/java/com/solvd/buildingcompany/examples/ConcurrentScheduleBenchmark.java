@@ -0,0 +1,148 @@
+package com.solvd.buildingcompany.examples;
+
+import com.solvd.buildingcompany.exceptions.ProjectSizeTooLargeException;
+import com.solvd.buildingcompany.models.ConcurrentProjectSchedule;
+import com.solvd.buildingcompany.models.Project;
+import com.solvd.buildingcompany.models.ProjectSchedule;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Planner threads sharing one schedule: 70% range scans of the next 60 days, 15% claims of
+ * the next free window, 15% compare-and-move of a project found by a scan. Compares
+ * ConcurrentProjectSchedule with a ProjectSchedule behind one lock, then checks the concurrent
+ * schedule after every run: each claimed project is scheduled exactly once, no two projects
+ * share a day, and the count and end dates agree with the projects.
+ */
+public class ConcurrentScheduleBenchmark {
+    private static final Logger LOGGER = LogManager.getLogger(ConcurrentScheduleBenchmark.class);
+    private static final int PREFILL = 5_000;
+    private static final int HORIZON_DAYS = 40_000;
+    private static final long RUN_MILLIS = 1_000;
+    private static final LocalDate FIRST_DATE = LocalDate.of(2025, 1, 1);
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        System.out.println("\n=== Shared schedule operations per second (70% scan / 15% claim / 15% move) ===");
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        System.out.printf("%8s %14s %14s %10s%n", "threads", "concurrent", "global-lock", "verified");
+        // Untimed runs first, so neither schedule is measured while still being compiled
+        measure(2, new ConcurrentProjectSchedule<>(), ConcurrentHashMap.newKeySet(), false);
+        measure(2, new ProjectSchedule<>(), ConcurrentHashMap.newKeySet(), true);
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            ConcurrentProjectSchedule<Project> schedule = new ConcurrentProjectSchedule<>();
+            Set<Project> claimed = ConcurrentHashMap.newKeySet();
+            double concurrent = measure(threads, schedule, claimed, false);
+            String verified = verify(schedule, claimed);
+            double locked = measure(threads, new ProjectSchedule<>(), ConcurrentHashMap.newKeySet(), true);
+            System.out.printf("%8d %14.0f %14.0f %10s%n", threads, concurrent, locked, verified);
+        }
+    }
+
+    private static double measure(int threads, ProjectSchedule<Project> schedule, Set<Project> claimed,
+                                  boolean globalLock) throws InterruptedException {
+        for (int i = 0; i < PREFILL; i++) {
+            Project project = createProject("Prefill-" + i, ThreadLocalRandom.current());
+            schedule.claimNextAvailableDate(FIRST_DATE.plusDays(i * 7L), project);
+            claimed.add(project);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder operations = new LongAdder();
+        for (int t = 0; t < threads; t++) {
+            String planner = "Planner-" + t;
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long count = 0;
+                    while (running.get()) {
+                        if (globalLock) {
+                            synchronized (schedule) {
+                                operate(schedule, claimed, planner + "-" + count, random);
+                            }
+                        } else {
+                            operate(schedule, claimed, planner + "-" + count, random);
+                        }
+                        count++;
+                    }
+                    operations.add(count);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        Thread.sleep(RUN_MILLIS);
+        running.set(false);
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        return operations.sum() / (elapsed / 1e9);
+    }
+
+    private static void operate(ProjectSchedule<Project> schedule, Set<Project> claimed, String name,
+                                ThreadLocalRandom random) {
+        LocalDate date = FIRST_DATE.plusDays(random.nextInt(HORIZON_DAYS));
+        int roll = random.nextInt(100);
+        if (roll < 70) {
+            int scanned = schedule.getProjectsBetweenDates(date, date.plusDays(60)).size();
+            LOGGER.debug("Scanned {} projects from {}", scanned, date);
+        } else if (roll < 85) {
+            Project project = createProject(name, random);
+            schedule.claimNextAvailableDate(date, project);
+            claimed.add(project);
+        } else {
+            Map.Entry<LocalDate, Project> entry = schedule.getScheduledProjects().ceilingEntry(date);
+            if (entry != null) {
+                schedule.moveProject(entry.getKey(), entry.getKey().plusDays(random.nextInt(-30, 31)), entry.getValue());
+            }
+        }
+    }
+
+    private static Project createProject(String name, ThreadLocalRandom random) {
+        try {
+            // 2 to 12 days of construction
+            return new Project(name, 4 + random.nextInt(21), 1, "brick");
+        } catch (ProjectSizeTooLargeException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String verify(ProjectSchedule<Project> schedule, Set<Project> claimed) {
+        Set<Project> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        LocalDate previousEnd = null;
+        for (Map.Entry<LocalDate, Project> entry : schedule.getScheduledProjects().entrySet()) {
+            LocalDate endDate = schedule.getEndDate(entry.getKey());
+            if (!seen.add(entry.getValue())
+                    || previousEnd != null && entry.getKey().isBefore(previousEnd)
+                    || !endDate.equals(entry.getKey().plusDays(ProjectSchedule.getDurationDays(entry.getValue())))) {
+                return "FAILED";
+            }
+            previousEnd = endDate;
+        }
+        boolean consistent = seen.size() == claimed.size() && seen.containsAll(claimed)
+                && schedule.getScheduledProjectCount() == seen.size();
+        return consistent ? "ok" : "FAILED";
+    }
+}
@@ -0,0 +1,132 @@
+package com.solvd.buildingcompany.examples;
+
+import com.solvd.buildingcompany.collections.ConcurrentTaskList;
+import com.solvd.buildingcompany.collections.CustomLinkedList;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures throughput of a shared task list as the number of project threads grows.
+ * Compares the lock-free ConcurrentTaskList to a CustomLinkedList behind one global lock.
+ */
+public class ConcurrentTaskListBenchmark {
+    private static final Logger LOGGER = LogManager.getLogger(ConcurrentTaskListBenchmark.class);
+    private static final int OPERATIONS_PER_THREAD = 200_000;
+    private static final int PREFILL = 1_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        LOGGER.info("Starting task list scaling benchmark with up to {} threads", maxThreads);
+        System.out.println("\n=== Shared task list throughput (million ops/s, 45% add / 45% poll / 10% remove) ===");
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        System.out.printf("%8s %14s %14s%n", "threads", "lock-free", "global-lock");
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            // First pass of each is a warm-up
+            measure(threads, ConcurrentTaskList::new);
+            double lockFree = measure(threads, ConcurrentTaskList::new);
+            measure(threads, ConcurrentTaskListBenchmark::lockedList);
+            double locked = measure(threads, ConcurrentTaskListBenchmark::lockedList);
+            System.out.printf("%8d %14.2f %14.2f%n", threads, lockFree, locked);
+        }
+    }
+
+    private static Queue<Integer> lockedList() {
+        return new LockedQueue<>(new CustomLinkedList<>());
+    }
+
+    private static double measure(int threads, Supplier<Queue<Integer>> factory) throws InterruptedException {
+        Queue<Integer> tasks = factory.get();
+        for (int i = 0; i < PREFILL; i++) {
+            tasks.add(i);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        int roll = random.nextInt(100);
+                        if (roll < 45) {
+                            tasks.add(i);
+                        } else if (roll < 90) {
+                            tasks.poll();
+                        } else {
+                            tasks.remove(random.nextInt(PREFILL));
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        return (double) threads * OPERATIONS_PER_THREAD / elapsed * 1_000;
+    }
+
+    // Global-lock baseline: every call on the wrapped list goes through one monitor
+    private static class LockedQueue<E> extends AbstractQueue<E> {
+        private final CustomLinkedList<E> list;
+
+        LockedQueue(CustomLinkedList<E> list) {
+            this.list = list;
+        }
+
+        @Override
+        public synchronized boolean offer(E element) {
+            return list.offer(element);
+        }
+
+        @Override
+        public synchronized E poll() {
+            return list.poll();
+        }
+
+        @Override
+        public synchronized E peek() {
+            return list.peek();
+        }
+
+        @Override
+        public synchronized boolean remove(Object element) {
+            return list.remove(element);
+        }
+
+        @Override
+        public synchronized int size() {
+            return list.size();
+        }
+
+        @Override
+        public synchronized Iterator<E> iterator() {
+            List<E> snapshot = new ArrayList<>(list);
+            return Collections.unmodifiableList(snapshot).iterator();
+        }
+    }
+}
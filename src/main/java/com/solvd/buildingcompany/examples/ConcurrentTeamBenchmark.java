@@ -0,0 +1,165 @@
+package com.solvd.buildingcompany.examples;
+
+import com.solvd.buildingcompany.models.ConcurrentConstructionTeam;
+import com.solvd.buildingcompany.models.ConstructionTeam;
+import com.solvd.buildingcompany.models.workers.AbstractConstructionTeamMember;
+import com.solvd.buildingcompany.models.workers.Builder;
+import com.solvd.buildingcompany.models.workers.Electrician;
+import com.solvd.buildingcompany.models.workers.Plumber;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures team operations per second with 95% reads (lead, qualified check, position
+ * list, team cost) and 5% writes (add, remove, experience change): ConstructionTeam
+ * behind one lock against ConcurrentConstructionTeam's lock-free reads.
+ */
+public class ConcurrentTeamBenchmark {
+    private static final Logger LOGGER = LogManager.getLogger(ConcurrentTeamBenchmark.class);
+    private static final int ROSTER_SIZE = 2_000;
+    private static final int POOL_SIZE = 2_500;
+    private static final long RUN_MILLIS = 2_000;
+    private static final String[] POSITIONS = {"Builder", "Plumber", "Electrician"};
+
+    private interface TeamAccess {
+        void read(ThreadLocalRandom random);
+
+        void write(AbstractConstructionTeamMember member, ThreadLocalRandom random);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("\n=== Team operations per second, 95% reads / 5% writes, " + ROSTER_SIZE + " members ===");
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        // Untimed runs first, so neither variant is measured while still being compiled
+        for (int i = 0; i < 2; i++) {
+            AbstractConstructionTeamMember[] warmUpPool = createPool();
+            measure(4, warmUpPool, locked(fill(new ConstructionTeam<>(), warmUpPool)));
+            warmUpPool = createPool();
+            measure(4, warmUpPool, concurrent(fill(new ConcurrentConstructionTeam<>(), warmUpPool)));
+        }
+        System.out.printf("%8s %16s %16s%n", "threads", "locked team", "concurrent team");
+        for (int threads = 1; threads <= 16; threads *= 4) {
+            // Fresh members per run, so no listeners of earlier teams are attached
+            AbstractConstructionTeamMember[] lockedPool = createPool();
+            double locked = measure(threads, lockedPool, locked(fill(new ConstructionTeam<>(), lockedPool)));
+            AbstractConstructionTeamMember[] concurrentPool = createPool();
+            double concurrent = measure(threads, concurrentPool,
+                    concurrent(fill(new ConcurrentConstructionTeam<>(), concurrentPool)));
+            System.out.printf("%8d %16.0f %16.0f%n", threads, locked, concurrent);
+        }
+    }
+
+    private static AbstractConstructionTeamMember[] createPool() {
+        AbstractConstructionTeamMember[] pool = new AbstractConstructionTeamMember[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            pool[i] = switch (i % 3) {
+                case 0 -> new Builder("Builder-" + i, "mason", 40 + i % 10);
+                case 1 -> new Plumber("Plumber-" + i, i % 2 == 0, 35 + i % 10);
+                default -> new Electrician("Electrician-" + i, i % 4 == 0 ? 500 : 1500, 50 + i % 10);
+            };
+            pool[i].setExperienceLevel(i % 15);
+        }
+        return pool;
+    }
+
+    private static <C extends ConstructionTeam<AbstractConstructionTeamMember>> C fill(
+            C team, AbstractConstructionTeamMember[] pool) {
+        for (int i = 0; i < ROSTER_SIZE; i++) {
+            team.addMember(pool[i]);
+        }
+        return team;
+    }
+
+    private static TeamAccess locked(ConstructionTeam<AbstractConstructionTeamMember> team) {
+        return new TeamAccess() {
+            @Override
+            public void read(ThreadLocalRandom random) {
+                synchronized (team) {
+                    readTeam(team, random);
+                }
+            }
+
+            @Override
+            public void write(AbstractConstructionTeamMember member, ThreadLocalRandom random) {
+                synchronized (team) {
+                    writeTeam(team, member, random);
+                }
+            }
+        };
+    }
+
+    private static TeamAccess concurrent(ConcurrentConstructionTeam<AbstractConstructionTeamMember> team) {
+        return new TeamAccess() {
+            @Override
+            public void read(ThreadLocalRandom random) {
+                readTeam(team, random);
+            }
+
+            @Override
+            public void write(AbstractConstructionTeamMember member, ThreadLocalRandom random) {
+                writeTeam(team, member, random);
+            }
+        };
+    }
+
+    private static void readTeam(ConstructionTeam<AbstractConstructionTeamMember> team, ThreadLocalRandom random) {
+        switch (random.nextInt(4)) {
+            case 0 -> team.getTeamLead();
+            case 1 -> team.hasQualifiedMember(POSITIONS[random.nextInt(POSITIONS.length)]);
+            case 2 -> team.getMembersByPosition(POSITIONS[random.nextInt(POSITIONS.length)]).size();
+            default -> team.calculateTeamCost(160);
+        }
+    }
+
+    private static void writeTeam(ConstructionTeam<AbstractConstructionTeamMember> team,
+                                  AbstractConstructionTeamMember member, ThreadLocalRandom random) {
+        switch (random.nextInt(3)) {
+            case 0 -> team.addMember(member);
+            case 1 -> team.removeMember(member);
+            default -> member.setExperienceLevel(random.nextInt(15));
+        }
+    }
+
+    private static double measure(int threads, AbstractConstructionTeamMember[] pool, TeamAccess access)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder completed = new LongAdder();
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (running.get()) {
+                    if (random.nextInt(100) < 5) {
+                        access.write(pool[random.nextInt(pool.length)], random);
+                    } else {
+                        access.read(random);
+                    }
+                    completed.increment();
+                }
+            });
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        Thread.sleep(RUN_MILLIS);
+        running.set(false);
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        LOGGER.debug("{} threads: {} operations", threads, completed.sum());
+        return completed.sum() * 1e9 / (System.nanoTime() - begin);
+    }
+}
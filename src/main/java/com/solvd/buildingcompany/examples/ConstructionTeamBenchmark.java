@@ -0,0 +1,93 @@
+package com.solvd.buildingcompany.examples;
+
+import com.solvd.buildingcompany.models.ConstructionTeam;
+import com.solvd.buildingcompany.models.workers.AbstractConstructionTeamMember;
+import com.solvd.buildingcompany.models.workers.Builder;
+import com.solvd.buildingcompany.models.workers.Electrician;
+import com.solvd.buildingcompany.models.workers.Plumber;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the staffing queries on a large roster: a stream over every member per call,
+ * as ConstructionTeam used to do, against the team's incrementally kept aggregates.
+ * Between query rounds one member's experience changes, as it would during staffing.
+ */
+public class ConstructionTeamBenchmark {
+    private static final Logger LOGGER = LogManager.getLogger(ConstructionTeamBenchmark.class);
+    private static final int[] ROSTER_SIZES = {1_000, 5_000, 20_000};
+    private static final int ROUNDS = 2_000;
+    private static final int HOURS = 160;
+
+    public static void main(String[] args) {
+        System.out.println("\n=== Staffing queries (us per round of lead, qualified, cost, counts) ===");
+        System.out.printf("%10s %14s %14s%n", "members", "stream scan", "aggregates");
+        for (int size : ROSTER_SIZES) {
+            ConstructionTeam<AbstractConstructionTeamMember> team = createTeam(size);
+            double scan = time(team, ConstructionTeamBenchmark::scanRound);
+            double aggregates = time(team, ConstructionTeamBenchmark::aggregateRound);
+            System.out.printf("%10d %14.2f %14.2f%n", size, scan, aggregates);
+        }
+    }
+
+    private static ConstructionTeam<AbstractConstructionTeamMember> createTeam(int size) {
+        ConstructionTeam<AbstractConstructionTeamMember> team = new ConstructionTeam<>();
+        for (int i = 0; i < size; i++) {
+            AbstractConstructionTeamMember member = switch (i % 3) {
+                case 0 -> new Builder("Builder-" + i, "mason", 40 + i % 10);
+                case 1 -> new Plumber("Plumber-" + i, i % 2 == 0, 35 + i % 10);
+                default -> new Electrician("Electrician-" + i, i % 4 == 0 ? 500 : 1500, 50 + i % 10);
+            };
+            member.setExperienceLevel(i % 15);
+            team.addMember(member);
+        }
+        return team;
+    }
+
+    // The pre-aggregate implementations of the four queries
+    private static double scanRound(ConstructionTeam<AbstractConstructionTeamMember> team) {
+        List<AbstractConstructionTeamMember> members = team.getMembers();
+        AbstractConstructionTeamMember lead = members.stream()
+                .max(Comparator.comparingInt(AbstractConstructionTeamMember::getExperienceLevel))
+                .orElse(null);
+        boolean qualified = members.stream()
+                .anyMatch(m -> m.getPosition().equals("Electrician") && m.isCertified());
+        double cost = members.stream().mapToDouble(m -> m.calculateMonthlySalary(HOURS)).sum();
+        int positions = members.stream()
+                .collect(Collectors.groupingBy(AbstractConstructionTeamMember::getPosition, Collectors.counting()))
+                .size();
+        return cost + (lead != null ? lead.getExperienceLevel() : 0) + (qualified ? 1 : 0) + positions;
+    }
+
+    private static double aggregateRound(ConstructionTeam<AbstractConstructionTeamMember> team) {
+        AbstractConstructionTeamMember lead = team.getTeamLead();
+        boolean qualified = team.hasQualifiedMember("Electrician");
+        double cost = team.calculateTeamCost(HOURS);
+        int positions = team.getMemberCountByPosition().size();
+        return cost + (lead != null ? lead.getExperienceLevel() : 0) + (qualified ? 1 : 0) + positions;
+    }
+
+    // Average microseconds per round after a warm-up
+    private static double time(ConstructionTeam<AbstractConstructionTeamMember> team,
+                               ToDoubleFunction<ConstructionTeam<AbstractConstructionTeamMember>> round) {
+        List<AbstractConstructionTeamMember> members = team.getMembers();
+        double checksum = 0;
+        for (int i = 0; i < ROUNDS / 4; i++) {
+            checksum += round.applyAsDouble(team);
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            AbstractConstructionTeamMember member = members.get(i % members.size());
+            member.setExperienceLevel((member.getExperienceLevel() + 1) % 15);
+            checksum += round.applyAsDouble(team);
+        }
+        long elapsed = System.nanoTime() - begin;
+        LOGGER.debug("Checksum {}", checksum);
+        return elapsed / 1e3 / ROUNDS;
+    }
+}
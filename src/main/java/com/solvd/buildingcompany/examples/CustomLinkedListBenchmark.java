@@ -0,0 +1,120 @@
+package com.solvd.buildingcompany.examples;
+
+import com.solvd.buildingcompany.collections.CustomLinkedList;
+import com.solvd.buildingcompany.collections.IndexableSkipList;
+import com.solvd.buildingcompany.collections.UnrolledLinkedList;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Rough timing of the custom list implementations for growing list sizes
+ */
+public class CustomLinkedListBenchmark {
+    private static final Logger LOGGER = LogManager.getLogger(CustomLinkedListBenchmark.class);
+    private static final int[] SIZES = {1_000, 10_000, 100_000, 1_000_000};
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int RANDOM_LOOKUPS = 1_000;
+
+    public static void main(String[] args) {
+        LOGGER.info("Starting CustomLinkedList benchmark");
+        System.out.println("\n=== CustomLinkedList benchmark (times in ms) ===");
+        System.out.printf("%10s %12s %18s %12s%n", "size", "append", "iterator-remove", "drain-head");
+
+        for (int size : SIZES) {
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                run(size);
+            }
+            double[] times = run(size);
+            System.out.printf("%10d %12.2f %18.2f %12.2f%n", size, times[0], times[1], times[2]);
+        }
+
+        System.out.println("\n=== Positional access: " + RANDOM_LOOKUPS
+                + " random get/add/remove by index and one full traversal (times in ms) ===");
+        System.out.printf("%10s %-10s %12s %12s %12s %12s%n",
+                "size", "list", "random-get", "random-add", "random-remove", "traversal");
+        for (int size : SIZES) {
+            compare(size, "linked", CustomLinkedList::new);
+            compare(size, "unrolled", UnrolledLinkedList::new);
+            compare(size, "skip-list", IndexableSkipList::new);
+        }
+    }
+
+    private static void compare(int size, String label, Supplier<List<Integer>> factory) {
+        Integer[] values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+        }
+
+        List<Integer> list = factory.get();
+        for (Integer value : values) {
+            list.add(value);
+        }
+
+        double[] times = new double[4];
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            Random random = new Random(size);
+            long checksum = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < RANDOM_LOOKUPS; i++) {
+                checksum += list.get(random.nextInt(size));
+            }
+            long looked = System.nanoTime();
+            for (int i = 0; i < RANDOM_LOOKUPS; i++) {
+                list.add(random.nextInt(list.size() + 1), i);
+            }
+            long inserted = System.nanoTime();
+            for (int i = 0; i < RANDOM_LOOKUPS; i++) {
+                checksum += list.remove(random.nextInt(list.size()));
+            }
+            long removed = System.nanoTime();
+            for (Integer value : list) {
+                checksum += value;
+            }
+            long traversed = System.nanoTime();
+            times[0] = (looked - start) / 1e6;
+            times[1] = (inserted - looked) / 1e6;
+            times[2] = (removed - inserted) / 1e6;
+            times[3] = (traversed - removed) / 1e6;
+            LOGGER.debug("Checksum {}", checksum);
+        }
+        System.out.printf("%10d %-10s %12.2f %12.2f %12.2f %12.2f%n",
+                size, label, times[0], times[1], times[2], times[3]);
+    }
+
+    private static double[] run(int size) {
+        long start = System.nanoTime();
+        CustomLinkedList<Integer> list = new CustomLinkedList<>();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        long appended = System.nanoTime();
+
+        // Remove every other element while iterating
+        Iterator<Integer> iterator = list.iterator();
+        boolean remove = true;
+        while (iterator.hasNext()) {
+            iterator.next();
+            if (remove) {
+                iterator.remove();
+            }
+            remove = !remove;
+        }
+        long filtered = System.nanoTime();
+
+        while (!list.isEmpty()) {
+            list.removeFirst();
+        }
+        long drained = System.nanoTime();
+
+        return new double[]{
+                (appended - start) / 1e6,
+                (filtered - appended) / 1e6,
+                (drained - filtered) / 1e6
+        };
+    }
+}
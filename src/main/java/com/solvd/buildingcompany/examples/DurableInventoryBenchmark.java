@@ -0,0 +1,175 @@
+package com.solvd.buildingcompany.examples;
+
+import com.solvd.buildingcompany.models.BuildingMaterial;
+import com.solvd.buildingcompany.models.MaterialInventory;
+import com.solvd.buildingcompany.persistence.DurableMaterialInventory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Measures inventory mutations per second without durability (MaterialInventory behind one lock)
+ * and with the write-ahead log, both with a group commit window and flushing as soon as possible.
+ * Mix: 60% add, 20% order, 10% process order, 10% remove.
+ */
+public class DurableInventoryBenchmark {
+    private static final Logger LOGGER = LogManager.getLogger(DurableInventoryBenchmark.class);
+    private static final int MATERIAL_COUNT = 1_000;
+    private static final long RUN_MILLIS = 2_000;
+    private static final String[] UNIT_TYPES = {"piece", "bag", "board", "gallon"};
+
+    private interface Mutations {
+        void add(BuildingMaterial material) throws IOException;
+
+        void remove(String name) throws IOException;
+
+        void order(BuildingMaterial material) throws IOException;
+
+        void process() throws IOException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        BuildingMaterial[] materials = new BuildingMaterial[MATERIAL_COUNT];
+        for (int i = 0; i < MATERIAL_COUNT; i++) {
+            materials[i] = new BuildingMaterial("Material-" + i, 1.0 + i % 100, UNIT_TYPES[i % UNIT_TYPES.length]);
+        }
+
+        LOGGER.info("Starting durable inventory benchmark");
+        System.out.println("\n=== Inventory mutations per second ===");
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        System.out.printf("%8s %14s %18s %18s%n", "threads", "in-memory", "wal 64KB/2ms", "wal flush-asap");
+
+        for (int threads = 1; threads <= 16; threads *= 4) {
+            double inMemory = measure(threads, materials, inMemory());
+            double grouped = measureDurable(threads, materials, 64 * 1024, 2);
+            double eager = measureDurable(threads, materials, 1, 0);
+            System.out.printf("%8d %14.0f %18.0f %18.0f%n", threads, inMemory, grouped, eager);
+        }
+    }
+
+    private static Mutations inMemory() {
+        MaterialInventory<BuildingMaterial> inventory = new MaterialInventory<>();
+        Object lock = new Object();
+        return new Mutations() {
+            @Override
+            public void add(BuildingMaterial material) {
+                synchronized (lock) {
+                    inventory.addMaterial(material);
+                }
+            }
+
+            @Override
+            public void remove(String name) {
+                synchronized (lock) {
+                    inventory.removeMaterial(name);
+                }
+            }
+
+            @Override
+            public void order(BuildingMaterial material) {
+                synchronized (lock) {
+                    inventory.orderMaterial(material);
+                }
+            }
+
+            @Override
+            public void process() {
+                synchronized (lock) {
+                    inventory.processPendingOrder();
+                }
+            }
+        };
+    }
+
+    private static double measureDurable(int threads, BuildingMaterial[] materials,
+                                         int groupCommitBytes, long groupCommitMillis) throws Exception {
+        Path directory = Files.createTempDirectory("durable-inventory");
+        try (DurableMaterialInventory inventory =
+                     new DurableMaterialInventory(directory, groupCommitBytes, groupCommitMillis, 100_000)) {
+            return measure(threads, materials, new Mutations() {
+                @Override
+                public void add(BuildingMaterial material) throws IOException {
+                    inventory.addMaterial(material);
+                }
+
+                @Override
+                public void remove(String name) throws IOException {
+                    inventory.removeMaterial(name);
+                }
+
+                @Override
+                public void order(BuildingMaterial material) throws IOException {
+                    inventory.orderMaterial(material);
+                }
+
+                @Override
+                public void process() throws IOException {
+                    inventory.processPendingOrder();
+                }
+            });
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+    }
+
+    private static double measure(int threads, BuildingMaterial[] materials, Mutations mutations)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder completed = new LongAdder();
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (running.get()) {
+                        BuildingMaterial material = materials[random.nextInt(materials.length)];
+                        int roll = random.nextInt(100);
+                        if (roll < 60) {
+                            mutations.add(material);
+                        } else if (roll < 80) {
+                            mutations.order(material);
+                        } else if (roll < 90) {
+                            mutations.process();
+                        } else {
+                            mutations.remove(material.name());
+                        }
+                        completed.increment();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (IOException e) {
+                    LOGGER.error("Mutation failed", e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        Thread.sleep(RUN_MILLIS);
+        running.set(false);
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        return completed.sum() * 1e9 / elapsed;
+    }
+}
@@ -0,0 +1,82 @@
+package com.solvd.buildingcompany.examples;
+
+import com.solvd.buildingcompany.models.ConstructionTeam;
+import com.solvd.buildingcompany.models.workers.AbstractConstructionTeamMember;
+import com.solvd.buildingcompany.models.workers.Builder;
+import com.solvd.buildingcompany.models.workers.Electrician;
+import com.solvd.buildingcompany.models.workers.Plumber;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Measures "experience above k" queries selecting about a tenth of the roster: the old
+ * stream over every member, getExperiencedMembers planned through the experience index,
+ * walking the zero-copy view, and counting from the per-level buckets. Between queries
+ * one member's experience changes, so the index is exercised across setExperienceLevel.
+ */
+public class ExperienceRangeBenchmark {
+    private static final Logger LOGGER = LogManager.getLogger(ExperienceRangeBenchmark.class);
+    private static final int[] ROSTER_SIZES = {1_000, 20_000, 100_000};
+    private static final int LEVELS = 40;
+    private static final int THRESHOLD = 35;
+    private static final int QUERIES = 2_000;
+
+    public static void main(String[] args) {
+        System.out.println("\n=== Members with experience > " + THRESHOLD + " (us per experience change + query) ===");
+        System.out.printf("%10s %14s %14s %14s %14s%n", "members", "stream scan", "index copy", "view walk", "bucket count");
+        for (int size : ROSTER_SIZES) {
+            ConstructionTeam<AbstractConstructionTeamMember> team = createTeam(size);
+            double scan = time(team, t -> t.getMembers().stream()
+                    .filter(member -> member.getExperienceLevel() > THRESHOLD)
+                    .collect(Collectors.toList())
+                    .size());
+            double copy = time(team, t -> t.getExperiencedMembers(THRESHOLD).size());
+            double walk = time(team, t -> {
+                int sum = 0;
+                for (AbstractConstructionTeamMember member : t.getMembersWithExperienceAbove(THRESHOLD)) {
+                    sum += member.getExperienceLevel();
+                }
+                return sum;
+            });
+            double count = time(team, t -> t.countMembersWithExperience(THRESHOLD + 1, Integer.MAX_VALUE));
+            System.out.printf("%10d %14.2f %14.2f %14.2f %14.2f%n", size, scan, copy, walk, count);
+        }
+    }
+
+    private static ConstructionTeam<AbstractConstructionTeamMember> createTeam(int size) {
+        ConstructionTeam<AbstractConstructionTeamMember> team = new ConstructionTeam<>();
+        for (int i = 0; i < size; i++) {
+            AbstractConstructionTeamMember member = switch (i % 3) {
+                case 0 -> new Builder("Builder-" + i, "mason", 40 + i % 10);
+                case 1 -> new Plumber("Plumber-" + i, i % 2 == 0, 35 + i % 10);
+                default -> new Electrician("Electrician-" + i, i % 4 == 0 ? 500 : 1500, 50 + i % 10);
+            };
+            member.setExperienceLevel(i % LEVELS);
+            team.addMember(member);
+        }
+        return team;
+    }
+
+    // Average microseconds per experience change and query, after a warm-up
+    private static double time(ConstructionTeam<AbstractConstructionTeamMember> team,
+                               ToIntFunction<ConstructionTeam<AbstractConstructionTeamMember>> query) {
+        List<AbstractConstructionTeamMember> members = team.getMembers();
+        long checksum = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            checksum += query.applyAsInt(team);
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            AbstractConstructionTeamMember member = members.get(i * 31 % members.size());
+            member.setExperienceLevel((member.getExperienceLevel() + 1) % LEVELS);
+            checksum += query.applyAsInt(team);
+        }
+        long elapsed = System.nanoTime() - begin;
+        LOGGER.debug("Checksum {}", checksum);
+        return elapsed / 1e3 / QUERIES;
+    }
+}
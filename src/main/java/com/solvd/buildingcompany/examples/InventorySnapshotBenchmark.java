@@ -0,0 +1,108 @@
+package com.solvd.buildingcompany.examples;
+
+import com.solvd.buildingcompany.enums.OrderOverflowPolicy;
+import com.solvd.buildingcompany.models.BuildingMaterial;
+import com.solvd.buildingcompany.models.ConcurrentMaterialInventory;
+import com.solvd.buildingcompany.models.MaterialInventory;
+import com.solvd.buildingcompany.persistence.MappedInventorySnapshot;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares restarting from a memory-mapped snapshot with re-importing a large inventory,
+ * and checks that readers of a ConcurrentMaterialInventory keep going while a snapshot is written.
+ */
+public class InventorySnapshotBenchmark {
+    private static final Logger LOGGER = LogManager.getLogger(InventorySnapshotBenchmark.class);
+    private static final int MATERIAL_COUNT = 1_000_000;
+    private static final int ORDER_COUNT = 2_000;
+    private static final String[] UNIT_TYPES = {"piece", "bag", "board", "gallon"};
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("inventory-snapshot");
+        Path snapshotFile = directory.resolve("inventory.snapshot");
+        BuildingMaterial[] materials = new BuildingMaterial[MATERIAL_COUNT];
+        for (int i = 0; i < MATERIAL_COUNT; i++) {
+            materials[i] = new BuildingMaterial("SKU-" + i, 1.0 + i % 100, UNIT_TYPES[i % UNIT_TYPES.length]);
+        }
+
+        System.out.println("\n=== Inventory restart (" + MATERIAL_COUNT + " materials) ===");
+        long begin = System.nanoTime();
+        MaterialInventory<BuildingMaterial> inventory = new MaterialInventory<>(ORDER_COUNT,
+                OrderOverflowPolicy.REJECT, false);
+        for (BuildingMaterial material : materials) {
+            inventory.addMaterial(material);
+        }
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            inventory.orderMaterial(materials[i]);
+        }
+        inventory.addSupplier("ABC Materials");
+        inventory.addSupplier("XYZ Building Supply");
+        System.out.printf("%-34s %10.1f ms%n", "Full import", (System.nanoTime() - begin) / 1e6);
+
+        begin = System.nanoTime();
+        inventory.writeSnapshot(snapshotFile);
+        System.out.printf("%-34s %10.1f ms (%d MB)%n", "Write snapshot",
+                (System.nanoTime() - begin) / 1e6, Files.size(snapshotFile) >> 20);
+
+        begin = System.nanoTime();
+        MappedInventorySnapshot snapshot = MappedInventorySnapshot.open(snapshotFile);
+        BuildingMaterial first = snapshot.getMaterial("SKU-" + (MATERIAL_COUNT / 2));
+        System.out.printf("%-34s %10.3f ms%n", "Open snapshot + first lookup", (System.nanoTime() - begin) / 1e6);
+
+        begin = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (snapshot.getMaterial(materials[ThreadLocalRandom.current().nextInt(MATERIAL_COUNT)].name()) != null) {
+                found++;
+            }
+        }
+        System.out.printf("%-34s %10.1f ms (%d found)%n", "100k lookups on mapped snapshot",
+                (System.nanoTime() - begin) / 1e6, found);
+
+        begin = System.nanoTime();
+        MaterialInventory<BuildingMaterial> restored = snapshot.toInventory();
+        System.out.printf("%-34s %10.1f ms%n", "Full restore from snapshot", (System.nanoTime() - begin) / 1e6);
+        LOGGER.info("Restored {} stock items, {} pending orders, first lookup {}",
+                restored.getTotalInventoryCount(), restored.getPendingOrders().size(), first);
+
+        measureReadersDuringWrite(materials, directory.resolve("concurrent.snapshot"));
+
+        Files.deleteIfExists(snapshotFile);
+        Files.deleteIfExists(directory.resolve("concurrent.snapshot"));
+        Files.deleteIfExists(directory);
+    }
+
+    private static void measureReadersDuringWrite(BuildingMaterial[] materials, Path snapshotFile)
+            throws IOException, InterruptedException {
+        ConcurrentMaterialInventory<BuildingMaterial> inventory = new ConcurrentMaterialInventory<>();
+        for (BuildingMaterial material : materials) {
+            inventory.addMaterial(material);
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder reads = new LongAdder();
+        Thread reader = new Thread(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (running.get()) {
+                inventory.getMaterial(materials[random.nextInt(materials.length)].name());
+                reads.increment();
+            }
+        });
+        reader.start();
+
+        long begin = System.nanoTime();
+        inventory.writeSnapshot(snapshotFile);
+        long elapsed = System.nanoTime() - begin;
+        running.set(false);
+        reader.join();
+        System.out.printf("%-34s %10.1f ms (%d reads served meanwhile)%n", "Concurrent snapshot write",
+                elapsed / 1e6, reads.sum());
+    }
+}
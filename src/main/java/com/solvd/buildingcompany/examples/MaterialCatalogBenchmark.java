@@ -0,0 +1,111 @@
+package com.solvd.buildingcompany.examples;
+
+import com.solvd.buildingcompany.models.BuildingMaterial;
+import com.solvd.buildingcompany.models.OffHeapMaterialCatalog;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compares a HashMap catalog of BuildingMaterial records (as MaterialInventory keeps it)
+ * with OffHeapMaterialCatalog for millions of SKUs: retained heap, GC work while
+ * loading, and the time of a full valuation scan.
+ */
+public class MaterialCatalogBenchmark {
+    private static final Logger LOGGER = LogManager.getLogger(MaterialCatalogBenchmark.class);
+    private static final int[] SKU_COUNTS = {1_000_000, 3_000_000};
+    private static final String[] UNIT_TYPES = {"piece", "bag", "board", "gallon", "m³", "ton"};
+    private static final int SCAN_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        LOGGER.info("Starting material catalog benchmark");
+        System.out.println("\n=== Material catalog: heap catalog vs off-heap columns ===");
+        System.out.printf("%10s %10s %12s %12s %10s %10s %10s%n",
+                "SKUs", "catalog", "heap MB", "off-heap MB", "GC count", "GC ms", "scan ms");
+
+        for (int skuCount : SKU_COUNTS) {
+            measureHeapCatalog(skuCount);
+            measureOffHeapCatalog(skuCount);
+        }
+    }
+
+    private static void measureHeapCatalog(int skuCount) {
+        long heapBefore = usedHeapAfterGc();
+        long[] gcBefore = gcTotals();
+        Map<String, BuildingMaterial> catalog = new HashMap<>();
+        for (int i = 0; i < skuCount; i++) {
+            BuildingMaterial material = material(i);
+            catalog.put(material.name(), material);
+        }
+        long[] gcAfter = gcTotals();
+        long heap = usedHeapAfterGc() - heapBefore;
+
+        double value = 0;
+        long begin = System.nanoTime();
+        for (int round = 0; round < SCAN_ROUNDS; round++) {
+            value = 0;
+            for (BuildingMaterial material : catalog.values()) {
+                value += material.calculateCost();
+            }
+        }
+        long scanNanos = (System.nanoTime() - begin) / SCAN_ROUNDS;
+
+        print(skuCount, "heap", heap, 0, gcBefore, gcAfter, scanNanos);
+        LOGGER.debug("Heap catalog value: {}", value);
+    }
+
+    private static void measureOffHeapCatalog(int skuCount) {
+        long heapBefore = usedHeapAfterGc();
+        long[] gcBefore = gcTotals();
+        OffHeapMaterialCatalog catalog = new OffHeapMaterialCatalog();
+        for (int i = 0; i < skuCount; i++) {
+            catalog.addMaterial(material(i));
+        }
+        long[] gcAfter = gcTotals();
+        long heap = usedHeapAfterGc() - heapBefore;
+
+        double value = 0;
+        long begin = System.nanoTime();
+        for (int round = 0; round < SCAN_ROUNDS; round++) {
+            value = catalog.calculateTotalValue();
+        }
+        long scanNanos = (System.nanoTime() - begin) / SCAN_ROUNDS;
+
+        print(skuCount, "off-heap", heap, catalog.getOffHeapBytes(), gcBefore, gcAfter, scanNanos);
+        LOGGER.debug("Off-heap catalog value: {}", value);
+    }
+
+    private static BuildingMaterial material(int index) {
+        return new BuildingMaterial("SKU-" + index, 1.0 + index % 250, UNIT_TYPES[index % UNIT_TYPES.length]);
+    }
+
+    private static void print(int skuCount, String catalog, long heapBytes, long offHeapBytes,
+                              long[] gcBefore, long[] gcAfter, long scanNanos) {
+        System.out.printf("%10d %10s %12.1f %12.1f %10d %10d %10.1f%n", skuCount, catalog,
+                heapBytes / 1e6, offHeapBytes / 1e6, gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1],
+                scanNanos / 1e6);
+    }
+
+    // {collection count, collection time in ms} summed over all collectors
+    private static long[] gcTotals() {
+        long count = 0;
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[]{count, time};
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
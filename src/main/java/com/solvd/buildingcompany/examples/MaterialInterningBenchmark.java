@@ -0,0 +1,71 @@
+package com.solvd.buildingcompany.examples;
+
+import com.solvd.buildingcompany.models.BuildingMaterial;
+import com.solvd.buildingcompany.models.MaterialInterner;
+import com.solvd.buildingcompany.models.MaterialInventory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * Loads a delivery import into a MaterialInventory and measures the retained heap with
+ * and without MaterialInterner. Each import line is decoded from bytes, as a file or
+ * network reader would, so every line brings its own name and unit strings.
+ */
+public class MaterialInterningBenchmark {
+    private static final Logger LOGGER = LogManager.getLogger(MaterialInterningBenchmark.class);
+    private static final int LINE_COUNT = 1_000_000;
+    private static final int MATERIAL_COUNT = 50_000;
+    private static final String[] UNIT_TYPES = {"piece", "bag", "board", "gallon", "ton", "sheet"};
+
+    private record ImportLine(byte[] name, double pricePerUnit, byte[] unitType) {
+    }
+
+    public static void main(String[] args) {
+        ImportLine[] lines = new ImportLine[LINE_COUNT];
+        for (int i = 0; i < LINE_COUNT; i++) {
+            int material = (int) ((i * 7919L) % MATERIAL_COUNT);
+            lines[i] = new ImportLine(("Material-" + material).getBytes(StandardCharsets.UTF_8),
+                    1.0 + material % 100, UNIT_TYPES[material % UNIT_TYPES.length].getBytes(StandardCharsets.UTF_8));
+        }
+
+        System.out.println("\n=== Import of " + LINE_COUNT + " stock lines over " + MATERIAL_COUNT + " materials ===");
+        System.out.printf("%-12s %14s %12s%n", "", "retained MB", "load ms");
+        long plain = load("plain", lines, line -> new BuildingMaterial(decode(line.name()), line.pricePerUnit(),
+                decode(line.unitType())));
+        MaterialInterner interner = MaterialInterner.getInstance();
+        long interned = load("interned", lines, line -> interner.intern(decode(line.name()), line.pricePerUnit(),
+                decode(line.unitType())));
+        System.out.printf("%nHeap saved: %.1f MB (%.0f%%); interner holds %d records, %d unit types%n",
+                (plain - interned) / 1048576.0, 100.0 * (plain - interned) / plain,
+                interner.getMaterialCount(), interner.getUnitTypeCount());
+    }
+
+    private static long load(String label, ImportLine[] lines, Function<ImportLine, BuildingMaterial> decoder) {
+        long before = usedHeap();
+        long begin = System.nanoTime();
+        MaterialInventory<BuildingMaterial> inventory = new MaterialInventory<>();
+        for (ImportLine line : lines) {
+            inventory.addMaterial(decoder.apply(line));
+        }
+        long millis = (System.nanoTime() - begin) / 1_000_000;
+        long retained = usedHeap() - before;
+        System.out.printf("%-12s %14.1f %12d%n", label, retained / 1048576.0, millis);
+        LOGGER.debug("Loaded {} stock items", inventory.getStockItems().size());
+        return retained;
+    }
+
+    private static String decode(byte[] encoded) {
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
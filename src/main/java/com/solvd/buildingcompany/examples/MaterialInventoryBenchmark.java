@@ -0,0 +1,148 @@
+package com.solvd.buildingcompany.examples;
+
+import com.solvd.buildingcompany.models.BuildingMaterial;
+import com.solvd.buildingcompany.models.ConcurrentMaterialInventory;
+import com.solvd.buildingcompany.models.MaterialInventory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures inventory throughput for site threads on a mixed read/write workload.
+ * Compares MaterialInventory behind one external lock to ConcurrentMaterialInventory.
+ */
+public class MaterialInventoryBenchmark {
+    private static final Logger LOGGER = LogManager.getLogger(MaterialInventoryBenchmark.class);
+    private static final int MATERIAL_COUNT = 2_000;
+    private static final int OPERATIONS_PER_THREAD = 100_000;
+    private static final String[] UNIT_TYPES = {"piece", "bag", "board", "gallon"};
+
+    private interface InventoryOperations {
+        void add(BuildingMaterial material);
+
+        BuildingMaterial get(String name);
+
+        boolean remove(String name);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        BuildingMaterial[] materials = new BuildingMaterial[MATERIAL_COUNT];
+        for (int i = 0; i < MATERIAL_COUNT; i++) {
+            materials[i] = new BuildingMaterial("Material-" + i, 1.0 + i % 100, UNIT_TYPES[i % UNIT_TYPES.length]);
+        }
+
+        int maxThreads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        LOGGER.info("Starting inventory benchmark with up to {} threads", maxThreads);
+        System.out.println("\n=== Inventory throughput (thousand ops/s, 80% get / 15% add / 5% remove) ===");
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        System.out.printf("%8s %14s %14s%n", "threads", "global-lock", "concurrent");
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            double locked = 0;
+            double concurrent = 0;
+            // First round of each is a warm-up
+            for (int round = 0; round < 2; round++) {
+                locked = measure(threads, materials, lockedInventory(materials));
+                concurrent = measure(threads, materials, concurrentInventory(materials));
+            }
+            System.out.printf("%8d %14.1f %14.1f%n", threads, locked, concurrent);
+        }
+    }
+
+    private static InventoryOperations lockedInventory(BuildingMaterial[] materials) {
+        MaterialInventory<BuildingMaterial> inventory = new MaterialInventory<>();
+        for (BuildingMaterial material : materials) {
+            inventory.addMaterial(material);
+        }
+        Object lock = new Object();
+        return new InventoryOperations() {
+            @Override
+            public void add(BuildingMaterial material) {
+                synchronized (lock) {
+                    inventory.addMaterial(material);
+                }
+            }
+
+            @Override
+            public BuildingMaterial get(String name) {
+                synchronized (lock) {
+                    return inventory.getMaterial(name);
+                }
+            }
+
+            @Override
+            public boolean remove(String name) {
+                synchronized (lock) {
+                    return inventory.removeMaterial(name);
+                }
+            }
+        };
+    }
+
+    private static InventoryOperations concurrentInventory(BuildingMaterial[] materials) {
+        ConcurrentMaterialInventory<BuildingMaterial> inventory = new ConcurrentMaterialInventory<>();
+        for (BuildingMaterial material : materials) {
+            inventory.addMaterial(material);
+        }
+        return new InventoryOperations() {
+            @Override
+            public void add(BuildingMaterial material) {
+                inventory.addMaterial(material);
+            }
+
+            @Override
+            public BuildingMaterial get(String name) {
+                return inventory.getMaterial(name);
+            }
+
+            @Override
+            public boolean remove(String name) {
+                return inventory.removeMaterial(name);
+            }
+        };
+    }
+
+    private static double measure(int threads, BuildingMaterial[] materials, InventoryOperations inventory)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        BuildingMaterial material = materials[random.nextInt(materials.length)];
+                        int roll = random.nextInt(100);
+                        if (roll < 80) {
+                            inventory.get(material.name());
+                        } else if (roll < 95) {
+                            inventory.add(material);
+                        } else {
+                            inventory.remove(material.name());
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        return (double) threads * OPERATIONS_PER_THREAD / elapsed * 1_000_000;
+    }
+}
@@ -0,0 +1,99 @@
+package com.solvd.buildingcompany.examples;
+
+import com.solvd.buildingcompany.exceptions.InvalidMaterialException;
+import com.solvd.buildingcompany.interfaces.MaterialLoader;
+import com.solvd.buildingcompany.models.BuildingMaterial;
+import com.solvd.buildingcompany.models.MaterialInventory;
+import com.solvd.buildingcompany.models.MaterialPriceCache;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Puts MaterialPriceCache in front of a slow pricing source, stood in for by a
+ * MaterialInventory behind a 1 ms delay, and compares lookups per second with and
+ * without the cache under a skewed workload (a few materials are looked up most often).
+ */
+public class MaterialPriceCacheDemo {
+    private static final Logger LOGGER = LogManager.getLogger(MaterialPriceCacheDemo.class);
+    private static final int MATERIAL_COUNT = 20_000;
+    private static final int CACHE_SIZE = 2_000;
+    private static final int THREADS = 8;
+    private static final long RUN_MILLIS = 3_000;
+    private static final String[] UNIT_TYPES = {"bag", "piece", "ton", "board"};
+
+    private interface Lookup {
+        BuildingMaterial get(String name) throws InvalidMaterialException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        MaterialInventory<BuildingMaterial> inventory = new MaterialInventory<>();
+        for (int i = 0; i < MATERIAL_COUNT; i++) {
+            inventory.addMaterial(new BuildingMaterial("Material-" + i, 1.0 + i % 100, UNIT_TYPES[i % UNIT_TYPES.length]));
+        }
+        LongAdder sourceCalls = new LongAdder();
+        MaterialLoader<BuildingMaterial> pricingSource = name -> {
+            sourceCalls.increment();
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InvalidMaterialException("Interrupted while pricing " + name, e);
+            }
+            return inventory.getMaterial(name);
+        };
+
+        ExecutorService refresher = Executors.newSingleThreadExecutor();
+        MaterialPriceCache<BuildingMaterial> cache = new MaterialPriceCache<>(
+                pricingSource, CACHE_SIZE, Duration.ofSeconds(2), Duration.ofSeconds(1), refresher);
+
+        System.out.println("\n=== Material lookups per second, " + THREADS + " threads, "
+                + MATERIAL_COUNT + " materials, cache of " + CACHE_SIZE + " ===");
+        double direct = measure(pricingSource::load);
+        long directCalls = sourceCalls.sumThenReset();
+        double cached = measure(cache::get);
+        long cachedCalls = sourceCalls.sum();
+        refresher.shutdown();
+        refresher.awaitTermination(5, TimeUnit.SECONDS);
+
+        System.out.printf("%-14s %14s %14s%n", "", "lookups/s", "source calls");
+        System.out.printf("%-14s %14.0f %14d%n", "no cache", direct, directCalls);
+        System.out.printf("%-14s %14.0f %14d%n", "cache", cached, cachedCalls);
+        System.out.printf("%nHit rate %.1f%% (hits %d, misses %d), evictions %d, expirations %d, "
+                        + "refreshes %d, load failures %d, size %d%n",
+                cache.getHitRate() * 100, cache.getHitCount(), cache.getMissCount(), cache.getEvictionCount(),
+                cache.getExpirationCount(), cache.getRefreshCount(), cache.getLoadFailureCount(), cache.size());
+    }
+
+    private static double measure(Lookup lookup) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder completed = new LongAdder();
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (running.get()) {
+                    // A uniform value to the sixth power skews lookups towards low material ids
+                    int id = (int) (MATERIAL_COUNT * Math.pow(random.nextDouble(), 6));
+                    try {
+                        lookup.get("Material-" + id);
+                        completed.increment();
+                    } catch (InvalidMaterialException e) {
+                        LOGGER.error("Lookup failed", e);
+                        return;
+                    }
+                }
+            });
+        }
+        long begin = System.nanoTime();
+        Thread.sleep(RUN_MILLIS);
+        running.set(false);
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        return completed.sum() * 1e9 / (System.nanoTime() - begin);
+    }
+}
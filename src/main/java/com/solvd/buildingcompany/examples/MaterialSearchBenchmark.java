@@ -0,0 +1,77 @@
+package com.solvd.buildingcompany.examples;
+
+import com.solvd.buildingcompany.models.BuildingMaterial;
+import com.solvd.buildingcompany.models.MaterialInventory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Measures "type to search" over a million catalog names: the linear stream the UI
+ * used before against the prefix and fuzzy queries of MaterialInventory's name index.
+ */
+public class MaterialSearchBenchmark {
+    private static final Logger LOGGER = LogManager.getLogger(MaterialSearchBenchmark.class);
+    private static final int MATERIAL_COUNT = 1_000_000;
+    private static final int RESULT_LIMIT = 20;
+    private static final int REPEATS = 200;
+    private static final String[] PRODUCTS = {
+            "Portland Cement", "Red Brick", "Steel Rebar", "Pine Board", "Plywood Sheet",
+            "Copper Pipe", "PVC Pipe", "Ceramic Tile", "Drywall Panel", "Roof Shingle"
+    };
+    private static final String[] UNIT_TYPES = {"bag", "piece", "ton", "board", "sheet"};
+
+    public static void main(String[] args) {
+        MaterialInventory<BuildingMaterial> inventory = new MaterialInventory<>();
+        long begin = System.nanoTime();
+        for (int i = 0; i < MATERIAL_COUNT; i++) {
+            String name = PRODUCTS[i % PRODUCTS.length] + " " + (i / PRODUCTS.length);
+            inventory.addMaterial(new BuildingMaterial(name, 1.0 + i % 90, UNIT_TYPES[i % UNIT_TYPES.length]));
+        }
+        LOGGER.info("Loaded {} materials in {} ms", MATERIAL_COUNT, (System.nanoTime() - begin) / 1_000_000);
+
+        System.out.println("\n=== Material search over " + MATERIAL_COUNT + " names (ms per query, top "
+                + RESULT_LIMIT + ") ===");
+        System.out.printf("%-32s %12s %12s%n", "query", "linear", "index");
+
+        comparePrefix(inventory, "steel rebar 123");
+        comparePrefix(inventory, "PLY");
+        comparePrefix(inventory, "copper pipe 9999");
+
+        String typo = "Coper Pipe 12345";
+        double fuzzy = time(() -> inventory.searchMaterialsFuzzy(typo, 2, RESULT_LIMIT));
+        System.out.printf("%-32s %12s %12.3f  -> %s%n", "fuzzy '" + typo + "' <= 2", "-", fuzzy,
+                inventory.searchMaterialsFuzzy(typo, 2, 3));
+    }
+
+    private static void comparePrefix(MaterialInventory<BuildingMaterial> inventory, String prefix) {
+        String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        double linear = time(() -> inventory.getMaterialCatalog().values().stream()
+                .filter(material -> material.name().toLowerCase(Locale.ROOT).startsWith(lowerPrefix))
+                .sorted((a, b) -> a.name().compareToIgnoreCase(b.name()))
+                .limit(RESULT_LIMIT)
+                .collect(Collectors.toList()));
+        double indexed = time(() -> inventory.searchMaterials(prefix, RESULT_LIMIT));
+        System.out.printf("%-32s %12.3f %12.3f%n", "prefix '" + prefix + "'", linear, indexed);
+    }
+
+    // Average milliseconds per call after a warm-up; the linear scan gets fewer repeats
+    private static double time(Supplier<List<?>> query) {
+        for (int i = 0; i < 5; i++) {
+            query.get();
+        }
+        long begin = System.nanoTime();
+        int repeats = 0;
+        int results = 0;
+        while (repeats < REPEATS && System.nanoTime() - begin < 2_000_000_000L) {
+            results += query.get().size();
+            repeats++;
+        }
+        LOGGER.debug("{} results over {} repeats", results, repeats);
+        return (System.nanoTime() - begin) / 1e6 / repeats;
+    }
+}
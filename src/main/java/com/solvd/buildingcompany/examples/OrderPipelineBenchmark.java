@@ -0,0 +1,172 @@
+package com.solvd.buildingcompany.examples;
+
+import com.solvd.buildingcompany.enums.OrderOverflowPolicy;
+import com.solvd.buildingcompany.models.BuildingMaterial;
+import com.solvd.buildingcompany.models.PendingOrderPipeline;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures order intake when several sites submit orders in bursts while
+ * two consumers process them. Compares a synchronized unbounded LinkedList
+ * polled one order at a time to the bounded PendingOrderPipeline drained in batches.
+ */
+public class OrderPipelineBenchmark {
+    private static final Logger LOGGER = LogManager.getLogger(OrderPipelineBenchmark.class);
+    private static final int ORDERS_PER_PRODUCER = 200_000;
+    private static final int CONSUMERS = 2;
+    private static final int CAPACITY = 4_096;
+    private static final int BATCH_SIZE = 256;
+    private static final int MATERIAL_COUNT = 500;
+
+    private interface OrderQueue {
+        boolean submit(BuildingMaterial order) throws InterruptedException;
+
+        // Processes some orders and returns how many
+        int process();
+
+        int size();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        BuildingMaterial[] materials = new BuildingMaterial[MATERIAL_COUNT];
+        for (int i = 0; i < MATERIAL_COUNT; i++) {
+            materials[i] = new BuildingMaterial("Material-" + i, 1.0 + i % 40, "piece");
+        }
+
+        LOGGER.info("Starting order pipeline benchmark");
+        System.out.println("\n=== Order intake (thousand orders/s, peak pending orders) ===");
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        System.out.printf("%10s %14s %10s %14s %10s%n", "producers", "linked-list", "peak", "pipeline", "peak");
+
+        for (int producers = 1; producers <= 8; producers *= 2) {
+            long[] linked = null;
+            long[] pipeline = null;
+            // First round of each is a warm-up
+            for (int round = 0; round < 2; round++) {
+                linked = measure(producers, materials, lockedLinkedList());
+                pipeline = measure(producers, materials, batchedPipeline());
+            }
+            System.out.printf("%10d %14d %10d %14d %10d%n",
+                    producers, linked[0], linked[1], pipeline[0], pipeline[1]);
+        }
+    }
+
+    private static OrderQueue lockedLinkedList() {
+        Queue<BuildingMaterial> queue = new LinkedList<>();
+        return new OrderQueue() {
+            @Override
+            public boolean submit(BuildingMaterial order) {
+                synchronized (queue) {
+                    return queue.add(order);
+                }
+            }
+
+            @Override
+            public int process() {
+                synchronized (queue) {
+                    return queue.poll() == null ? 0 : 1;
+                }
+            }
+
+            @Override
+            public int size() {
+                synchronized (queue) {
+                    return queue.size();
+                }
+            }
+        };
+    }
+
+    private static OrderQueue batchedPipeline() {
+        PendingOrderPipeline<BuildingMaterial> pipeline =
+                new PendingOrderPipeline<>(CAPACITY, OrderOverflowPolicy.BLOCK, false);
+        return new OrderQueue() {
+            @Override
+            public boolean submit(BuildingMaterial order) throws InterruptedException {
+                return pipeline.submit(order);
+            }
+
+            @Override
+            public int process() {
+                return pipeline.drain(BATCH_SIZE, order -> { });
+            }
+
+            @Override
+            public int size() {
+                return pipeline.size();
+            }
+        };
+    }
+
+    // Returns {thousand orders per second, peak pending orders seen by consumers}
+    private static long[] measure(int producers, BuildingMaterial[] materials, OrderQueue queue)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(producers + CONSUMERS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch producersDone = new CountDownLatch(producers);
+        CountDownLatch consumersDone = new CountDownLatch(CONSUMERS);
+        AtomicBoolean producing = new AtomicBoolean(true);
+        AtomicInteger peak = new AtomicInteger();
+        LongAdder processed = new LongAdder();
+
+        for (int p = 0; p < producers; p++) {
+            int offset = p;
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < ORDERS_PER_PRODUCER; i++) {
+                        queue.submit(materials[(i + offset) % materials.length]);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    producersDone.countDown();
+                }
+            });
+        }
+        for (int c = 0; c < CONSUMERS; c++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    while (true) {
+                        peak.accumulateAndGet(queue.size(), Math::max);
+                        int count = queue.process();
+                        processed.add(count);
+                        if (count == 0) {
+                            if (!producing.get() && queue.size() == 0) {
+                                break;
+                            }
+                            Thread.yield();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    consumersDone.countDown();
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        producersDone.await();
+        producing.set(false);
+        consumersDone.await();
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        return new long[]{processed.sum() * 1_000_000 / elapsed, peak.get()};
+    }
+}
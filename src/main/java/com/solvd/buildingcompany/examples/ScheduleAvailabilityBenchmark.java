@@ -0,0 +1,88 @@
+package com.solvd.buildingcompany.examples;
+
+import com.solvd.buildingcompany.exceptions.ProjectSizeTooLargeException;
+import com.solvd.buildingcompany.models.Project;
+import com.solvd.buildingcompany.models.ProjectSchedule;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Measures "earliest free window of d days" on schedules spanning years: walking day by
+ * day with isDateAvailable, as getEarliestAvailableDate used to, against the gap-augmented
+ * range tree. Projects run 2 to 12 days with gaps of up to 6 days between them, so a 1-day
+ * window is found right after the first project running on the query date, while a 14-day window
+ * only exists after the last project.
+ */
+public class ScheduleAvailabilityBenchmark {
+    private static final Logger LOGGER = LogManager.getLogger(ScheduleAvailabilityBenchmark.class);
+    private static final int[] SCHEDULE_SIZES = {1_000, 10_000, 50_000};
+    private static final int[] WINDOW_DAYS = {1, 14};
+    private static final int QUERIES = 200;
+    private static final LocalDate FIRST_DATE = LocalDate.of(2025, 1, 1);
+
+    public static void main(String[] args) throws ProjectSizeTooLargeException {
+        System.out.println("\n=== Earliest free window (us per query, queries from random dates) ===");
+        System.out.printf("%10s %8s %12s %14s %12s%n", "projects", "days", "span years", "day walk", "range tree");
+        for (int size : SCHEDULE_SIZES) {
+            ProjectSchedule<Project> schedule = createSchedule(size);
+            long spanDays = schedule.getScheduledProjects().lastKey().toEpochDay() - FIRST_DATE.toEpochDay();
+            for (int days : WINDOW_DAYS) {
+                double walk = time(schedule, spanDays, from -> walk(schedule, from, days));
+                double tree = time(schedule, spanDays, from -> schedule.getEarliestAvailableWindow(from, days));
+                System.out.printf("%10d %8d %12.1f %14.2f %12.2f%n", size, days, spanDays / 365.0, walk, tree);
+            }
+        }
+    }
+
+    private static ProjectSchedule<Project> createSchedule(int size) throws ProjectSizeTooLargeException {
+        Random random = new Random(42);
+        ProjectSchedule<Project> schedule = new ProjectSchedule<>();
+        LocalDate start = FIRST_DATE;
+        for (int i = 0; i < size; i++) {
+            // area * floors * 0.5 days of construction
+            Project project = new Project("Project-" + i, 4 + random.nextInt(21), 1, "brick");
+            schedule.scheduleProject(start, project);
+            start = schedule.getEndDate(start).plusDays(random.nextInt(7));
+        }
+        return schedule;
+    }
+
+    // Day-by-day search checking every day of each candidate window
+    private static LocalDate walk(ProjectSchedule<Project> schedule, LocalDate from, int days) {
+        LocalDate candidate = from;
+        int free = 0;
+        while (free < days) {
+            if (schedule.isDateAvailable(candidate.plusDays(free))) {
+                free++;
+            } else {
+                candidate = candidate.plusDays(free + 1);
+                free = 0;
+            }
+        }
+        return candidate;
+    }
+
+    // Average microseconds per query, after a warm-up with the same query dates
+    private static double time(ProjectSchedule<Project> schedule, long spanDays, Function<LocalDate, LocalDate> query) {
+        LocalDate[] from = new LocalDate[QUERIES];
+        Random random = new Random(7);
+        for (int i = 0; i < QUERIES; i++) {
+            from[i] = FIRST_DATE.plusDays(random.nextLong(spanDays));
+        }
+        long checksum = 0;
+        for (LocalDate date : from) {
+            checksum += query.apply(date).toEpochDay();
+        }
+        long begin = System.nanoTime();
+        for (LocalDate date : from) {
+            checksum += query.apply(date).toEpochDay();
+        }
+        long elapsed = System.nanoTime() - begin;
+        LOGGER.debug("Checksum {} for {} projects", checksum, schedule.getScheduledProjectCount());
+        return elapsed / 1e3 / QUERIES;
+    }
+}
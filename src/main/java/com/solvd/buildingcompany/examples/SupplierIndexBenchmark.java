@@ -0,0 +1,101 @@
+package com.solvd.buildingcompany.examples;
+
+import com.solvd.buildingcompany.models.SupplierMaterialIndex;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Measures "which suppliers deliver all / any of these materials" over thousands of
+ * suppliers: a join over HashMap&lt;material, Set&lt;supplier&gt;&gt; against the bitmap index.
+ */
+public class SupplierIndexBenchmark {
+    private static final Logger LOGGER = LogManager.getLogger(SupplierIndexBenchmark.class);
+    private static final int SUPPLIER_COUNT = 20_000;
+    private static final int MATERIAL_COUNT = 2_000;
+    private static final int MATERIALS_PER_SUPPLIER = 150;
+    private static final int REPEATS = 2_000;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        SupplierMaterialIndex index = new SupplierMaterialIndex();
+        Map<String, Set<String>> suppliersByMaterial = new HashMap<>();
+        long links = 0;
+        for (int s = 0; s < SUPPLIER_COUNT; s++) {
+            String supplier = "Supplier-" + s;
+            for (int m = 0; m < MATERIALS_PER_SUPPLIER; m++) {
+                // Skewed towards low ids, so common materials have many suppliers
+                int material = (int) (MATERIAL_COUNT * Math.pow(random.nextDouble(), 2));
+                String name = "Material-" + material;
+                if (index.link(supplier, name)) {
+                    suppliersByMaterial.computeIfAbsent(name, key -> new HashSet<>()).add(supplier);
+                    links++;
+                }
+            }
+        }
+        LOGGER.info("Indexed {} links", links);
+
+        System.out.println("\n=== Supplier lookup over " + SUPPLIER_COUNT + " suppliers, " + links
+                + " links (us per query) ===");
+        System.out.printf("%-34s %10s %10s %10s%n", "query", "hash join", "bitmap", "matches");
+
+        compare("all of 2 common", List.of("Material-0", "Material-1"), suppliersByMaterial, index);
+        compare("all of 4 common", List.of("Material-0", "Material-1", "Material-2", "Material-3"),
+                suppliersByMaterial, index);
+        compare("all of common + rare", List.of("Material-0", "Material-1", "Material-1900"),
+                suppliersByMaterial, index);
+        compareAny("any of 3", List.of("Material-10", "Material-500", "Material-1500"),
+                suppliersByMaterial, index);
+
+        long hashBytes = 0;
+        for (Set<String> suppliers : suppliersByMaterial.values()) {
+            // HashMap.Node (32 bytes) plus a table slot per entry
+            hashBytes += suppliers.size() * 36L;
+        }
+        System.out.printf("%nSupplier sets: ~%d KB as HashSets (one direction), %d KB as bitmaps (both directions)%n",
+                hashBytes / 1024, index.getBitmapSizeInBytes() / 1024);
+    }
+
+    private static void compare(String label, List<String> materials,
+                                Map<String, Set<String>> suppliersByMaterial, SupplierMaterialIndex index) {
+        double join = time(() -> {
+            Set<String> result = new HashSet<>(suppliersByMaterial.getOrDefault(materials.get(0), Set.of()));
+            for (int i = 1; i < materials.size(); i++) {
+                result.retainAll(suppliersByMaterial.getOrDefault(materials.get(i), Set.of()));
+            }
+            return result;
+        });
+        double bitmap = time(() -> index.findSuppliersForAll(materials));
+        System.out.printf("%-34s %10.1f %10.1f %10d%n", label, join, bitmap, index.countSuppliersForAll(materials));
+    }
+
+    private static void compareAny(String label, List<String> materials,
+                                   Map<String, Set<String>> suppliersByMaterial, SupplierMaterialIndex index) {
+        double join = time(() -> {
+            Set<String> result = new HashSet<>();
+            for (String material : materials) {
+                result.addAll(suppliersByMaterial.getOrDefault(material, Set.of()));
+            }
+            return result;
+        });
+        double bitmap = time(() -> index.findSuppliersForAny(materials));
+        System.out.printf("%-34s %10.1f %10.1f %10d%n", label, join, bitmap,
+                index.findSuppliersForAny(materials).size());
+    }
+
+    // Average microseconds per call after a warm-up
+    private static double time(Supplier<Set<String>> query) {
+        for (int i = 0; i < 200; i++) {
+            query.get();
+        }
+        long begin = System.nanoTime();
+        long results = 0;
+        for (int i = 0; i < REPEATS; i++) {
+            results += query.get().size();
+        }
+        LOGGER.debug("{} results over {} repeats", results, REPEATS);
+        return (System.nanoTime() - begin) / 1e3 / REPEATS;
+    }
+}
@@ -0,0 +1,85 @@
+package com.solvd.buildingcompany.examples;
+
+import com.solvd.buildingcompany.interfaces.TeamFilter;
+import com.solvd.buildingcompany.models.ConstructionTeam;
+import com.solvd.buildingcompany.models.workers.AbstractConstructionTeamMember;
+import com.solvd.buildingcompany.models.workers.Builder;
+import com.solvd.buildingcompany.models.workers.Electrician;
+import com.solvd.buildingcompany.models.workers.Plumber;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Measures filter queries on a large roster: a loop testing every member against
+ * ConstructionTeam.findMembers, which narrows the candidates through the position,
+ * certification and experience indexes. The lambda row has no index, so both sides scan;
+ * findMembers walks the member list directly instead of the unmodifiable view getMembers returns.
+ */
+public class TeamFilterBenchmark {
+    private static final Logger LOGGER = LogManager.getLogger(TeamFilterBenchmark.class);
+    private static final int ROSTER_SIZE = 100_000;
+    private static final int REPEATS = 200;
+    private static final String[] POSITIONS = {
+            "Builder", "Plumber", "Electrician", "Carpenter", "Roofer", "Welder", "Painter", "Glazier",
+            "Mason", "Tiler", "Crane Operator", "Surveyor", "Foreman", "Insulator", "Plasterer", "Scaffolder"
+    };
+
+    public static void main(String[] args) {
+        ConstructionTeam<AbstractConstructionTeamMember> team = new ConstructionTeam<>();
+        for (int i = 0; i < ROSTER_SIZE; i++) {
+            AbstractConstructionTeamMember member = switch (i % 3) {
+                case 0 -> new Builder("Builder-" + i, "mason", 40 + i % 10);
+                case 1 -> new Plumber("Plumber-" + i, i % 2 == 0, 35 + i % 10);
+                default -> new Electrician("Electrician-" + i, i % 4 == 0 ? 500 : 1500, 50 + i % 10);
+            };
+            member.setPosition(POSITIONS[(i * 7) % POSITIONS.length]);
+            member.setExperienceLevel(i % 41);
+            team.addMember(member);
+        }
+
+        System.out.println("\n=== Filter queries over " + ROSTER_SIZE + " members (ms per query) ===");
+        System.out.printf("%-44s %10s %10s %8s%n", "filter", "scan", "planned", "matches");
+        compare(team, "position Crane Operator", TeamFilter.position("Crane Operator"));
+        compare(team, "experience 38..40 and certified",
+                TeamFilter.<AbstractConstructionTeamMember>experienceBetween(38, 40).and(TeamFilter.certified()));
+        compare(team, "Surveyor or Glazier, not experience >= 20",
+                TeamFilter.<AbstractConstructionTeamMember>position("Surveyor")
+                        .or(TeamFilter.position("Glazier"))
+                        .and(TeamFilter.<AbstractConstructionTeamMember>experienceAtLeast(20).negate()));
+        compare(team, "lambda: hourly rate > 55 (no index)", member -> member.getHourlyRate() > 55);
+    }
+
+    private static void compare(ConstructionTeam<AbstractConstructionTeamMember> team, String label,
+                                TeamFilter<AbstractConstructionTeamMember> filter) {
+        // Plain loop rather than a stream, so the comparison isolates the index planning
+        double scan = time(() -> {
+            List<AbstractConstructionTeamMember> matches = new ArrayList<>();
+            for (AbstractConstructionTeamMember member : team.getMembers()) {
+                if (filter.test(member)) {
+                    matches.add(member);
+                }
+            }
+            return matches;
+        });
+        double planned = time(() -> team.findMembers(filter));
+        System.out.printf("%-44s %10.3f %10.3f %8d%n", label, scan, planned, team.countMembers(filter));
+    }
+
+    // Average milliseconds per query after a warm-up
+    private static double time(Supplier<List<AbstractConstructionTeamMember>> query) {
+        for (int i = 0; i < REPEATS; i++) {
+            query.get();
+        }
+        long begin = System.nanoTime();
+        long results = 0;
+        for (int i = 0; i < REPEATS; i++) {
+            results += query.get().size();
+        }
+        LOGGER.debug("{} results over {} repeats", results, REPEATS);
+        return (System.nanoTime() - begin) / 1e6 / REPEATS;
+    }
+}
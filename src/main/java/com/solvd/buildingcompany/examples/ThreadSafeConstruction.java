@@ -2,6 +2,7 @@ package com.solvd.buildingcompany.examples;
 
 import com.solvd.buildingcompany.annotations.BuildingOperation;
 import com.solvd.buildingcompany.annotations.Priority;
+import com.solvd.buildingcompany.collections.ConcurrentTaskList;
 import com.solvd.buildingcompany.exceptions.ProjectSizeTooLargeException;
 import com.solvd.buildingcompany.models.ConstructionTeam;
 import com.solvd.buildingcompany.models.Project;
@@ -54,6 +55,8 @@ public class ThreadSafeConstruction {
             // Create thread pool for construction work simulation
             ExecutorService executor = Executors.newFixedThreadPool(PROJECT_COUNT);
             CountDownLatch latch = new CountDownLatch(PROJECT_COUNT);
+            // Milestones reported by all project threads, shared without a global lock
+            final ConcurrentTaskList<String> completedTasks = new ConcurrentTaskList<>();
             final CyclicBarrier barrier = new CyclicBarrier(PROJECT_COUNT, () -> {
                 MessageLogger.getInstance().logMessage("Coordinator", MessageType.SYSTEM, 
                     "All teams reached checkpoint! Moving to next phase.");
@@ -89,6 +92,7 @@ public class ThreadSafeConstruction {
                         // Synchronization: wait for all threads to reach this point
                         logger.logMessage(threadName, MessageType.SYSTEM, 
                             "Preparation complete, waiting for other teams");
+                        completedTasks.add(threadName + ": preparation");
                         barrier.await(5, TimeUnit.SECONDS);
 
                         // Phase 2: Foundation construction
@@ -106,6 +110,7 @@ public class ThreadSafeConstruction {
                         // Synchronization: wait for all threads to reach this point
                         logger.logMessage(threadName, MessageType.SYSTEM, 
                             "Foundation complete, waiting for other teams");
+                        completedTasks.add(threadName + ": foundation");
                         barrier.await(5, TimeUnit.SECONDS);
 
                         // Phase 3: Wall construction
@@ -122,6 +127,7 @@ public class ThreadSafeConstruction {
                                 "Issue resolved, continuing construction");
                         }
 
+                        completedTasks.add(threadName + ": walls");
                         logger.logMessage(threadName, MessageType.INFO, 
                             "Project '" + project.getName() + "' successfully completed!");
 
@@ -146,6 +152,7 @@ public class ThreadSafeConstruction {
             System.out.println("\n========================================================");
             System.out.println("      THREAD-SAFE CONSTRUCTION SIMULATION COMPLETED");
             System.out.println("      Total messages logged: " + logger.getMessageCount());
+            System.out.println("      Completed milestones: " + completedTasks.size());
             System.out.println("========================================================\n");
 
             // Complete logging
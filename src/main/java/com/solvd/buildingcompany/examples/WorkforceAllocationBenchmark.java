@@ -0,0 +1,88 @@
+package com.solvd.buildingcompany.examples;
+
+import com.solvd.buildingcompany.exceptions.InsufficientTeamSizeException;
+import com.solvd.buildingcompany.models.ConstructionSite;
+import com.solvd.buildingcompany.models.SiteStaffingRequirement;
+import com.solvd.buildingcompany.models.WorkforceAllocation;
+import com.solvd.buildingcompany.models.workers.AbstractConstructionTeamMember;
+import com.solvd.buildingcompany.models.workers.Builder;
+import com.solvd.buildingcompany.models.workers.Electrician;
+import com.solvd.buildingcompany.models.workers.Plumber;
+import com.solvd.buildingcompany.services.WorkforceAllocator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Staffs several hundred sites with different monthly hours from a shared workforce and
+ * compares the greedy allocation with the searched one for growing time budgets and
+ * numbers of search tasks. More tasks only shorten the search when the pool has the cores for them.
+ */
+public class WorkforceAllocationBenchmark {
+    private static final int SITES = 400;
+    private static final int WORKFORCE_SIZE = 5_000;
+    private static final String[] POSITIONS = {"Builder", "Plumber", "Electrician", "Carpenter", "Roofer", "Welder"};
+    private static final int[] MONTHLY_HOURS = {80, 120, 160, 200};
+    private static final long[] BUDGETS_MS = {0, 50, 200, 1_000};
+    private static final int[] SEARCH_TASKS = {1, 4};
+
+    public static void main(String[] args) throws InsufficientTeamSizeException {
+        List<AbstractConstructionTeamMember> workforce = createWorkforce();
+        List<SiteStaffingRequirement> requirements = createRequirements();
+        // Untimed run first, so the search is compiled before it is measured
+        new WorkforceAllocator(Duration.ofMillis(500)).allocate(workforce, requirements);
+
+        System.out.println("\n=== Staffing " + SITES + " sites from " + WORKFORCE_SIZE + " workers (monthly cost) ===");
+        System.out.printf("%10s %6s %14s %14s %8s %10s %12s%n",
+                "budget ms", "tasks", "greedy", "searched", "saved", "took ms", "moves");
+        for (long budget : BUDGETS_MS) {
+            for (int tasks : SEARCH_TASKS) {
+                WorkforceAllocator allocator = new WorkforceAllocator(Duration.ofMillis(budget));
+                allocator.setSearchTasks(tasks);
+                long begin = System.nanoTime();
+                WorkforceAllocation<AbstractConstructionTeamMember> allocation = allocator.allocate(workforce, requirements);
+                double took = (System.nanoTime() - begin) / 1e6;
+                System.out.printf("%10d %6d %14.0f %14.0f %7.2f%% %10.1f %12d%n",
+                        budget, tasks, allocation.getInitialCost(), allocation.getTotalCost(),
+                        100 * (1 - allocation.getTotalCost() / allocation.getInitialCost()), took,
+                        allocation.getMovesTried());
+            }
+        }
+    }
+
+    private static List<AbstractConstructionTeamMember> createWorkforce() {
+        // Positions independent of rates, so the cheapest workers are spread over every position
+        Random random = new Random(42);
+        List<AbstractConstructionTeamMember> workforce = new ArrayList<>(WORKFORCE_SIZE);
+        for (int i = 0; i < WORKFORCE_SIZE; i++) {
+            AbstractConstructionTeamMember member = switch (i % 3) {
+                case 0 -> new Builder("Builder-" + i, "mason", 20 + random.nextInt(40));
+                case 1 -> new Plumber("Plumber-" + i, random.nextBoolean(), 20 + random.nextInt(40));
+                default -> new Electrician("Electrician-" + i, random.nextBoolean() ? 500 : 1500, 20 + random.nextInt(40));
+            };
+            member.setPosition(POSITIONS[random.nextInt(POSITIONS.length)]);
+            member.setExperienceLevel(random.nextInt(5));
+            workforce.add(member);
+        }
+        return workforce;
+    }
+
+    private static List<SiteStaffingRequirement> createRequirements() {
+        Random random = new Random(7);
+        List<SiteStaffingRequirement> requirements = new ArrayList<>(SITES);
+        for (int i = 0; i < SITES; i++) {
+            ConstructionSite site = new ConstructionSite(null, null, "Site-" + i);
+            SiteStaffingRequirement requirement = new SiteStaffingRequirement(site,
+                    MONTHLY_HOURS[random.nextInt(MONTHLY_HOURS.length)]);
+            for (String position : POSITIONS) {
+                if (random.nextInt(3) == 0) {
+                    requirement.requirePosition(position, 1 + random.nextInt(3));
+                }
+            }
+            requirements.add(requirement);
+        }
+        return requirements;
+    }
+}
@@ -0,0 +1,19 @@
+package com.solvd.buildingcompany.interfaces;
+
+import com.solvd.buildingcompany.exceptions.InvalidMaterialException;
+import com.solvd.buildingcompany.models.BuildingMaterial;
+
+/**
+ * Functional interface for the source of truth behind a material cache,
+ * such as a pricing service or a MaterialInventory
+ */
+@FunctionalInterface
+public interface MaterialLoader<T extends BuildingMaterial> {
+    /**
+     * Loads the current version of a material
+     * @param name The material name
+     * @return The material, or null if the source does not know it
+     * @throws InvalidMaterialException if the source fails to produce the material
+     */
+    T load(String name) throws InvalidMaterialException;
+}
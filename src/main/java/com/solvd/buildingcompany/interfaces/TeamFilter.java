@@ -3,7 +3,10 @@ package com.solvd.buildingcompany.interfaces;
 import com.solvd.buildingcompany.models.workers.AbstractConstructionTeamMember;
 
 /**
- * Functional interface for filtering team members
+ * Functional interface for filtering team members.
+ * Filters built from the factories and combinators below keep their structure,
+ * so ConstructionTeam can answer them from its indexes instead of testing every member;
+ * plain lambdas always work too, they are just tested member by member
  */
 @FunctionalInterface
 public interface TeamFilter<T extends AbstractConstructionTeamMember> {
@@ -13,4 +16,83 @@ public interface TeamFilter<T extends AbstractConstructionTeamMember> {
      * @return true if the member matches, false otherwise
      */
     boolean test(T member);
+
+    default TeamFilter<T> and(TeamFilter<T> other) {
+        return new And<>(this, other);
+    }
+
+    default TeamFilter<T> or(TeamFilter<T> other) {
+        return new Or<>(this, other);
+    }
+
+    default TeamFilter<T> negate() {
+        return new Not<>(this);
+    }
+
+    static <T extends AbstractConstructionTeamMember> TeamFilter<T> position(String position) {
+        return new Position<>(position);
+    }
+
+    static <T extends AbstractConstructionTeamMember> TeamFilter<T> certified() {
+        return new Certified<>();
+    }
+
+    /**
+     * @param minExperience Lowest matching experience level, inclusive
+     * @param maxExperience Highest matching experience level, inclusive
+     */
+    static <T extends AbstractConstructionTeamMember> TeamFilter<T> experienceBetween(int minExperience,
+                                                                                        int maxExperience) {
+        return new ExperienceRange<>(minExperience, maxExperience);
+    }
+
+    static <T extends AbstractConstructionTeamMember> TeamFilter<T> experienceAtLeast(int minExperience) {
+        return new ExperienceRange<>(minExperience, Integer.MAX_VALUE);
+    }
+
+    record Position<T extends AbstractConstructionTeamMember>(String position) implements TeamFilter<T> {
+        @Override
+        public boolean test(T member) {
+            return position.equals(member.getPosition());
+        }
+    }
+
+    record Certified<T extends AbstractConstructionTeamMember>() implements TeamFilter<T> {
+        @Override
+        public boolean test(T member) {
+            return member.isCertified();
+        }
+    }
+
+    record ExperienceRange<T extends AbstractConstructionTeamMember>(int minExperience, int maxExperience)
+            implements TeamFilter<T> {
+        @Override
+        public boolean test(T member) {
+            int experience = member.getExperienceLevel();
+            return experience >= minExperience && experience <= maxExperience;
+        }
+    }
+
+    record And<T extends AbstractConstructionTeamMember>(TeamFilter<T> left, TeamFilter<T> right)
+            implements TeamFilter<T> {
+        @Override
+        public boolean test(T member) {
+            return left.test(member) && right.test(member);
+        }
+    }
+
+    record Or<T extends AbstractConstructionTeamMember>(TeamFilter<T> left, TeamFilter<T> right)
+            implements TeamFilter<T> {
+        @Override
+        public boolean test(T member) {
+            return left.test(member) || right.test(member);
+        }
+    }
+
+    record Not<T extends AbstractConstructionTeamMember>(TeamFilter<T> filter) implements TeamFilter<T> {
+        @Override
+        public boolean test(T member) {
+            return !filter.test(member);
+        }
+    }
 }
@@ -0,0 +1,24 @@
+package com.solvd.buildingcompany.interfaces;
+
+import com.solvd.buildingcompany.models.workers.AbstractWorker;
+
+/**
+ * Functional interface for objects that keep derived data about workers,
+ * such as team aggregates, and must hear about changes to them
+ */
+@FunctionalInterface
+public interface WorkerChangeListener {
+    /**
+     * Called after a setter changed the worker
+     * @param worker The changed worker
+     */
+    void workerChanged(AbstractWorker worker);
+
+    /**
+     * @return true once the listener no longer needs changes, e.g. because what it
+     * updated was garbage collected; the worker then drops it
+     */
+    default boolean isDetached() {
+        return false;
+    }
+}
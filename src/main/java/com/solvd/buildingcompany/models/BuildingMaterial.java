@@ -12,6 +12,8 @@ public record BuildingMaterial(
 ) implements CostCalculatable {
 
     private static final Logger LOGGER = LogManager.getLogger(BuildingMaterial.class);
+    // Quantity calculateCost assumes until orders carry real quantities
+    public static final int ASSUMED_QUANTITY = 100;
 
     public BuildingMaterial {
         if (name == null || name.trim().isEmpty()) {
@@ -29,7 +31,7 @@ public record BuildingMaterial(
     @Override
     public double calculateCost() {
         // Simplified calculation - in real app would include quantity
-        double cost = pricePerUnit * 100; // Assume 100 units
+        double cost = pricePerUnit * ASSUMED_QUANTITY;
         LOGGER.debug("Material {} cost calculated: ${}", name, cost);
         return cost;
     }
@@ -0,0 +1,388 @@
+package com.solvd.buildingcompany.models;
+
+import com.solvd.buildingcompany.interfaces.TeamFilter;
+import com.solvd.buildingcompany.models.workers.AbstractConstructionTeamMember;
+import com.solvd.buildingcompany.models.workers.AbstractWorker;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe counterpart of {@link ConstructionTeam} for teams that sites and calculators
+ * read from many threads while HR updates them. Writers are serialized by a lock, update
+ * the {@link TeamIndex} inherited from ConstructionTeam and publish a new immutable
+ * {@link View} through a volatile field; only the member list and the lists of the
+ * positions that changed are copied.
+ * Readers never lock: every getter reads one published view, and {@link #view()} hands
+ * one out so several queries can be answered from the same consistent state.
+ * Member fields are still read live, but every member setter publishes a new view.
+ */
+public class ConcurrentConstructionTeam<T extends AbstractConstructionTeamMember> extends ConstructionTeam<T> {
+    private static final Logger LOGGER = LogManager.getLogger(ConcurrentConstructionTeam.class);
+
+    // Guards the inherited index
+    private final ReentrantLock writeLock;
+    private volatile View<T> view;
+    // Hours the writers keep the team cost for; readers asking for other hours move it
+    private volatile int requestedCostHours;
+
+    /**
+     * Immutable state of the team at one point in time
+     */
+    public static final class View<T extends AbstractConstructionTeamMember> {
+        private final List<T> members;
+        private final Map<String, List<T>> membersByPosition;
+        private final Set<String> uniqueSpecializations;
+        private final Map<String, Integer> certifiedCountByPosition;
+        private final T teamLead;
+        // Team cost kept by the writers, or computed by the first reader asking for other hours
+        private volatile TeamCost teamCost;
+        // Members most experienced first, built by the first experience query on this view
+        private volatile ExperienceOrder<T> experienceOrder;
+
+        private View(List<T> members, Map<String, List<T>> membersByPosition, Set<String> uniqueSpecializations,
+                     Map<String, Integer> certifiedCountByPosition, T teamLead, TeamCost teamCost) {
+            this.members = members;
+            this.membersByPosition = membersByPosition;
+            this.uniqueSpecializations = uniqueSpecializations;
+            this.certifiedCountByPosition = certifiedCountByPosition;
+            this.teamLead = teamLead;
+            this.teamCost = teamCost;
+        }
+
+        public List<T> getMembers() {
+            return members;
+        }
+
+        public List<T> getMembersByPosition(String position) {
+            return membersByPosition.getOrDefault(position, Collections.emptyList());
+        }
+
+        public Set<String> getUniqueSpecializations() {
+            return uniqueSpecializations;
+        }
+
+        public int getSize() {
+            return members.size();
+        }
+
+        public T getTeamLead() {
+            return teamLead;
+        }
+
+        public boolean hasQualifiedMember(String position) {
+            return certifiedCountByPosition.getOrDefault(position, 0) > 0;
+        }
+
+        public int getCertifiedCount(String position) {
+            return certifiedCountByPosition.getOrDefault(position, 0);
+        }
+
+        public Map<String, Long> getMemberCountByPosition() {
+            Map<String, Long> counts = new HashMap<>();
+            membersByPosition.forEach((position, positionMembers) -> counts.put(position, (long) positionMembers.size()));
+            return counts;
+        }
+
+        // Scans this view's members; views carry no secondary indexes
+        public List<T> findMembers(TeamFilter<? super T> filter) {
+            List<T> matches = new ArrayList<>();
+            for (T member : members) {
+                if (filter.test(member)) {
+                    matches.add(member);
+                }
+            }
+            return matches;
+        }
+
+        /**
+         * @return Members with experience level in [minExperience, maxExperience], most
+         * experienced first, earlier joiners first on ties; a sub-list of this view's experience order
+         */
+        public List<T> getMembersWithExperience(int minExperience, int maxExperience) {
+            if (minExperience > maxExperience) {
+                return Collections.emptyList();
+            }
+            ExperienceOrder<T> order = experienceOrder();
+            int from = firstBelow(order.levels(), maxExperience, true);
+            int to = firstBelow(order.levels(), minExperience, false);
+            return order.members().subList(from, Math.max(from, to));
+        }
+
+        public int countMembersWithExperience(int minExperience, int maxExperience) {
+            return getMembersWithExperience(minExperience, maxExperience).size();
+        }
+
+        private ExperienceOrder<T> experienceOrder() {
+            ExperienceOrder<T> order = experienceOrder;
+            if (order == null) {
+                // Read every level once, so the sort never sees a level change under it
+                List<RankedMember<T>> ranked = new ArrayList<>(members.size());
+                for (int i = 0; i < members.size(); i++) {
+                    ranked.add(new RankedMember<>(members.get(i), members.get(i).getExperienceLevel(), i));
+                }
+                ranked.sort((a, b) -> a.experienceLevel() != b.experienceLevel()
+                        ? Integer.compare(b.experienceLevel(), a.experienceLevel())
+                        : Integer.compare(a.joinIndex(), b.joinIndex()));
+                List<T> orderedMembers = new ArrayList<>(ranked.size());
+                int[] levels = new int[ranked.size()];
+                for (int i = 0; i < ranked.size(); i++) {
+                    orderedMembers.add(ranked.get(i).member());
+                    levels[i] = ranked.get(i).experienceLevel();
+                }
+                order = new ExperienceOrder<>(Collections.unmodifiableList(orderedMembers), levels);
+                experienceOrder = order;
+            }
+            return order;
+        }
+
+        // First index whose level is below the bound, or at it when inclusive; levels run descending
+        private static int firstBelow(int[] levels, int bound, boolean inclusive) {
+            int low = 0;
+            int high = levels.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (levels[mid] < bound || inclusive && levels[mid] == bound) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        public double calculateTeamCost(int hours) {
+            TeamCost cost = teamCost;
+            if (cost == null || cost.hours() != hours) {
+                double sum = 0;
+                for (T member : members) {
+                    sum += member.calculateMonthlySalary(hours);
+                }
+                cost = new TeamCost(hours, sum);
+                teamCost = cost;
+            }
+            return cost.cost();
+        }
+
+        private record TeamCost(int hours, double cost) {
+        }
+
+        private record ExperienceOrder<T>(List<T> members, int[] levels) {
+        }
+
+        private record RankedMember<T>(T member, int experienceLevel, int joinIndex) {
+        }
+    }
+
+    public ConcurrentConstructionTeam() {
+        this.writeLock = new ReentrantLock();
+        this.requestedCostHours = -1;
+        this.view = new View<>(List.of(), Map.of(), Collections.emptySet(), Map.of(), null, null);
+        LOGGER.debug("Concurrent construction team created");
+    }
+
+    /**
+     * @return The current state; it never changes, later writes publish a new one
+     */
+    public View<T> view() {
+        return view;
+    }
+
+    @Override
+    public void addMember(T member) {
+        writeLock.lock();
+        try {
+            int size = index().size();
+            super.addMember(member);
+            if (index().size() != size) {
+                publish(true, Set.of(index().positionOf(member)));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds the members under one lock and publishes a single view for the whole batch,
+     * rather than one view, and one copy of the member list, per member
+     */
+    @Override
+    public int addAll(Collection<? extends T> newMembers) {
+        writeLock.lock();
+        try {
+            int added = super.addAll(newMembers);
+            if (added > 0) {
+                // Members that were already in the team add their position too, which only costs a copy
+                Set<String> changedPositions = new LinkedHashSet<>();
+                for (T member : newMembers) {
+                    changedPositions.add(index().positionOf(member));
+                }
+                publish(true, changedPositions);
+            }
+            return added;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeMember(T member) {
+        writeLock.lock();
+        try {
+            String position = index().positionOf(member);
+            if (!super.removeMember(member)) {
+                return false;
+            }
+            publish(true, Set.of(position));
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void dissolve() {
+        writeLock.lock();
+        try {
+            Set<String> positions = view.getUniqueSpecializations();
+            super.dissolve();
+            publish(true, positions);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<T> getMembers() {
+        return view.getMembers();
+    }
+
+    @Override
+    public List<T> getMembersByPosition(String position) {
+        return view.getMembersByPosition(position);
+    }
+
+    @Override
+    public Set<String> getUniqueSpecializations() {
+        return view.getUniqueSpecializations();
+    }
+
+    @Override
+    public int getSize() {
+        return view.getSize();
+    }
+
+    @Override
+    public boolean hasQualifiedMember(String position) {
+        return view.hasQualifiedMember(position);
+    }
+
+    @Override
+    public int getCertifiedCount(String position) {
+        return view.getCertifiedCount(position);
+    }
+
+    @Override
+    public double calculateTeamCost(int hours) {
+        // Later writes keep the cost for these hours up to date instead of leaving it to readers
+        requestedCostHours = hours;
+        return view.calculateTeamCost(hours);
+    }
+
+    @Override
+    public T getTeamLead() {
+        return view.getTeamLead();
+    }
+
+    // Views of one published state: they do not follow later writes, unlike ConstructionTeam's
+    @Override
+    public List<T> getMembersWithExperienceAbove(int minExperience) {
+        return minExperience == Integer.MAX_VALUE
+                ? Collections.emptyList()
+                : view.getMembersWithExperience(minExperience + 1, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<T> getMembersWithExperience(int minExperience, int maxExperience) {
+        return view.getMembersWithExperience(minExperience, maxExperience);
+    }
+
+    @Override
+    public int countMembersWithExperience(int minExperience, int maxExperience) {
+        return view.countMembersWithExperience(minExperience, maxExperience);
+    }
+
+    @Override
+    public Map<String, Long> getMemberCountByPosition() {
+        return view.getMemberCountByPosition();
+    }
+
+    @Override
+    public List<T> findMembers(TeamFilter<? super T> filter) {
+        return view.findMembers(filter);
+    }
+
+    @Override
+    public int countMembers(TeamFilter<? super T> filter) {
+        return view.findMembers(filter).size();
+    }
+
+    @Override
+    void onMemberChanged(AbstractWorker worker) {
+        writeLock.lock();
+        try {
+            String oldPosition = index().positionOf(worker);
+            if (oldPosition == null) {
+                return;
+            }
+            super.onMemberChanged(worker);
+            String position = index().positionOf(worker);
+            publish(false, oldPosition.equals(position) ? Set.of() : Set.of(oldPosition, position));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Builds the next view, reusing the previous view's member list and the lists of unchanged positions
+    private void publish(boolean membershipChanged, Set<String> changedPositions) {
+        TeamIndex<T> index = index();
+        int hours = requestedCostHours;
+        View.TeamCost cost = hours >= 0 ? new View.TeamCost(hours, index.calculateTeamCost(hours)) : null;
+        View<T> previous = view;
+        Map<String, List<T>> positionLists = previous.membersByPosition;
+        Set<String> specializations = previous.uniqueSpecializations;
+        if (!changedPositions.isEmpty()) {
+            positionLists = new HashMap<>(positionLists);
+            specializations = new LinkedHashSet<>(specializations);
+            for (String position : changedPositions) {
+                List<T> positionMembers = index.getMembersByPosition(position);
+                if (positionMembers.isEmpty()) {
+                    positionLists.remove(position);
+                    specializations.remove(position);
+                } else {
+                    positionLists.put(position, List.copyOf(positionMembers));
+                    specializations.add(position);
+                }
+            }
+            positionLists = Collections.unmodifiableMap(positionLists);
+            specializations = Collections.unmodifiableSet(specializations);
+        }
+        view = new View<>(
+                membershipChanged ? List.copyOf(index.getMembers()) : previous.members,
+                positionLists,
+                specializations,
+                Map.copyOf(index.getCertifiedCounts()),
+                index.getTeamLead(),
+                cost);
+    }
+
+    @Override
+    public String toString() {
+        View<T> current = view;
+        return String.format("ConcurrentConstructionTeam: %d members, %d specializations",
+                current.getSize(), current.getUniqueSpecializations().size());
+    }
+}
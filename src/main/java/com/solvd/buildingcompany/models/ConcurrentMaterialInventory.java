@@ -0,0 +1,201 @@
+package com.solvd.buildingcompany.models;
+
+import com.solvd.buildingcompany.collections.ConcurrentTaskList;
+import com.solvd.buildingcompany.persistence.InventorySnapshot;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Thread-safe counterpart of {@link MaterialInventory} for sites that share one inventory.
+ * The catalog and the supplier set are concurrent hash structures and the order queue
+ * is lock-free. Stock entries are grouped per material name, and addMaterial/removeMaterial
+ * update the catalog and the stock group inside one ConcurrentHashMap.compute call,
+ * so writers only contend when they touch the same material name.
+ * Getters return read-only views or snapshots instead of the internal collections.
+ */
+public class ConcurrentMaterialInventory<T extends BuildingMaterial> {
+    private static final Logger LOGGER = LogManager.getLogger(ConcurrentMaterialInventory.class);
+
+    private final ConcurrentHashMap<String, T> materialCatalog;
+    private final Set<String> suppliers;
+    private final Queue<T> pendingOrders;
+    // Per-name stock groups are immutable lists, replaced on every change
+    private final ConcurrentHashMap<String, List<T>> stockByName;
+    private final AtomicInteger stockCount;
+    private final InventoryValuation valuation;
+
+    public ConcurrentMaterialInventory() {
+        this.materialCatalog = new ConcurrentHashMap<>();
+        this.suppliers = ConcurrentHashMap.newKeySet();
+        this.pendingOrders = new ConcurrentTaskList<>();
+        this.stockByName = new ConcurrentHashMap<>();
+        this.stockCount = new AtomicInteger();
+        this.valuation = new InventoryValuation();
+        LOGGER.debug("Created new concurrent material inventory");
+    }
+
+    public void addMaterial(T material) {
+        String name = material.name();
+        stockByName.compute(name, (key, stock) -> {
+            List<T> updated = new ArrayList<>(stock == null ? 1 : stock.size() + 1);
+            if (stock != null) {
+                updated.addAll(stock);
+            }
+            updated.add(material);
+            materialCatalog.put(key, material);
+            stockCount.incrementAndGet();
+            valuation.add(material);
+            return Collections.unmodifiableList(updated);
+        });
+        LOGGER.debug("Added material to inventory: {}", name);
+    }
+
+    public T getMaterial(String name) {
+        LOGGER.debug("Retrieving material: {}", name);
+        return materialCatalog.get(name);
+    }
+
+    public boolean removeMaterial(String name) {
+        boolean[] removed = new boolean[1];
+        stockByName.computeIfPresent(name, (key, stock) -> {
+            materialCatalog.remove(key);
+            stockCount.addAndGet(-stock.size());
+            stock.forEach(valuation::subtract);
+            removed[0] = true;
+            return null;
+        });
+        if (removed[0]) {
+            LOGGER.debug("Removed material from inventory: {}", name);
+            return true;
+        }
+        LOGGER.debug("Material not found in inventory: {}", name);
+        return false;
+    }
+
+    public void addSupplier(String supplier) {
+        suppliers.add(supplier);
+        LOGGER.debug("Added supplier: {}", supplier);
+    }
+
+    public Set<String> getSuppliers() {
+        return Collections.unmodifiableSet(suppliers);
+    }
+
+    public void orderMaterial(T material) {
+        pendingOrders.add(material);
+        LOGGER.debug("Added material to order queue: {}", material.name());
+    }
+
+    public T processPendingOrder() {
+        T material = pendingOrders.poll();
+        if (material != null) {
+            LOGGER.debug("Processed pending order: {}", material.name());
+        } else {
+            LOGGER.debug("No pending orders to process");
+        }
+        return material;
+    }
+
+    // Polls up to max orders; the queue is unbounded, use MaterialInventory's pipeline for a bounded one
+    public int drainPendingOrders(int max, Consumer<? super T> consumer) {
+        int drained = 0;
+        T material;
+        while (drained < max && (material = pendingOrders.poll()) != null) {
+            consumer.accept(material);
+            drained++;
+        }
+        LOGGER.debug("Drained {} pending orders", drained);
+        return drained;
+    }
+
+    public Map<String, T> getMaterialCatalog() {
+        return Collections.unmodifiableMap(materialCatalog);
+    }
+
+    public Collection<T> getPendingOrders() {
+        return Collections.unmodifiableCollection(pendingOrders);
+    }
+
+    /**
+     * Copies the current stock entries, grouped by material name
+     * @return Snapshot of the stock items
+     */
+    public List<T> getStockItems() {
+        List<T> snapshot = new ArrayList<>(stockCount.get());
+        for (List<T> stock : stockByName.values()) {
+            snapshot.addAll(stock);
+        }
+        return snapshot;
+    }
+
+    public int getTotalInventoryCount() {
+        return stockCount.get();
+    }
+
+    /**
+     * Reads the running total maintained by addMaterial/removeMaterial, O(1).
+     * While writers are active the value may lag the latest update by a moment
+     * @return Total value of all stock items
+     */
+    public double calculateTotalInventoryValue() {
+        double total = valuation.getTotal();
+        LOGGER.debug("Total inventory value: ${}", total);
+        return total;
+    }
+
+    public double calculateInventoryValue(String unitType) {
+        return valuation.getTotal(unitType);
+    }
+
+    public Map<String, Double> getInventoryValueByUnitType() {
+        return valuation.getTotalsByUnitType();
+    }
+
+    /**
+     * Recomputes the total from scratch, O(n); prefer calculateTotalInventoryValue
+     * @return Total value of all stock items
+     */
+    public double recalculateTotalInventoryValue() {
+        return stockByName.values().stream()
+                .flatMap(List::stream)
+                .mapToDouble(BuildingMaterial::calculateCost)
+                .sum();
+    }
+
+    /**
+     * Checks the running valuation against a full recompute.
+     * Only meaningful while no writer is active
+     * @return true if both agree within rounding tolerance
+     */
+    public boolean verifyInventoryValuation() {
+        return valuation.isConsistentWith(getStockItems());
+    }
+
+    /**
+     * Writes a snapshot straight from the weakly consistent concurrent views,
+     * so readers and writers keep running while it is written. Each section
+     * reflects the inventory at some point during the write
+     * @param path Snapshot file, replaced atomically
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void writeSnapshot(Path path) throws IOException {
+        InventorySnapshot.write(path, materialCatalog.values(), getStockItems(), suppliers, pendingOrders);
+    }
+
+    // Removes every material present when the traversal reaches it
+    public void clearInventory() {
+        for (String name : stockByName.keySet()) {
+            removeMaterial(name);
+        }
+        pendingOrders.clear();
+        LOGGER.debug("Cleared inventory");
+    }
+}
@@ -0,0 +1,174 @@
+package com.solvd.buildingcompany.models;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe counterpart of {@link ProjectSchedule} for planners sharing one schedule.
+ * Projects and end dates live in ConcurrentSkipListMaps, so getProject, getNextProject,
+ * getProjectsBetweenDates and the other lookups by start date never lock, and range scans
+ * run while planners write. Whether a project fits depends on every project whose days
+ * overlap it, not on one key, so writers are serialized by a lock: claimNextAvailableDate,
+ * scheduleIfAvailable and moveProject check and book in one step, and no two of them can
+ * give out the same days. Availability and overlap queries read the project intervals under the
+ * matching read lock.
+ * A moved project is added at its new date before it is removed from the old one, so
+ * scans may briefly see it twice but never miss it.
+ */
+public class ConcurrentProjectSchedule<T extends Project> extends ProjectSchedule<T> {
+    private static final Logger LOGGER = LogManager.getLogger(ConcurrentProjectSchedule.class);
+
+    private final ReentrantReadWriteLock lock;
+    // Kept by the writers, as ConcurrentSkipListMap.size() walks the whole map
+    private volatile int projectCount;
+
+    public ConcurrentProjectSchedule() {
+        super(new ConcurrentSkipListMap<>(), new ConcurrentSkipListMap<>());
+        this.lock = new ReentrantReadWriteLock();
+        LOGGER.debug("Created new concurrent project schedule");
+    }
+
+    @Override
+    public void setScheduledProjects(NavigableMap<LocalDate, T> scheduledProjects) {
+        lock.writeLock().lock();
+        try {
+            super.setScheduledProjects(scheduledProjects);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void scheduleProject(LocalDate startDate, T project) {
+        lock.writeLock().lock();
+        try {
+            // A project replaced on this date was already subtracted by removeScheduledProject
+            super.scheduleProject(startDate, project);
+            projectCount++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean scheduleIfAvailable(LocalDate startDate, T project) {
+        lock.writeLock().lock();
+        try {
+            return super.scheduleIfAvailable(startDate, project);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds and books the earliest free window in one step, so concurrent planners never get the same days
+     */
+    @Override
+    public LocalDate claimNextAvailableDate(LocalDate afterDate, T project) {
+        lock.writeLock().lock();
+        try {
+            return super.claimNextAvailableDate(afterDate, project);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean moveProject(LocalDate oldDate, LocalDate newDate, T expectedProject) {
+        lock.writeLock().lock();
+        try {
+            return super.moveProject(oldDate, newDate, expectedProject);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rescheduleProject(LocalDate oldDate, LocalDate newDate) {
+        lock.writeLock().lock();
+        try {
+            super.rescheduleProject(oldDate, newDate);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean removeScheduledProject(LocalDate date) {
+        lock.writeLock().lock();
+        try {
+            boolean removed = super.removeScheduledProject(date);
+            if (removed) {
+                projectCount--;
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clearSchedule() {
+        lock.writeLock().lock();
+        try {
+            super.clearSchedule();
+            projectCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int getScheduledProjectCount() {
+        return projectCount;
+    }
+
+    @Override
+    public List<T> getOverlappingProjects(LocalDate startDate, LocalDate endDate) {
+        lock.readLock().lock();
+        try {
+            return super.getOverlappingProjects(startDate, endDate);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isDateAvailable(LocalDate date) {
+        lock.readLock().lock();
+        try {
+            return super.isDateAvailable(date);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isWindowAvailable(LocalDate startDate, int days) {
+        lock.readLock().lock();
+        try {
+            return super.isWindowAvailable(startDate, days);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The window may be taken by another planner once this returns; claimNextAvailableDate books it as well
+     */
+    @Override
+    public LocalDate getEarliestAvailableWindow(LocalDate afterDate, int days) {
+        lock.readLock().lock();
+        try {
+            return super.getEarliestAvailableWindow(afterDate, days);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -33,15 +33,13 @@ public record ConstructionResult(
         }
     }
 
+    // Answered by the team's filter planner, which uses its indexes where it can
     public <T extends AbstractConstructionTeamMember> long countTeamMembersByFilter(TeamFilter<T> filter) {
-        return team.getMembers().stream()
-                .filter(member -> filter.test((T) member))
-                .count();
+        return typedTeam(filter).countMembers(filter);
     }
 
     public <T extends AbstractConstructionTeamMember> List<String> getTeamMemberNamesByFilter(TeamFilter<T> filter) {
-        return team.getMembers().stream()
-                .filter(member -> filter.test((T) member))
+        return typedTeam(filter).findMembers(filter).stream()
                 .map(AbstractConstructionTeamMember::getName)
                 .collect(Collectors.toList());
     }
@@ -69,6 +67,12 @@ public record ConstructionResult(
         return report;
     }
 
+    // The filter is applied to every member as a T, the same unchecked view the member stream used to take
+    @SuppressWarnings("unchecked")
+    private <T extends AbstractConstructionTeamMember> ConstructionTeam<T> typedTeam(TeamFilter<T> filter) {
+        return (ConstructionTeam<T>) team;
+    }
+
     @Override
     public void exportToPDF(String filename) {
         LOGGER.info("Exporting construction results to {}", filename);
@@ -1,91 +1,274 @@
 package com.solvd.buildingcompany.models;
 
+import com.solvd.buildingcompany.interfaces.TeamFilter;
+import com.solvd.buildingcompany.interfaces.WorkerChangeListener;
 import com.solvd.buildingcompany.models.workers.AbstractConstructionTeamMember;
+import com.solvd.buildingcompany.models.workers.AbstractWorker;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.lang.ref.WeakReference;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
 
+/**
+ * Team of construction workers. Besides the member list it keeps aggregates that the
+ * staffing queries read directly: members ordered by experience (team lead),
+ * certified and total counts per position, and the team cost for the last requested
+ * number of hours. The team listens to its members, so the aggregates stay correct
+ * when a member's setters are called after it joined; the listener only holds the team
+ * weakly, so a team that is dropped is garbage collected even while its members live on. The members and aggregates live in a
+ * {@link TeamIndex}, which ConcurrentConstructionTeam shares and publishes views of.
+ * findMembers and countMembers answer {@link TeamFilter} queries from the position,
+ * certification and experience indexes where the filter's structure allows it, and
+ * getMembersWithExperience returns live views over the experience index.
+ */
 public class ConstructionTeam<T extends AbstractConstructionTeamMember> {
     private static final Logger LOGGER = LogManager.getLogger(ConstructionTeam.class);
 
-    private List<T> members;
-    private Map<String, List<T>> membersByPosition;
-    private Set<String> uniqueSpecializations;
+    private final TeamIndex<T> index;
+    private final WorkerChangeListener changeListener;
+
+    // Registered on every member; holds the team weakly and detaches itself once the team is collected
+    private static class MemberListener implements WorkerChangeListener {
+        private final WeakReference<ConstructionTeam<?>> team;
+
+        public MemberListener(ConstructionTeam<?> team) {
+            this.team = new WeakReference<>(team);
+        }
+
+        @Override
+        public void workerChanged(AbstractWorker worker) {
+            ConstructionTeam<?> owner = team.get();
+            if (owner == null) {
+                worker.removeChangeListener(this);
+                return;
+            }
+            owner.onMemberChanged(worker);
+        }
+
+        @Override
+        public boolean isDetached() {
+            return team.get() == null;
+        }
+    }
+
+    /**
+     * Collects members one at a time, e.g. while reading a workforce file, and adds them
+     * to the team with a single addAll when built
+     */
+    public static class TeamBuilder<T extends AbstractConstructionTeamMember> {
+        private final List<T> pending;
+
+        public TeamBuilder() {
+            this(16);
+        }
+
+        /**
+         * @param expectedSize Number of members expected, so the buffer is sized once
+         */
+        public TeamBuilder(int expectedSize) {
+            this.pending = new ArrayList<>(expectedSize);
+        }
+
+        public TeamBuilder<T> add(T member) {
+            pending.add(member);
+            return this;
+        }
+
+        public TeamBuilder<T> addAll(Collection<? extends T> newMembers) {
+            pending.addAll(newMembers);
+            return this;
+        }
+
+        public ConstructionTeam<T> build() {
+            return build(ConstructionTeam::new);
+        }
+
+        /**
+         * @param teamFactory Creates the empty team to load, e.g. ConcurrentConstructionTeam::new
+         */
+        public <C extends ConstructionTeam<T>> C build(Supplier<C> teamFactory) {
+            C team = teamFactory.get();
+            team.addAll(pending);
+            return team;
+        }
+    }
+
+    public static <T extends AbstractConstructionTeamMember> TeamBuilder<T> builder() {
+        return new TeamBuilder<>();
+    }
+
+    public static <T extends AbstractConstructionTeamMember> TeamBuilder<T> builder(int expectedSize) {
+        return new TeamBuilder<>(expectedSize);
+    }
+
+    /**
+     * Collects a stream of members into a team through a TeamBuilder
+     */
+    public static <T extends AbstractConstructionTeamMember> Collector<T, ?, ConstructionTeam<T>> toTeam() {
+        return Collector.of(TeamBuilder<T>::new, TeamBuilder::add,
+                (left, right) -> left.addAll(right.pending), TeamBuilder::build);
+    }
 
     public ConstructionTeam() {
-        this.members = new ArrayList<>();
-        this.membersByPosition = new HashMap<>();
-        this.uniqueSpecializations = new LinkedHashSet<>();
+        this.index = new TeamIndex<>();
+        this.changeListener = new MemberListener(this);
         LOGGER.debug("Construction team created");
     }
 
     public void addMember(T member) {
-        members.add(member);
+        if (!index.add(member)) {
+            LOGGER.debug("Team member already in team: {}", member.getName());
+            return;
+        }
+        member.addChangeListener(changeListener);
 
-        // Update position map
-        String position = member.getPosition();
-        membersByPosition.computeIfAbsent(position, k -> new ArrayList<>()).add(member);
+        LOGGER.debug("Team member added: {} ({})", member.getName(), member.getPosition());
+    }
+
+    /**
+     * Adds several members in one pass, e.g. when onboarding a workforce from a file.
+     * Members already in the team or listed twice are skipped like in addMember; the rest
+     * join in iteration order. The member list is sized once, position lists and
+     * specializations are updated once per position, and only the batch is logged
+     * @param newMembers Members to add
+     * @return Number of members added
+     */
+    public int addAll(Collection<? extends T> newMembers) {
+        List<T> added = index.addAll(newMembers);
+        for (T member : added) {
+            member.addChangeListener(changeListener);
+        }
+        LOGGER.debug("Team members added in bulk: {} ({} skipped)", added.size(), newMembers.size() - added.size());
+        return added.size();
+    }
 
-        // Track unique specialization
-        uniqueSpecializations.add(member.getPosition());
+    /**
+     * @return true if the member was in the team
+     */
+    public boolean removeMember(T member) {
+        if (!index.remove(member)) {
+            return false;
+        }
+        member.removeChangeListener(changeListener);
+        LOGGER.debug("Team member removed: {} ({})", member.getName(), member.getPosition());
+        return true;
+    }
 
-        LOGGER.debug("Team member added: {} ({})", member.getName(), member.getPosition());
+    /**
+     * Removes every member and stops listening to them. Not needed for a dropped team to be
+     * garbage collected; use it to stop a team that is still referenced from following its members
+     */
+    public void dissolve() {
+        for (T member : index.getMembers()) {
+            member.removeChangeListener(changeListener);
+        }
+        int size = index.size();
+        index.clear();
+        LOGGER.debug("Team dissolved: {} members released", size);
     }
 
+    // Read-only view; use addMember and removeMember to change the team
     public List<T> getMembers() {
-        return members;
+        return index.getMembers();
     }
 
     public List<T> getMembersByPosition(String position) {
-        return membersByPosition.getOrDefault(position, Collections.emptyList());
+        return index.getMembersByPosition(position);
     }
 
     public Set<String> getUniqueSpecializations() {
-        return uniqueSpecializations;
+        return index.getUniqueSpecializations();
     }
 
     public int getSize() {
-        return members.size();
+        return index.size();
     }
 
     public boolean hasQualifiedMember(String position) {
-        boolean result = members.stream()
-                .anyMatch(m -> m.getPosition().equals(position) && m.isCertified());
+        boolean result = index.getCertifiedCount(position) > 0;
         LOGGER.debug("Qualified '{}' check: {}", position, result);
         return result;
     }
 
+    public int getCertifiedCount(String position) {
+        return index.getCertifiedCount(position);
+    }
+
     public double calculateTeamCost(int hours) {
-        double cost = members.stream()
-                .mapToDouble(m -> m.calculateMonthlySalary(hours))
-                .sum();
-        LOGGER.debug("Team cost calculated: ${}", cost);
-        return cost;
+        double teamCost = index.calculateTeamCost(hours);
+        LOGGER.debug("Team cost calculated: ${}", teamCost);
+        return teamCost;
     }
 
     public T getTeamLead() {
-        if (members.isEmpty()) {
-            return null;
-        }
-
-        // Get the member with the highest experience level
-        return members.stream()
-                .max(Comparator.comparingInt(AbstractConstructionTeamMember::getExperienceLevel))
-                .orElse(null);
+        // The member with the highest experience level
+        return index.getTeamLead();
     }
 
     /**
      * Finds team members with experience level greater than specified value
      * @param minExperience The minimum experience level
-     * @return List of members with experience above the threshold
+     * @return List of members with experience above the threshold, in the order they joined
      */
     public List<T> getExperiencedMembers(int minExperience) {
-        return members.stream()
-                .filter(member -> member.getExperienceLevel() > minExperience)
-                .collect(Collectors.toList());
+        // Planned like any filter, so a selective threshold reads the experience index;
+        // getMembersWithExperienceAbove avoids the copy but lists the most experienced first
+        return minExperience == Integer.MAX_VALUE
+                ? new ArrayList<>()
+                : findMembers(TeamFilter.experienceAtLeast(minExperience + 1));
+    }
+
+    /**
+     * Read-only live view of the members with experience level greater than specified value
+     * @param minExperience The minimum experience level, exclusive
+     * @return Members most experienced first, earlier joiners first on ties
+     */
+    public Collection<T> getMembersWithExperienceAbove(int minExperience) {
+        return minExperience == Integer.MAX_VALUE
+                ? Collections.emptyList()
+                : getMembersWithExperience(minExperience + 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Read-only live view of the members with experience level in a range. Nothing is
+     * copied: the view reads the experience index, so later adds, removes and
+     * setExperienceLevel calls show up in it
+     * @param minExperience Lowest experience level, inclusive
+     * @param maxExperience Highest experience level, inclusive
+     * @return Members most experienced first, earlier joiners first on ties
+     */
+    public Collection<T> getMembersWithExperience(int minExperience, int maxExperience) {
+        return index.getMembersWithExperience(minExperience, maxExperience);
+    }
+
+    /**
+     * Counts members with experience level in [minExperience, maxExperience] from the
+     * per-level counts, without visiting the members
+     */
+    public int countMembersWithExperience(int minExperience, int maxExperience) {
+        return index.countMembersWithExperience(minExperience, maxExperience);
+    }
+
+    /**
+     * Members matching the filter, in the order they joined. Factory-built parts of the
+     * filter narrow the candidates through the indexes; every candidate is still tested
+     * against the whole filter, so any filter gives the same result as a full scan
+     * @param filter The filter to apply
+     * @return Matching members
+     */
+    public List<T> findMembers(TeamFilter<? super T> filter) {
+        return index.findMembers(filter);
+    }
+
+    /**
+     * @return Number of members matching the filter, planned like findMembers
+     */
+    public int countMembers(TeamFilter<? super T> filter) {
+        return index.countMembers(filter);
     }
 
     /**
@@ -93,16 +276,22 @@ public class ConstructionTeam<T extends AbstractConstructionTeamMember> {
      * @return Map with positions and counts
      */
     public Map<String, Long> getMemberCountByPosition() {
-        return members.stream()
-                .collect(Collectors.groupingBy(
-                    AbstractConstructionTeamMember::getPosition,
-                    Collectors.counting()
-                ));
+        return index.getMemberCountByPosition();
+    }
+
+    // The index shared with ConcurrentConstructionTeam, which guards it with its own lock
+    TeamIndex<T> index() {
+        return index;
+    }
+
+    // Called by the members' change listener; ConcurrentConstructionTeam takes its lock around it
+    void onMemberChanged(AbstractWorker worker) {
+        index.update(worker);
     }
 
     @Override
     public String toString() {
-        return String.format("ConstructionTeam: %d members, %d specializations", 
-            members.size(), uniqueSpecializations.size());
+        return String.format("ConstructionTeam: %d members, %d specializations",
+            index.size(), index.getUniqueSpecializations().size());
     }
 }
@@ -0,0 +1,113 @@
+package com.solvd.buildingcompany.models;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running total of inventory value, kept up to date on every add and remove
+ * so reading it is O(1). Subtotals are tracked per unit type, together with how many
+ * items make them up, so unit types whose stock is all gone are not reported.
+ * Backed by DoubleAdder and LongAdder, so it can be updated from several threads at once.
+ */
+public class InventoryValuation {
+    private static final Logger LOGGER = LogManager.getLogger(InventoryValuation.class);
+    private static final double RELATIVE_TOLERANCE = 1e-9;
+
+    private final DoubleAdder total;
+    private final ConcurrentHashMap<String, Subtotal> totalsByUnitType;
+
+    private static final class Subtotal {
+        private final DoubleAdder value = new DoubleAdder();
+        private final LongAdder items = new LongAdder();
+
+        private boolean isEmpty() {
+            return items.sum() <= 0;
+        }
+    }
+
+    public InventoryValuation() {
+        this.total = new DoubleAdder();
+        this.totalsByUnitType = new ConcurrentHashMap<>();
+    }
+
+    public void add(BuildingMaterial material) {
+        double cost = material.calculateCost();
+        total.add(cost);
+        Subtotal subtotal = totalsByUnitType.computeIfAbsent(material.unitType(), unit -> new Subtotal());
+        subtotal.value.add(cost);
+        subtotal.items.increment();
+    }
+
+    public void subtract(BuildingMaterial material) {
+        double cost = material.calculateCost();
+        total.add(-cost);
+        // Never creates a subtotal: a unit type that was not added has nothing to subtract from
+        Subtotal subtotal = totalsByUnitType.get(material.unitType());
+        if (subtotal != null) {
+            subtotal.value.add(-cost);
+            subtotal.items.decrement();
+        }
+    }
+
+    public double getTotal() {
+        return total.sum();
+    }
+
+    public double getTotal(String unitType) {
+        Subtotal subtotal = totalsByUnitType.get(unitType);
+        return subtotal == null || subtotal.isEmpty() ? 0.0 : subtotal.value.sum();
+    }
+
+    /**
+     * @return Snapshot of the subtotal per unit type in stock, sorted by unit type
+     */
+    public Map<String, Double> getTotalsByUnitType() {
+        Map<String, Double> snapshot = new TreeMap<>();
+        totalsByUnitType.forEach((unit, subtotal) -> {
+            if (!subtotal.isEmpty()) {
+                snapshot.put(unit, subtotal.value.sum());
+            }
+        });
+        return snapshot;
+    }
+
+    public void reset() {
+        total.reset();
+        totalsByUnitType.clear();
+    }
+
+    // Replace the running totals with a full recompute over the given stock
+    public void rebuild(Collection<? extends BuildingMaterial> stock) {
+        reset();
+        for (BuildingMaterial material : stock) {
+            add(material);
+        }
+        LOGGER.debug("Inventory valuation rebuilt from {} items", stock.size());
+    }
+
+    /**
+     * Compares the running total against a full recompute.
+     * A small relative tolerance absorbs rounding drift from many add/subtract pairs.
+     * @param stock The stock the running total is supposed to describe
+     * @return true if the running total matches the recomputed value
+     */
+    public boolean isConsistentWith(Collection<? extends BuildingMaterial> stock) {
+        double recomputed = stock.stream()
+                .mapToDouble(BuildingMaterial::calculateCost)
+                .sum();
+        double running = getTotal();
+        boolean consistent = Math.abs(running - recomputed)
+                <= RELATIVE_TOLERANCE * Math.max(1.0, Math.abs(recomputed)) * Math.max(1, stock.size());
+        if (!consistent) {
+            LOGGER.warn("Inventory valuation drifted: running ${}, recomputed ${}", running, recomputed);
+        }
+        return consistent;
+    }
+}
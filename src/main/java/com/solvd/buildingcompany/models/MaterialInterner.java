@@ -0,0 +1,109 @@
+package com.solvd.buildingcompany.models;
+
+import com.solvd.buildingcompany.enums.MaterialType;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Flyweight factory for BuildingMaterial records and their unit strings.
+ * Decoding snapshots, replaying logs and importing files create a new record and new
+ * unit string per line even though most lines repeat the same handful of units and
+ * often the same material. Interning returns one shared instance per distinct value.
+ * Records are held weakly, so materials nobody references any more are not kept alive;
+ * unit strings are held strongly, up to a fixed number of distinct units. Thread-safe.
+ */
+public class MaterialInterner {
+    private static final Logger LOGGER = LogManager.getLogger(MaterialInterner.class);
+    // Beyond this many distinct units new ones are returned as-is, so bad input cannot grow the table forever
+    private static final int MAX_UNIT_TYPES = 1024;
+    private static final String[] COMMON_UNIT_TYPES = {"piece", "bag", "board", "gallon", "ton", "sheet"};
+    private static final MaterialInterner INSTANCE = new MaterialInterner();
+
+    private final Map<String, String> unitTypes;
+    private final Map<BuildingMaterial, WeakReference<BuildingMaterial>> materials;
+    private final LongAdder duplicateCount;
+
+    public MaterialInterner() {
+        this.unitTypes = new ConcurrentHashMap<>();
+        this.materials = new WeakHashMap<>();
+        this.duplicateCount = new LongAdder();
+        for (String unitType : COMMON_UNIT_TYPES) {
+            unitTypes.put(unitType, unitType);
+        }
+        for (MaterialType type : MaterialType.values()) {
+            unitTypes.putIfAbsent(type.getUnit(), type.getUnit());
+        }
+        LOGGER.debug("Created material interner with {} unit types", unitTypes.size());
+    }
+
+    // Shared interner used by the snapshot, log and off-heap decoders
+    public static MaterialInterner getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return The shared instance equal to the unit type
+     */
+    public String internUnit(String unitType) {
+        String canonical = unitTypes.get(unitType);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (unitTypes.size() >= MAX_UNIT_TYPES) {
+            return unitType;
+        }
+        canonical = unitTypes.putIfAbsent(unitType, unitType);
+        return canonical != null ? canonical : unitType;
+    }
+
+    /**
+     * @return The shared record equal to the material, whose unit type is also interned
+     */
+    public BuildingMaterial intern(BuildingMaterial material) {
+        synchronized (materials) {
+            WeakReference<BuildingMaterial> reference = materials.get(material);
+            BuildingMaterial canonical = reference != null ? reference.get() : null;
+            if (canonical != null) {
+                duplicateCount.increment();
+                return canonical;
+            }
+            String unitType = internUnit(material.unitType());
+            canonical = unitType == material.unitType()
+                    ? material
+                    : new BuildingMaterial(material.name(), material.pricePerUnit(), unitType);
+            materials.put(canonical, new WeakReference<>(canonical));
+            return canonical;
+        }
+    }
+
+    /**
+     * Builds a material through the interner
+     * @return The shared record with these values
+     */
+    public BuildingMaterial intern(String name, double pricePerUnit, String unitType) {
+        return intern(new BuildingMaterial(name, pricePerUnit, internUnit(unitType)));
+    }
+
+    // Distinct records still referenced from somewhere
+    public int getMaterialCount() {
+        synchronized (materials) {
+            return materials.size();
+        }
+    }
+
+    public int getUnitTypeCount() {
+        return unitTypes.size();
+    }
+
+    // Number of intern calls that returned an existing record
+    public long getDuplicateCount() {
+        return duplicateCount.sum();
+    }
+}
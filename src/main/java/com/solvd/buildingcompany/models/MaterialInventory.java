@@ -1,30 +1,80 @@
 package com.solvd.buildingcompany.models;
 
+import com.solvd.buildingcompany.collections.LiveSlotIndex;
+import com.solvd.buildingcompany.collections.NameSearchIndex;
+import com.solvd.buildingcompany.enums.OrderOverflowPolicy;
+import com.solvd.buildingcompany.persistence.InventorySnapshot;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Consumer;
 
 public class MaterialInventory<T extends BuildingMaterial> {
     private static final Logger LOGGER = LogManager.getLogger(MaterialInventory.class);
 
     private Map<String, T> materialCatalog;
+    // Names in the catalog, for prefix and fuzzy search
+    private final NameSearchIndex nameIndex;
     private Set<String> suppliers;
-    private Queue<T> pendingOrders;
-    private List<T> stockItems;
+    private final SupplierMaterialIndex supplierIndex;
+    private final PendingOrderPipeline<T> pendingOrders;
+    // Stock entries in the order they were added; null marks a removed entry until the next compaction
+    private List<T> stockSlots;
+    // Slots of each material name's entries in stockSlots
+    private Map<String, List<Integer>> slotsByName;
+    // Which slots are live, so the view finds the n-th item without compacting
+    private final LiveSlotIndex liveSlots;
+    private int removedSlots;
+    private int stockCount;
+    // Bumped by every change to stockSlots, so stock iterators fail fast
+    private int stockModCount;
+    private final List<T> stockView;
+    private final InventoryValuation valuation;
 
+    /**
+     * Inventory whose order pipeline is unbounded, so orderMaterial never rejects;
+     * pass a capacity and overflow policy to the other constructor to opt into rejection
+     */
     public MaterialInventory() {
+        this(PendingOrderPipeline.UNBOUNDED, OrderOverflowPolicy.REJECT, false);
+    }
+
+    /**
+     * @param orderCapacity Most orders that can be pending at once
+     * @param overflowPolicy What orderMaterial does when the order pipeline is full
+     * @param coalesceOrders Whether a repeated order for a pending material name replaces it
+     */
+    public MaterialInventory(int orderCapacity, OrderOverflowPolicy overflowPolicy, boolean coalesceOrders) {
         // Using different collection types
         this.materialCatalog = new HashMap<>();
+        this.nameIndex = new NameSearchIndex();
         this.suppliers = new HashSet<>();
-        this.pendingOrders = new LinkedList<>();
-        this.stockItems = new ArrayList<>();
+        this.supplierIndex = new SupplierMaterialIndex();
+        this.pendingOrders = new PendingOrderPipeline<>(orderCapacity, overflowPolicy, coalesceOrders);
+        this.stockSlots = new ArrayList<>();
+        this.slotsByName = new HashMap<>();
+        this.liveSlots = new LiveSlotIndex();
+        this.removedSlots = 0;
+        this.stockCount = 0;
+        this.stockView = new StockView();
+        this.valuation = new InventoryValuation();
         LOGGER.debug("Created new material inventory");
     }
 
     public void addMaterial(T material) {
-        materialCatalog.put(material.name(), material);
-        stockItems.add(material);
+        if (materialCatalog.put(material.name(), material) == null) {
+            nameIndex.add(material.name());
+        }
+        slotsByName.computeIfAbsent(material.name(), name -> new ArrayList<>(1)).add(stockSlots.size());
+        stockSlots.add(material);
+        liveSlots.append();
+        stockCount++;
+        stockModCount++;
+        valuation.add(material);
         LOGGER.debug("Added material to inventory: {}", material.name());
     }
 
@@ -33,23 +83,108 @@ public class MaterialInventory<T extends BuildingMaterial> {
         return materialCatalog.get(name);
     }
 
+    /**
+     * Catalog materials whose name starts with the prefix, ignoring case
+     * @param prefix Typed prefix
+     * @param limit Largest number of results
+     * @return Matching materials in alphabetical order of name
+     */
+    public List<T> searchMaterials(String prefix, int limit) {
+        List<T> results = new ArrayList<>();
+        for (String name : nameIndex.findByPrefix(prefix, limit)) {
+            results.add(materialCatalog.get(name));
+        }
+        LOGGER.debug("Prefix search for '{}' found {} materials", prefix, results.size());
+        return results;
+    }
+
+    /**
+     * Catalog materials whose name is within maxDistance edits of the query, ignoring case
+     * @param query Possibly misspelled name
+     * @param maxDistance Largest number of single-character edits
+     * @param limit Largest number of results
+     * @return Matching materials, closest first
+     */
+    public List<T> searchMaterialsFuzzy(String query, int maxDistance, int limit) {
+        List<T> results = new ArrayList<>();
+        for (String name : nameIndex.findFuzzy(query, maxDistance, limit)) {
+            results.add(materialCatalog.get(name));
+        }
+        LOGGER.debug("Fuzzy search for '{}' found {} materials", query, results.size());
+        return results;
+    }
+
     public void addSupplier(String supplier) {
         suppliers.add(supplier);
         LOGGER.debug("Added supplier: {}", supplier);
     }
 
+    /**
+     * Read-only so the supplier index can't keep suppliers that were removed behind its back;
+     * use addSupplier, linkSupplier or setSuppliers to change them
+     * @return Read-only view of the suppliers
+     */
     public Set<String> getSuppliers() {
-        return suppliers;
+        return Collections.unmodifiableSet(suppliers);
+    }
+
+    /**
+     * Registers the supplier if needed and records that it delivers the material
+     * @param supplier Supplier name
+     * @param materialName Material name; it does not have to be in the catalog
+     */
+    public void linkSupplier(String supplier, String materialName) {
+        suppliers.add(supplier);
+        supplierIndex.link(supplier, materialName);
+        LOGGER.debug("Supplier {} delivers {}", supplier, materialName);
+    }
+
+    /**
+     * @return Suppliers that can deliver every one of the materials
+     */
+    public Set<String> findSuppliersForAll(Collection<String> materialNames) {
+        return supplierIndex.findSuppliersForAll(materialNames);
     }
 
+    /**
+     * @return Suppliers that can deliver at least one of the materials
+     */
+    public Set<String> findSuppliersForAny(Collection<String> materialNames) {
+        return supplierIndex.findSuppliersForAny(materialNames);
+    }
+
+    public SupplierMaterialIndex getSupplierIndex() {
+        return supplierIndex;
+    }
+
+    // Copies the set, so later edits to the caller's set can't bypass the supplier index
     public void setSuppliers(Set<String> suppliers) {
-        this.suppliers = suppliers;
+        this.suppliers = new HashSet<>(suppliers);
+        for (String supplier : supplierIndex.getLinkedSuppliers()) {
+            if (!this.suppliers.contains(supplier)) {
+                supplierIndex.removeSupplier(supplier);
+            }
+        }
         LOGGER.debug("Updated suppliers list");
     }
 
-    public void orderMaterial(T material) {
-        pendingOrders.add(material);
-        LOGGER.debug("Added material to order queue: {}", material.name());
+    /**
+     * Queues an order; safe to call from several threads.
+     * Under the BLOCK policy this waits for space in the pipeline
+     * @param material Material to order
+     * @return true if the order was queued or coalesced, false if it was rejected
+     */
+    public boolean orderMaterial(T material) {
+        try {
+            if (pendingOrders.submit(material)) {
+                LOGGER.debug("Added material to order queue: {}", material.name());
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while waiting to order material: {}", material.name());
+        }
+        return false;
     }
 
     public T processPendingOrder() {
@@ -62,49 +197,146 @@ public class MaterialInventory<T extends BuildingMaterial> {
         return material;
     }
 
+    /**
+     * Processes up to max pending orders in one batch, oldest first; safe to call from several threads
+     * @param max Largest batch to take
+     * @param consumer Receives each processed order
+     * @return Number of orders processed
+     */
+    public int drainPendingOrders(int max, Consumer<? super T> consumer) {
+        int drained = pendingOrders.drain(max, consumer);
+        LOGGER.debug("Drained {} pending orders", drained);
+        return drained;
+    }
+
+    /**
+     * Read-only so the name search index can't go stale; use addMaterial/removeMaterial
+     * or setMaterialCatalog to change it
+     * @return Read-only view of the catalog
+     */
     public Map<String, T> getMaterialCatalog() {
-        return materialCatalog;
+        return Collections.unmodifiableMap(materialCatalog);
     }
 
+    // Copies the map, so later edits to the caller's map can't bypass the name index
     public void setMaterialCatalog(Map<String, T> materialCatalog) {
-        this.materialCatalog = materialCatalog;
+        this.materialCatalog = new HashMap<>(materialCatalog);
+        nameIndex.clear();
+        this.materialCatalog.keySet().forEach(nameIndex::add);
         LOGGER.debug("Updated material catalog");
     }
 
-    public Queue<T> getPendingOrders() {
-        return pendingOrders;
+    /**
+     * @return Copy of the pending orders, oldest first
+     */
+    public List<T> getPendingOrders() {
+        return pendingOrders.snapshot();
     }
 
-    public void setPendingOrders(Queue<T> pendingOrders) {
-        this.pendingOrders = pendingOrders;
-        LOGGER.debug("Updated pending orders queue");
+    public PendingOrderPipeline<T> getOrderPipeline() {
+        return pendingOrders;
     }
 
+    /**
+     * Stock items are read-only from outside so the running valuation can't go stale;
+     * use addMaterial/removeMaterial or setStockItems to change them.
+     * Items keep the order they were added in; get(int) is O(1), or O(log n) while removed
+     * entries wait for compaction. Its iterators fail fast once the stock changes
+     * @return Live read-only view of the stock items
+     */
     public List<T> getStockItems() {
-        return stockItems;
+        return stockView;
+    }
+
+    /**
+     * Looks up the stock entries for one material name through the slot index, O(matches)
+     * @param name Material name
+     * @return Read-only copy of the matching stock entries, in the order they were added; empty if none
+     */
+    public List<T> getStockItems(String name) {
+        List<Integer> slots = slotsByName.get(name);
+        if (slots == null) {
+            return Collections.emptyList();
+        }
+        List<T> stock = new ArrayList<>(slots.size());
+        for (int slot : slots) {
+            stock.add(stockSlots.get(slot));
+        }
+        return Collections.unmodifiableList(stock);
     }
 
     public void setStockItems(List<T> stockItems) {
-        this.stockItems = stockItems;
+        this.stockSlots = new ArrayList<>(stockItems);
+        this.slotsByName = new HashMap<>();
+        for (int slot = 0; slot < stockSlots.size(); slot++) {
+            slotsByName.computeIfAbsent(stockSlots.get(slot).name(), name -> new ArrayList<>(1)).add(slot);
+        }
+        liveSlots.reset(stockSlots.size());
+        this.removedSlots = 0;
+        this.stockCount = stockItems.size();
+        stockModCount++;
+        valuation.rebuild(stockItems);
         LOGGER.debug("Updated stock items list");
     }
 
     public int getTotalInventoryCount() {
-        return stockItems.size();
+        return stockCount;
     }
 
+    /**
+     * Reads the running total maintained by addMaterial/removeMaterial, O(1)
+     * @return Total value of all stock items
+     */
     public double calculateTotalInventoryValue() {
-        double total = stockItems.stream()
-                .mapToDouble(BuildingMaterial::calculateCost)
-                .sum();
+        double total = valuation.getTotal();
         LOGGER.debug("Total inventory value: ${}", total);
         return total;
     }
 
+    public double calculateInventoryValue(String unitType) {
+        return valuation.getTotal(unitType);
+    }
+
+    public Map<String, Double> getInventoryValueByUnitType() {
+        return valuation.getTotalsByUnitType();
+    }
+
+    /**
+     * Recomputes the total from scratch, O(n); prefer calculateTotalInventoryValue
+     * @return Total value of all stock items
+     */
+    public double recalculateTotalInventoryValue() {
+        return stockView.stream()
+                .mapToDouble(BuildingMaterial::calculateCost)
+                .sum();
+    }
+
+    /**
+     * Checks the running valuation against a full recompute
+     * @return true if both agree within rounding tolerance
+     */
+    public boolean verifyInventoryValuation() {
+        return valuation.isConsistentWith(stockView);
+    }
+
     public boolean removeMaterial(String name) {
         T material = materialCatalog.remove(name);
         if (material != null) {
-            stockItems.removeIf(item -> item.name().equals(name));
+            nameIndex.remove(name);
+            List<Integer> slots = slotsByName.remove(name);
+            if (slots != null) {
+                for (int slot : slots) {
+                    valuation.subtract(stockSlots.set(slot, null));
+                    liveSlots.remove(slot);
+                }
+                stockCount -= slots.size();
+                removedSlots += slots.size();
+                stockModCount++;
+                // Keeps removed slots from outnumbering live ones, so compaction is amortized over the removals
+                if (removedSlots > stockCount) {
+                    compactStock();
+                }
+            }
             LOGGER.debug("Removed material from inventory: {}", name);
             return true;
         }
@@ -112,10 +344,96 @@ public class MaterialInventory<T extends BuildingMaterial> {
         return false;
     }
 
+    /**
+     * Writes the catalog, stock, suppliers and pending orders to a snapshot file.
+     * The state is copied first and the file is written from the copies
+     * @param path Snapshot file, replaced atomically
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void writeSnapshot(Path path) throws IOException {
+        InventorySnapshot.write(path, new ArrayList<>(materialCatalog.values()), new ArrayList<>(stockView),
+                new ArrayList<>(suppliers), pendingOrders.snapshot());
+    }
+
     public void clearInventory() {
         materialCatalog.clear();
-        stockItems.clear();
+        nameIndex.clear();
+        stockSlots.clear();
+        slotsByName.clear();
+        liveSlots.clear();
+        removedSlots = 0;
+        stockCount = 0;
+        stockModCount++;
         pendingOrders.clear();
+        valuation.reset();
         LOGGER.debug("Cleared inventory");
     }
+
+    // Drops removed slots, keeping the order of the others, and renumbers the slot index
+    private void compactStock() {
+        List<T> compacted = new ArrayList<>(stockCount);
+        for (T item : stockSlots) {
+            if (item != null) {
+                compacted.add(item);
+            }
+        }
+        stockSlots = compacted;
+        slotsByName.values().forEach(List::clear);
+        for (int slot = 0; slot < stockSlots.size(); slot++) {
+            slotsByName.get(stockSlots.get(slot).name()).add(slot);
+        }
+        liveSlots.reset(stockSlots.size());
+        removedSlots = 0;
+        LOGGER.debug("Compacted stock to {} items", stockCount);
+    }
+
+    // Reads never compact: get(int) maps the index to its slot through liveSlots, iteration skips removed slots
+    private class StockView extends AbstractList<T> {
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= stockCount) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + stockCount);
+            }
+            return stockSlots.get(removedSlots == 0 ? index : liveSlots.slotOf(index));
+        }
+
+        @Override
+        public int size() {
+            return stockCount;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            List<T> slots = stockSlots;
+            return new Iterator<>() {
+                private final int expectedModCount = stockModCount;
+                private int slot = skipRemoved(0);
+
+                private int skipRemoved(int from) {
+                    while (from < slots.size() && slots.get(from) == null) {
+                        from++;
+                    }
+                    return from;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return slot < slots.size();
+                }
+
+                @Override
+                public T next() {
+                    if (stockModCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    T item = slots.get(slot);
+                    slot = skipRemoved(slot + 1);
+                    return item;
+                }
+            };
+        }
+    }
 }
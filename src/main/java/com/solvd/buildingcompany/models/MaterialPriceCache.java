@@ -0,0 +1,396 @@
+package com.solvd.buildingcompany.models;
+
+import com.solvd.buildingcompany.exceptions.InvalidMaterialException;
+import com.solvd.buildingcompany.interfaces.MaterialLoader;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Read-through cache in front of a slow {@link MaterialLoader}.
+ * Entries expire a fixed time after they were loaded. The size bound is kept with a
+ * segmented LRU: new entries start in a probation segment and move to the protected
+ * segment (80% of the capacity) on their second hit, so a scan of one-off lookups
+ * only evicts other one-off entries. Protected entries older than the refresh-ahead
+ * age are reloaded in the background on access while the old value is still served.
+ * Concurrent misses for the same name share one load; the loader is never called
+ * while the cache lock is held. Thread-safe.
+ */
+public class MaterialPriceCache<T extends BuildingMaterial> {
+    private static final Logger LOGGER = LogManager.getLogger(MaterialPriceCache.class);
+
+    private final MaterialLoader<T> loader;
+    private final int maximumSize;
+    private final int protectedCapacity;
+    private final long expireAfterNanos;
+    // 0 disables refresh-ahead
+    private final long refreshAfterNanos;
+    private final Executor refreshExecutor;
+    private final LongSupplier ticker;
+
+    private final ReentrantLock lock;
+    // Both in insertion order, eldest first; an access re-inserts the entry at the end
+    private final LinkedHashMap<String, Entry<T>> probation;
+    private final LinkedHashMap<String, Entry<T>> protectedEntries;
+    private final Map<String, CompletableFuture<T>> loading;
+
+    private final LongAdder hitCount;
+    private final LongAdder missCount;
+    private final LongAdder loadFailureCount;
+    private final LongAdder evictionCount;
+    private final LongAdder expirationCount;
+    private final LongAdder refreshCount;
+
+    private static class Entry<T> {
+        private T value;
+        private long loadedAt;
+        private boolean refreshing;
+
+        public Entry(T value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * @param loader Source of materials on a miss or refresh
+     * @param maximumSize Largest number of cached materials
+     * @param expireAfter How long a loaded material stays valid
+     * @param refreshAfter Age after which a hot material is reloaded in the background,
+     *                     or Duration.ZERO to disable refresh-ahead
+     * @param refreshExecutor Runs background refreshes
+     */
+    public MaterialPriceCache(MaterialLoader<T> loader, int maximumSize, Duration expireAfter,
+                              Duration refreshAfter, Executor refreshExecutor) {
+        this(loader, maximumSize, expireAfter, refreshAfter, refreshExecutor, System::nanoTime);
+    }
+
+    /**
+     * Same as the other constructor with an explicit time source in nanoseconds,
+     * so expiry and refresh can be driven by a fake clock
+     */
+    public MaterialPriceCache(MaterialLoader<T> loader, int maximumSize, Duration expireAfter,
+                              Duration refreshAfter, Executor refreshExecutor, LongSupplier ticker) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        if (expireAfter.isNegative() || expireAfter.isZero()) {
+            throw new IllegalArgumentException("Expiry must be positive: " + expireAfter);
+        }
+        if (refreshAfter.isNegative() || refreshAfter.compareTo(expireAfter) >= 0) {
+            throw new IllegalArgumentException("Refresh age must be between zero and the expiry: " + refreshAfter);
+        }
+        this.loader = Objects.requireNonNull(loader, "loader");
+        this.maximumSize = maximumSize;
+        this.protectedCapacity = maximumSize * 4 / 5;
+        this.expireAfterNanos = expireAfter.toNanos();
+        this.refreshAfterNanos = refreshAfter.toNanos();
+        this.refreshExecutor = Objects.requireNonNull(refreshExecutor, "refreshExecutor");
+        this.ticker = Objects.requireNonNull(ticker, "ticker");
+        this.lock = new ReentrantLock();
+        this.probation = new LinkedHashMap<>();
+        this.protectedEntries = new LinkedHashMap<>();
+        this.loading = new HashMap<>();
+        this.hitCount = new LongAdder();
+        this.missCount = new LongAdder();
+        this.loadFailureCount = new LongAdder();
+        this.evictionCount = new LongAdder();
+        this.expirationCount = new LongAdder();
+        this.refreshCount = new LongAdder();
+        LOGGER.debug("Created material price cache with size {}, expiry {}, refresh-ahead {}",
+                maximumSize, expireAfter, refreshAfter);
+    }
+
+    /**
+     * Returns the cached material, loading it on a miss or after expiry
+     * @param name The material name
+     * @return The material, or null if the loader does not know it (not cached)
+     * @throws InvalidMaterialException if the load fails
+     */
+    public T get(String name) throws InvalidMaterialException {
+        CompletableFuture<T> load;
+        boolean owner = false;
+        Entry<T> refreshEntry = null;
+        T value = null;
+        lock.lock();
+        try {
+            long now = ticker.getAsLong();
+            Entry<T> entry = findLocked(name);
+            if (entry != null && now - entry.loadedAt >= expireAfterNanos) {
+                removeLocked(name);
+                expirationCount.increment();
+                entry = null;
+            }
+            if (entry != null) {
+                hitCount.increment();
+                if (recordAccessLocked(name, entry, now)) {
+                    refreshEntry = entry;
+                }
+                value = entry.value;
+                load = null;
+            } else {
+                missCount.increment();
+                load = loading.get(name);
+                if (load == null) {
+                    load = new CompletableFuture<>();
+                    loading.put(name, load);
+                    owner = true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (load == null) {
+            if (refreshEntry != null) {
+                scheduleRefresh(name, refreshEntry);
+            }
+            return value;
+        }
+        return owner ? loadAndInsert(name, load) : await(name, load);
+    }
+
+    /**
+     * Returns the cached material without loading or counting a hit or miss
+     * @return The material, or null if absent or expired
+     */
+    public T getIfPresent(String name) {
+        lock.lock();
+        try {
+            Entry<T> entry = findLocked(name);
+            return entry == null || ticker.getAsLong() - entry.loadedAt >= expireAfterNanos ? null : entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Writes a material that changed at the source, e.g. after a price update;
+    // in-flight loads and refreshes of it skip their insert
+    public void put(T material) {
+        lock.lock();
+        try {
+            loading.remove(material.name());
+            insertLocked(material.name(), material, ticker.getAsLong());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Drops the material, and makes an in-flight load of it skip the insert
+    public void invalidate(String name) {
+        lock.lock();
+        try {
+            removeLocked(name);
+            loading.remove(name);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            probation.clear();
+            protectedEntries.clear();
+            loading.clear();
+            LOGGER.debug("Invalidated material price cache");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Includes expired entries that have not been looked up since
+    public int size() {
+        lock.lock();
+        try {
+            return probation.size() + protectedEntries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public double getHitRate() {
+        long hits = hitCount.sum();
+        long requests = hits + missCount.sum();
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+
+    public long getLoadFailureCount() {
+        return loadFailureCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public long getExpirationCount() {
+        return expirationCount.sum();
+    }
+
+    public long getRefreshCount() {
+        return refreshCount.sum();
+    }
+
+    private T loadAndInsert(String name, CompletableFuture<T> load) throws InvalidMaterialException {
+        T value = null;
+        try {
+            value = loader.load(name);
+        } catch (Throwable e) {
+            // Errors too, so threads waiting on the load fail instead of blocking
+            loadFailureCount.increment();
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            lock.lock();
+            try {
+                // Cleared however the load ended; the insert is skipped if it failed,
+                // or if the name was invalidated or overwritten while loading
+                if (loading.remove(name, load) && value != null) {
+                    insertLocked(name, value, ticker.getAsLong());
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        load.complete(value);
+        return value;
+    }
+
+    private T await(String name, CompletableFuture<T> load) throws InvalidMaterialException {
+        try {
+            return load.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InvalidMaterialException("Interrupted while loading material " + name, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof InvalidMaterialException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new InvalidMaterialException("Failed to load material " + name, e.getCause());
+        }
+    }
+
+    private void scheduleRefresh(String name, Entry<T> entry) {
+        try {
+            refreshExecutor.execute(() -> refresh(name, entry));
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug("Refresh of {} rejected by executor", name);
+            lock.lock();
+            try {
+                entry.refreshing = false;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void refresh(String name, Entry<T> entry) {
+        T value = null;
+        boolean loaded = false;
+        try {
+            value = loader.load(name);
+            loaded = true;
+        } catch (InvalidMaterialException | RuntimeException e) {
+            // Keep serving the old value until it expires; the next hit retries
+            loadFailureCount.increment();
+            LOGGER.debug("Refresh of {} failed: {}", name, e.getMessage());
+        } finally {
+            lock.lock();
+            try {
+                entry.refreshing = false;
+                // Skipped if the load failed, or if the entry was evicted, invalidated
+                // or replaced by put or a newer load meanwhile
+                if (loaded && findLocked(name) == entry) {
+                    if (value == null) {
+                        removeLocked(name);
+                    } else {
+                        entry.value = value;
+                        entry.loadedAt = ticker.getAsLong();
+                    }
+                    refreshCount.increment();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private Entry<T> findLocked(String name) {
+        Entry<T> entry = protectedEntries.get(name);
+        return entry != null ? entry : probation.get(name);
+    }
+
+    private void removeLocked(String name) {
+        if (protectedEntries.remove(name) == null) {
+            probation.remove(name);
+        }
+    }
+
+    /**
+     * Moves the entry to the most recent end of its segment, promoting it out of probation
+     * @return true if the caller should start a refresh-ahead
+     */
+    private boolean recordAccessLocked(String name, Entry<T> entry, long now) {
+        boolean hot = protectedEntries.remove(name) != null;
+        if (!hot && protectedCapacity == 0) {
+            probation.remove(name);
+            probation.put(name, entry);
+            return false;
+        }
+        if (!hot) {
+            probation.remove(name);
+        }
+        protectedEntries.put(name, entry);
+        while (protectedEntries.size() > protectedCapacity) {
+            // Demote the least recent protected entry instead of evicting it
+            Map.Entry<String, Entry<T>> eldest = protectedEntries.entrySet().iterator().next();
+            protectedEntries.remove(eldest.getKey());
+            probation.put(eldest.getKey(), eldest.getValue());
+        }
+        if (hot && refreshAfterNanos > 0 && !entry.refreshing && now - entry.loadedAt >= refreshAfterNanos) {
+            entry.refreshing = true;
+            return true;
+        }
+        return false;
+    }
+
+    private void insertLocked(String name, T value, long now) {
+        // A new entry, kept in the old one's segment and place, so a refresh started on the old one sees it was replaced
+        Entry<T> entry = new Entry<>(value, now);
+        if (protectedEntries.replace(name, entry) != null || probation.replace(name, entry) != null) {
+            return;
+        }
+        probation.put(name, entry);
+        while (probation.size() + protectedEntries.size() > maximumSize) {
+            Map<String, Entry<T>> segment = probation.isEmpty() ? protectedEntries : probation;
+            Iterator<String> eldest = segment.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+            evictionCount.increment();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.solvd.buildingcompany.models;
+
+import com.solvd.buildingcompany.collections.OffHeapStringDictionary;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Material catalog stored column by column in direct ByteBuffers, for catalogs
+ * with millions of SKUs. Names and unit types are dictionary-encoded, prices
+ * sit in a packed double column, so the catalog adds no per-SKU heap objects
+ * and keeps GC work flat as it grows. BuildingMaterial records are only created
+ * when a lookup or forEach hands one out.
+ * Rows are kept dense: removing a SKU moves the last row into its place.
+ * Not thread-safe.
+ */
+public class OffHeapMaterialCatalog {
+    private static final Logger LOGGER = LogManager.getLogger(OffHeapMaterialCatalog.class);
+    private static final int INITIAL_ROWS = 1024;
+    private static final int NO_ROW = -1;
+
+    private final OffHeapStringDictionary names;
+    private final OffHeapStringDictionary unitTypes;
+    // Row columns
+    private ByteBuffer nameColumn;
+    private ByteBuffer priceColumn;
+    private ByteBuffer unitColumn;
+    // Row of each name code, NO_ROW for released codes
+    private ByteBuffer rowByName;
+    private int size;
+
+    public OffHeapMaterialCatalog() {
+        this.names = new OffHeapStringDictionary();
+        this.unitTypes = new OffHeapStringDictionary();
+        allocateColumns();
+        LOGGER.debug("Created new off-heap material catalog");
+    }
+
+    /**
+     * Adds a material, or replaces the price and unit type of an existing one with the same name
+     * @return true if the name was not in the catalog before
+     */
+    public boolean addMaterial(BuildingMaterial material) {
+        int nameCode = names.intern(material.name());
+        int unitCode = unitTypes.intern(material.unitType());
+        ensureNameCapacity(nameCode + 1);
+
+        int row = rowByName.getInt(nameCode * Integer.BYTES);
+        boolean added = row == NO_ROW;
+        if (added) {
+            ensureRowCapacity(size + 1);
+            row = size++;
+            nameColumn.putInt(row * Integer.BYTES, nameCode);
+            rowByName.putInt(nameCode * Integer.BYTES, row);
+        }
+        priceColumn.putDouble(row * Double.BYTES, material.pricePerUnit());
+        unitColumn.putInt(row * Integer.BYTES, unitCode);
+        LOGGER.debug("Added material to off-heap catalog: {}", material.name());
+        return added;
+    }
+
+    /**
+     * @return A new record for the material, or null if the name is not in the catalog
+     */
+    public BuildingMaterial getMaterial(String name) {
+        int row = rowOf(name);
+        if (row == NO_ROW) {
+            return null;
+        }
+        return new BuildingMaterial(name, priceColumn.getDouble(row * Double.BYTES),
+                unitTypeAt(row));
+    }
+
+    public boolean containsMaterial(String name) {
+        return rowOf(name) != NO_ROW;
+    }
+
+    public boolean removeMaterial(String name) {
+        int nameCode = names.lookup(name);
+        if (nameCode < 0) {
+            LOGGER.debug("Material not found in off-heap catalog: {}", name);
+            return false;
+        }
+        int row = rowByName.getInt(nameCode * Integer.BYTES);
+        int last = --size;
+        if (row != last) {
+            int movedName = nameColumn.getInt(last * Integer.BYTES);
+            nameColumn.putInt(row * Integer.BYTES, movedName);
+            priceColumn.putDouble(row * Double.BYTES, priceColumn.getDouble(last * Double.BYTES));
+            unitColumn.putInt(row * Integer.BYTES, unitColumn.getInt(last * Integer.BYTES));
+            rowByName.putInt(movedName * Integer.BYTES, row);
+        }
+        rowByName.putInt(nameCode * Integer.BYTES, NO_ROW);
+        names.release(nameCode);
+        LOGGER.debug("Removed material from off-heap catalog: {}", name);
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Sums calculateCost over every SKU with one pass over the price column
+     * @return Total value of the catalog
+     */
+    public double calculateTotalValue() {
+        double sum = 0.0;
+        for (int row = 0; row < size; row++) {
+            sum += priceColumn.getDouble(row * Double.BYTES);
+        }
+        return sum * BuildingMaterial.ASSUMED_QUANTITY;
+    }
+
+    public double calculateValue(String unitType) {
+        int unitCode = unitTypes.lookup(unitType);
+        if (unitCode < 0) {
+            return 0.0;
+        }
+        double sum = 0.0;
+        for (int row = 0; row < size; row++) {
+            if (unitColumn.getInt(row * Integer.BYTES) == unitCode) {
+                sum += priceColumn.getDouble(row * Double.BYTES);
+            }
+        }
+        return sum * BuildingMaterial.ASSUMED_QUANTITY;
+    }
+
+    /**
+     * Single scan over the price and unit columns
+     * @return Value per unit type, sorted by unit type
+     */
+    public Map<String, Double> getValueByUnitType() {
+        double[] sums = new double[unitTypes.getCodeLimit()];
+        boolean[] seen = new boolean[sums.length];
+        for (int row = 0; row < size; row++) {
+            int unitCode = unitColumn.getInt(row * Integer.BYTES);
+            sums[unitCode] += priceColumn.getDouble(row * Double.BYTES);
+            seen[unitCode] = true;
+        }
+        Map<String, Double> values = new TreeMap<>();
+        for (int unitCode = 0; unitCode < sums.length; unitCode++) {
+            if (seen[unitCode]) {
+                values.put(unitTypes.get(unitCode), sums[unitCode] * BuildingMaterial.ASSUMED_QUANTITY);
+            }
+        }
+        return values;
+    }
+
+    // Materializes one record per row, in row order
+    public void forEach(Consumer<? super BuildingMaterial> action) {
+        for (int row = 0; row < size; row++) {
+            action.accept(new BuildingMaterial(
+                    names.get(nameColumn.getInt(row * Integer.BYTES)),
+                    priceColumn.getDouble(row * Double.BYTES),
+                    unitTypeAt(row)));
+        }
+    }
+
+    public long getOffHeapBytes() {
+        return names.getOffHeapBytes() + unitTypes.getOffHeapBytes()
+                + nameColumn.capacity() + priceColumn.capacity() + unitColumn.capacity() + rowByName.capacity();
+    }
+
+    public void clear() {
+        names.clear();
+        unitTypes.clear();
+        allocateColumns();
+        LOGGER.debug("Cleared off-heap catalog");
+    }
+
+    // Decoding allocates a new string, so hand out the shared instance instead
+    private String unitTypeAt(int row) {
+        return MaterialInterner.getInstance().internUnit(unitTypes.get(unitColumn.getInt(row * Integer.BYTES)));
+    }
+
+    private int rowOf(String name) {
+        int nameCode = names.lookup(name);
+        return nameCode < 0 ? NO_ROW : rowByName.getInt(nameCode * Integer.BYTES);
+    }
+
+    private void allocateColumns() {
+        this.nameColumn = OffHeapStringDictionary.allocate(INITIAL_ROWS * Integer.BYTES);
+        this.priceColumn = OffHeapStringDictionary.allocate(INITIAL_ROWS * Double.BYTES);
+        this.unitColumn = OffHeapStringDictionary.allocate(INITIAL_ROWS * Integer.BYTES);
+        this.rowByName = OffHeapStringDictionary.allocate(INITIAL_ROWS * Integer.BYTES);
+        fillNoRow(0);
+        this.size = 0;
+    }
+
+    private void ensureRowCapacity(int rows) {
+        if (rows > rowCapacity(nameColumn)) {
+            nameColumn = OffHeapStringDictionary.grow(nameColumn, (long) rows * Integer.BYTES);
+            priceColumn = OffHeapStringDictionary.grow(priceColumn, (long) rows * Double.BYTES);
+            unitColumn = OffHeapStringDictionary.grow(unitColumn, (long) rows * Integer.BYTES);
+        }
+    }
+
+    private void ensureNameCapacity(int codes) {
+        int current = rowCapacity(rowByName);
+        if (codes > current) {
+            rowByName = OffHeapStringDictionary.grow(rowByName, (long) codes * Integer.BYTES);
+            fillNoRow(current);
+        }
+    }
+
+    private void fillNoRow(int from) {
+        for (int code = from; code < rowCapacity(rowByName); code++) {
+            rowByName.putInt(code * Integer.BYTES, NO_ROW);
+        }
+    }
+
+    private static int rowCapacity(ByteBuffer intColumn) {
+        return intColumn.capacity() / Integer.BYTES;
+    }
+}
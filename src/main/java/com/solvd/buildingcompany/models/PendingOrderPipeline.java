@@ -0,0 +1,373 @@
+package com.solvd.buildingcompany.models;
+
+import com.solvd.buildingcompany.enums.OrderOverflowPolicy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer/multi-consumer queue of pending material orders.
+ * Orders live in a ring buffer that grows up to the capacity, so memory stays bounded under bursts;
+ * what happens when it is full is decided by the {@link OrderOverflowPolicy}.
+ * A pipeline created with {@link #UNBOUNDED} capacity is never full in practice.
+ * With coalescing enabled, an order for a material name that is already pending
+ * replaces the pending one in place instead of taking a new slot.
+ * Consumers should prefer drain, which takes a whole batch under one lock
+ * acquisition and runs the callback after the lock is released.
+ */
+public class PendingOrderPipeline<T extends BuildingMaterial> {
+    private static final Logger LOGGER = LogManager.getLogger(PendingOrderPipeline.class);
+    public static final int DEFAULT_CAPACITY = 4096;
+    // Largest ring buffer an array can hold
+    public static final int UNBOUNDED = Integer.MAX_VALUE - 8;
+
+    private final int capacity;
+    private Object[] orders;
+    private final OrderOverflowPolicy overflowPolicy;
+    private final boolean coalescing;
+    // Sequence number of the pending order per material name, only used when coalescing
+    private final Map<String, Long> pendingSequenceByName;
+    private final ReentrantLock lock;
+    private final Condition notEmpty;
+    private final Condition notFull;
+
+    // Orders occupy sequence numbers [head, tail); slot is sequence % capacity
+    private long head;
+    private long tail;
+    private long acceptedCount;
+    private long coalescedCount;
+    private long rejectedCount;
+    private long droppedCount;
+
+    public PendingOrderPipeline() {
+        this(DEFAULT_CAPACITY, OrderOverflowPolicy.REJECT, false);
+    }
+
+    public PendingOrderPipeline(int capacity, OrderOverflowPolicy overflowPolicy, boolean coalescing) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.orders = new Object[Math.min(capacity, DEFAULT_CAPACITY)];
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy");
+        this.coalescing = coalescing;
+        this.pendingSequenceByName = coalescing ? new HashMap<>() : Collections.emptyMap();
+        this.lock = new ReentrantLock();
+        this.notEmpty = lock.newCondition();
+        this.notFull = lock.newCondition();
+        LOGGER.debug("Created order pipeline with capacity {}, policy {}, coalescing {}",
+                capacity, overflowPolicy, coalescing);
+    }
+
+    /**
+     * Adds an order, applying coalescing and then the overflow policy.
+     * Only the BLOCK policy ever waits
+     * @param order Material to order
+     * @return true if the order was queued or merged into a pending one, false if rejected
+     * @throws InterruptedException if interrupted while waiting for space
+     */
+    public boolean submit(T order) throws InterruptedException {
+        Objects.requireNonNull(order, "order");
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                if (coalesceLocked(order)) {
+                    return true;
+                }
+                if (!isFullLocked()) {
+                    break;
+                }
+                switch (overflowPolicy) {
+                    case REJECT:
+                        rejectedCount++;
+                        LOGGER.debug("Order pipeline full, rejected order: {}", order.name());
+                        return false;
+                    case DROP_OLDEST:
+                        T dropped = dequeueLocked();
+                        droppedCount++;
+                        LOGGER.debug("Order pipeline full, dropped oldest order: {}", dropped.name());
+                        break;
+                    default:
+                        // Coalescing is checked again after waking, a matching order may have arrived
+                        notFull.await();
+                        break;
+                }
+            }
+            enqueueLocked(order);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds an order without ever blocking; a full pipeline under the BLOCK policy rejects
+     * @param order Material to order
+     * @return true if the order was queued or merged into a pending one
+     */
+    public boolean offer(T order) {
+        Objects.requireNonNull(order, "order");
+        lock.lock();
+        try {
+            if (coalesceLocked(order)) {
+                return true;
+            }
+            if (isFullLocked()) {
+                if (overflowPolicy != OrderOverflowPolicy.DROP_OLDEST) {
+                    rejectedCount++;
+                    return false;
+                }
+                dequeueLocked();
+                droppedCount++;
+            }
+            enqueueLocked(order);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether offer would accept the order right now, without changing anything.
+     * Only meaningful while no other thread submits orders
+     * @param order Material to order
+     * @return true if the order would be queued, merged into a pending one or would drop the oldest
+     */
+    public boolean canOffer(T order) {
+        Objects.requireNonNull(order, "order");
+        lock.lock();
+        try {
+            return overflowPolicy == OrderOverflowPolicy.DROP_OLDEST || !isFullLocked()
+                    || (coalescing && pendingSequenceByName.containsKey(order.name()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public T poll() {
+        lock.lock();
+        try {
+            if (head == tail) {
+                return null;
+            }
+            T order = dequeueLocked();
+            notFull.signal();
+            return order;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes up to max orders, oldest first, and passes them to the consumer.
+     * The consumer runs after the lock is released, so it may submit new orders
+     * @param max Largest batch to take
+     * @param consumer Receives each drained order
+     * @return Number of orders drained
+     */
+    public int drain(int max, Consumer<? super T> consumer) {
+        Objects.requireNonNull(consumer, "consumer");
+        List<T> batch = takeBatch(max);
+        batch.forEach(consumer);
+        return batch.size();
+    }
+
+    /**
+     * Like {@link #drain(int, Consumer)} but waits up to the timeout for at least one order
+     * @return Number of orders drained, 0 if the timeout passed first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public int drain(int max, Consumer<? super T> consumer, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        Objects.requireNonNull(consumer, "consumer");
+        long remaining = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (head == tail) {
+                if (remaining <= 0) {
+                    return 0;
+                }
+                remaining = notEmpty.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return drain(max, consumer);
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return (int) (tail - head);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public OrderOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+
+    /**
+     * @return Copy of the pending orders, oldest first
+     */
+    public List<T> snapshot() {
+        lock.lock();
+        try {
+            List<T> snapshot = new ArrayList<>((int) (tail - head));
+            for (long sequence = head; sequence < tail; sequence++) {
+                snapshot.add(orderAt(sequence));
+            }
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            Arrays.fill(orders, null);
+            pendingSequenceByName.clear();
+            head = tail;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        LOGGER.debug("Cleared order pipeline");
+    }
+
+    public long getAcceptedCount() {
+        lock.lock();
+        try {
+            return acceptedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getCoalescedCount() {
+        lock.lock();
+        try {
+            return coalescedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejectedCount() {
+        lock.lock();
+        try {
+            return rejectedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getDroppedCount() {
+        lock.lock();
+        try {
+            return droppedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<T> takeBatch(int max) {
+        if (max <= 0) {
+            return Collections.emptyList();
+        }
+        lock.lock();
+        try {
+            int count = (int) Math.min(max, tail - head);
+            List<T> batch = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                batch.add(dequeueLocked());
+            }
+            if (count > 0) {
+                notFull.signalAll();
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean coalesceLocked(T order) {
+        if (!coalescing) {
+            return false;
+        }
+        Long sequence = pendingSequenceByName.get(order.name());
+        if (sequence == null) {
+            return false;
+        }
+        orders[slot(sequence)] = order;
+        coalescedCount++;
+        LOGGER.debug("Coalesced order for already pending material: {}", order.name());
+        return true;
+    }
+
+    private void enqueueLocked(T order) {
+        if (tail - head == orders.length) {
+            growLocked();
+        }
+        orders[slot(tail)] = order;
+        if (coalescing) {
+            pendingSequenceByName.put(order.name(), tail);
+        }
+        tail++;
+        acceptedCount++;
+        notEmpty.signal();
+    }
+
+    private T dequeueLocked() {
+        T order = orderAt(head);
+        orders[slot(head)] = null;
+        if (coalescing) {
+            pendingSequenceByName.remove(order.name(), head);
+        }
+        head++;
+        return order;
+    }
+
+    // Doubles the ring buffer, up to the capacity; pending orders move to their slots in the new one
+    private void growLocked() {
+        Object[] grown = new Object[(int) Math.min(capacity, 2L * orders.length)];
+        for (long sequence = head; sequence < tail; sequence++) {
+            grown[(int) (sequence % grown.length)] = orders[slot(sequence)];
+        }
+        orders = grown;
+        LOGGER.debug("Grew order pipeline buffer to {} slots", grown.length);
+    }
+
+    private boolean isFullLocked() {
+        return tail - head == capacity;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T orderAt(long sequence) {
+        return (T) orders[slot(sequence)];
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % orders.length);
+    }
+}
@@ -1,36 +1,105 @@
 package com.solvd.buildingcompany.models;
 
+import com.solvd.buildingcompany.collections.IntervalTree;
+import com.solvd.buildingcompany.collections.OccupiedRangeTree;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.time.LocalDate;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
 
+/**
+ * Projects by start date. A project occupies its start date and the following days of its
+ * calculateConstructionTime, rounded up, taken when it is scheduled or rescheduled.
+ * Each project's days are kept in an {@link IntervalTree}, so availability checks, overlap
+ * queries and removals only visit the projects involved. The same days merged into date ranges
+ * are kept in an {@link OccupiedRangeTree}, which finds the earliest free window in O(log n)
+ * instead of a day-by-day walk.
+ */
 public class ProjectSchedule<T extends Project> {
     private static final Logger LOGGER = LogManager.getLogger(ProjectSchedule.class);
 
-    private NavigableMap<LocalDate, T> scheduledProjects;
+    private final NavigableMap<LocalDate, T> scheduledProjects;
+    // First free day after each scheduled project, by start date
+    private final NavigableMap<LocalDate, LocalDate> endDates;
+    // Days of each project as epoch days, by start
+    private final IntervalTree projectDays;
+    // All occupied days merged into ranges, only for the free-window search
+    private final OccupiedRangeTree occupiedDays;
 
     public ProjectSchedule() {
-        this.scheduledProjects = new TreeMap<>();
+        this(new TreeMap<>(), new TreeMap<>());
+    }
+
+    /**
+     * @param scheduledProjects Empty map to hold the projects by start date
+     * @param endDates Empty map to hold the end date of each project by start date
+     */
+    protected ProjectSchedule(NavigableMap<LocalDate, T> scheduledProjects, NavigableMap<LocalDate, LocalDate> endDates) {
+        this.scheduledProjects = scheduledProjects;
+        this.endDates = endDates;
+        this.projectDays = new IntervalTree();
+        this.occupiedDays = new OccupiedRangeTree();
         LOGGER.debug("Created new project schedule");
     }
 
+    /**
+     * @return Read-only view; the schedule changes through its methods so the occupied days stay in step
+     */
     public NavigableMap<LocalDate, T> getScheduledProjects() {
-        return scheduledProjects;
+        return Collections.unmodifiableNavigableMap(scheduledProjects);
     }
 
     public void setScheduledProjects(NavigableMap<LocalDate, T> scheduledProjects) {
-        this.scheduledProjects = scheduledProjects;
-        LOGGER.debug("Updated project schedule with {} projects", scheduledProjects.size());
+        // Copied first, as the argument may be a view of this schedule
+        NavigableMap<LocalDate, T> projects = new TreeMap<>(scheduledProjects);
+        clearSchedule();
+        projects.forEach(this::scheduleProject);
+        LOGGER.debug("Updated project schedule with {} projects", projects.size());
     }
 
     public void scheduleProject(LocalDate startDate, T project) {
+        if (scheduledProjects.containsKey(startDate)) {
+            removeScheduledProject(startDate);
+        }
         scheduledProjects.put(startDate, project);
-        LOGGER.debug("Scheduled project '{}' to start on {}", project.getName(), startDate);
+        LocalDate endDate = startDate.plusDays(getDurationDays(project));
+        endDates.put(startDate, endDate);
+        projectDays.put(startDate.toEpochDay(), endDate.toEpochDay());
+        occupiedDays.add(startDate.toEpochDay(), endDate.toEpochDay());
+        LOGGER.debug("Scheduled project '{}' from {} until {}", project.getName(), startDate, endDate);
+    }
+
+    /**
+     * Schedules the project only if none of its days is taken by another project
+     *
+     * @return true if the project was scheduled
+     */
+    public boolean scheduleIfAvailable(LocalDate startDate, T project) {
+        if (projectDays.overlaps(startDate.toEpochDay(), startDate.toEpochDay() + getDurationDays(project))) {
+            LOGGER.debug("Days from {} are taken, project '{}' not scheduled", startDate, project.getName());
+            return false;
+        }
+        scheduleProject(startDate, project);
+        return true;
+    }
+
+    /**
+     * Schedules the project at the earliest date on or after afterDate where all its days are free
+     *
+     * @return The start date the project got
+     */
+    public LocalDate claimNextAvailableDate(LocalDate afterDate, T project) {
+        LocalDate startDate = LocalDate.ofEpochDay(
+                occupiedDays.firstFreeWindow(afterDate.toEpochDay(), getDurationDays(project)));
+        scheduleProject(startDate, project);
+        return startDate;
     }
 
     public T getProject(LocalDate date) {
@@ -58,12 +127,35 @@ public class ProjectSchedule<T extends Project> {
     }
 
     public NavigableMap<LocalDate, T> getProjectsBetweenDates(LocalDate startDate, LocalDate endDate) {
-        return scheduledProjects.subMap(startDate, true, endDate, true);
+        return Collections.unmodifiableNavigableMap(scheduledProjects.subMap(startDate, true, endDate, true));
+    }
+
+    /**
+     * @return Projects with at least one day between startDate and endDate (inclusive), by start date
+     */
+    public List<T> getOverlappingProjects(LocalDate startDate, LocalDate endDate) {
+        List<T> overlapping = new ArrayList<>();
+        if (startDate.isAfter(endDate)) {
+            return overlapping;
+        }
+        for (IntervalTree.Interval days : projectDays.overlapping(startDate.toEpochDay(), endDate.toEpochDay() + 1)) {
+            overlapping.add(scheduledProjects.get(LocalDate.ofEpochDay(days.start())));
+        }
+        LOGGER.debug("Found {} projects overlapping {} to {}", overlapping.size(), startDate, endDate);
+        return overlapping;
+    }
+
+    /**
+     * @return The first free day after the project starting on startDate, or null if none starts then
+     */
+    public LocalDate getEndDate(LocalDate startDate) {
+        return endDates.get(startDate);
     }
 
     public boolean removeScheduledProject(LocalDate date) {
         T removed = scheduledProjects.remove(date);
         if (removed != null) {
+            release(date);
             LOGGER.debug("Removed project '{}' from schedule", removed.getName());
             return true;
         }
@@ -76,29 +168,110 @@ public class ProjectSchedule<T extends Project> {
 
     public void clearSchedule() {
         scheduledProjects.clear();
+        endDates.clear();
+        projectDays.clear();
+        occupiedDays.clear();
         LOGGER.debug("Cleared project schedule");
     }
 
+    /**
+     * @return true if no scheduled project runs on the date
+     */
     public boolean isDateAvailable(LocalDate date) {
-        return !scheduledProjects.containsKey(date);
+        return !projectDays.overlaps(date.toEpochDay(), date.toEpochDay() + 1);
+    }
+
+    /**
+     * @return true if no scheduled project runs on any of the days from startDate
+     */
+    public boolean isWindowAvailable(LocalDate startDate, int days) {
+        checkDays(days);
+        return !projectDays.overlaps(startDate.toEpochDay(), startDate.toEpochDay() + days);
     }
 
     public LocalDate getEarliestAvailableDate(LocalDate afterDate) {
-        LocalDate checkDate = afterDate;
-        while (!isDateAvailable(checkDate)) {
-            checkDate = checkDate.plusDays(1);
+        return getEarliestAvailableWindow(afterDate, 1);
+    }
+
+    /**
+     * @return The earliest date on or after afterDate that starts the given number of free days
+     */
+    public LocalDate getEarliestAvailableWindow(LocalDate afterDate, int days) {
+        checkDays(days);
+        LocalDate windowStart = LocalDate.ofEpochDay(occupiedDays.firstFreeWindow(afterDate.toEpochDay(), days));
+        LOGGER.debug("Found earliest {}-day window starting {}", days, windowStart);
+        return windowStart;
+    }
+
+    /**
+     * Moves the project from oldDate to newDate if expectedProject is still the one starting
+     * on oldDate and its days from newDate are free of other projects. Nothing is overwritten;
+     * the project is added at newDate before it is removed from oldDate.
+     *
+     * @return true if the project was moved
+     */
+    public boolean moveProject(LocalDate oldDate, LocalDate newDate, T expectedProject) {
+        T project = scheduledProjects.get(oldDate);
+        if (project == null || project != expectedProject) {
+            LOGGER.debug("Project on {} is not the expected one, not moved", oldDate);
+            return false;
+        }
+        if (oldDate.equals(newDate)) {
+            return true;
+        }
+        LocalDate endDate = newDate.plusDays(getDurationDays(project));
+        if (projectDays.overlapsExcept(newDate.toEpochDay(), endDate.toEpochDay(), oldDate.toEpochDay())) {
+            LOGGER.debug("Days from {} are taken, project '{}' not moved", newDate, project.getName());
+            return false;
         }
-        LOGGER.debug("Found earliest available date: {}", checkDate);
-        return checkDate;
+        scheduledProjects.put(newDate, project);
+        endDates.put(newDate, endDate);
+        projectDays.put(newDate.toEpochDay(), endDate.toEpochDay());
+        occupiedDays.add(newDate.toEpochDay(), endDate.toEpochDay());
+        scheduledProjects.remove(oldDate);
+        release(oldDate);
+        LOGGER.debug("Moved project '{}' from {} to {}", project.getName(), oldDate, newDate);
+        return true;
     }
 
     public void rescheduleProject(LocalDate oldDate, LocalDate newDate) {
-        T project = scheduledProjects.remove(oldDate);
+        T project = scheduledProjects.get(oldDate);
         if (project != null) {
-            scheduledProjects.put(newDate, project);
+            if (oldDate.equals(newDate)) {
+                return;
+            }
+            // Added before it is removed, so a concurrent reader never misses the project
+            scheduleProject(newDate, project);
+            removeScheduledProject(oldDate);
             LOGGER.debug("Rescheduled project '{}' from {} to {}", project.getName(), oldDate, newDate);
         } else {
             LOGGER.debug("No project found on {} to reschedule", oldDate);
         }
     }
+
+    /**
+     * @return Days the project occupies: its construction time rounded up, at least one
+     */
+    public static long getDurationDays(Project project) {
+        return Math.max(1, (long) Math.ceil(project.calculateConstructionTime()));
+    }
+
+    private static void checkDays(int days) {
+        if (days < 1) {
+            throw new IllegalArgumentException("Number of days must be positive: " + days);
+        }
+    }
+
+    // Frees the project's days, then occupies again those of them other projects still run on
+    private void release(LocalDate startDate) {
+        LocalDate endDate = endDates.remove(startDate);
+        long start = startDate.toEpochDay();
+        long end = endDate.toEpochDay();
+        projectDays.remove(start);
+        occupiedDays.remove(start, end);
+        for (IntervalTree.Interval days : projectDays.overlapping(start, end)) {
+            occupiedDays.add(Math.max(days.start(), start), Math.min(days.end(), end));
+        }
+        LOGGER.debug("Released {} to {}", startDate, endDate);
+    }
 }
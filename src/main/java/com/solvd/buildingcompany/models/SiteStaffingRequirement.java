@@ -0,0 +1,94 @@
+package com.solvd.buildingcompany.models;
+
+import com.solvd.buildingcompany.services.ConstructionCalculator;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * What a construction site needs from the workforce: a minimum number of members per
+ * position and the hours each member works there per month, which sets what they cost
+ * on this site. The team has at least ConstructionCalculator.MIN_TEAM_SIZE members;
+ * places beyond the position counts can be filled by any position.
+ */
+public class SiteStaffingRequirement {
+    private static final Logger LOGGER = LogManager.getLogger(SiteStaffingRequirement.class);
+
+    private final ConstructionSite site;
+    private int monthlyHours;
+    private final Map<String, Integer> positionCounts;
+
+    public SiteStaffingRequirement(ConstructionSite site, int monthlyHours) {
+        if (site == null) {
+            throw new IllegalArgumentException("Site cannot be null");
+        }
+        if (monthlyHours <= 0) {
+            throw new IllegalArgumentException("Monthly hours must be positive: " + monthlyHours);
+        }
+        this.site = site;
+        this.monthlyHours = monthlyHours;
+        this.positionCounts = new LinkedHashMap<>();
+        LOGGER.debug("Staffing requirement created for site at: {}", site.getAddress());
+    }
+
+    /**
+     * @param position Position the members must have
+     * @param count Minimum number of members with that position; 0 removes the requirement
+     * @return This requirement, so several positions can be chained
+     */
+    public SiteStaffingRequirement requirePosition(String position, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Position count cannot be negative: " + count);
+        }
+        if (count == 0) {
+            positionCounts.remove(position);
+        } else {
+            positionCounts.put(position, count);
+        }
+        return this;
+    }
+
+    public ConstructionSite getSite() {
+        return site;
+    }
+
+    public int getMonthlyHours() {
+        return monthlyHours;
+    }
+
+    public void setMonthlyHours(int monthlyHours) {
+        if (monthlyHours <= 0) {
+            throw new IllegalArgumentException("Monthly hours must be positive: " + monthlyHours);
+        }
+        this.monthlyHours = monthlyHours;
+    }
+
+    public Map<String, Integer> getPositionCounts() {
+        return Collections.unmodifiableMap(positionCounts);
+    }
+
+    public int getRequiredCount(String position) {
+        return positionCounts.getOrDefault(position, 0);
+    }
+
+    /**
+     * @return Members the site gets: the position counts, raised to the minimum team size
+     */
+    public int getTeamSize() {
+        int required = 0;
+        for (int count : positionCounts.values()) {
+            required += count;
+        }
+        return Math.max(required, ConstructionCalculator.MIN_TEAM_SIZE);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SiteStaffingRequirement: %s, %d hours/month, positions %s, team of %d",
+                site.getAddress(), monthlyHours, positionCounts, getTeamSize());
+    }
+}
@@ -0,0 +1,263 @@
+package com.solvd.buildingcompany.models;
+
+import com.solvd.buildingcompany.collections.RoaringBitmap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.*;
+
+/**
+ * Many-to-many index of which supplier delivers which material.
+ * Suppliers and material names get dense int ids, and each side keeps a
+ * {@link RoaringBitmap} of the other side's ids, so "suppliers that deliver all
+ * of these materials" is an intersection of the materials' bitmaps and
+ * "any of these" is a union. Ids of removed suppliers and materials are reused.
+ * Not thread-safe.
+ */
+public class SupplierMaterialIndex {
+    private static final Logger LOGGER = LogManager.getLogger(SupplierMaterialIndex.class);
+
+    private final Dictionary suppliers;
+    private final Dictionary materials;
+    // Indexed by supplier id / material id
+    private final List<RoaringBitmap> materialsBySupplier;
+    private final List<RoaringBitmap> suppliersByMaterial;
+
+    // Name <-> dense id mapping with id reuse
+    private static class Dictionary {
+        private final Map<String, Integer> idsByName = new HashMap<>();
+        private final List<String> namesById = new ArrayList<>();
+        private final Deque<Integer> freeIds = new ArrayDeque<>();
+
+        private int idOf(String name) {
+            Integer id = idsByName.get(name);
+            return id == null ? -1 : id;
+        }
+
+        private int intern(String name) {
+            Integer id = idsByName.get(name);
+            if (id != null) {
+                return id;
+            }
+            int newId;
+            if (freeIds.isEmpty()) {
+                newId = namesById.size();
+                namesById.add(name);
+            } else {
+                newId = freeIds.pop();
+                namesById.set(newId, name);
+            }
+            idsByName.put(name, newId);
+            return newId;
+        }
+
+        private void release(int id) {
+            idsByName.remove(namesById.get(id));
+            namesById.set(id, null);
+            freeIds.push(id);
+        }
+
+        private String nameOf(int id) {
+            return namesById.get(id);
+        }
+    }
+
+    public SupplierMaterialIndex() {
+        this.suppliers = new Dictionary();
+        this.materials = new Dictionary();
+        this.materialsBySupplier = new ArrayList<>();
+        this.suppliersByMaterial = new ArrayList<>();
+        LOGGER.debug("Created new supplier/material index");
+    }
+
+    /**
+     * Records that the supplier delivers the material
+     * @return true if the link is new
+     */
+    public boolean link(String supplier, String materialName) {
+        int supplierId = suppliers.intern(supplier);
+        int materialId = materials.intern(materialName);
+        bitmapAt(materialsBySupplier, supplierId).add(materialId);
+        boolean added = bitmapAt(suppliersByMaterial, materialId).add(supplierId);
+        if (added) {
+            LOGGER.debug("Linked supplier {} to material {}", supplier, materialName);
+        }
+        return added;
+    }
+
+    /**
+     * @return true if the link existed
+     */
+    public boolean unlink(String supplier, String materialName) {
+        int supplierId = suppliers.idOf(supplier);
+        int materialId = materials.idOf(materialName);
+        if (supplierId < 0 || materialId < 0 || !materialsBySupplier.get(supplierId).remove(materialId)) {
+            return false;
+        }
+        suppliersByMaterial.get(materialId).remove(supplierId);
+        releaseIfUnused(materials, suppliersByMaterial, materialId);
+        releaseIfUnused(suppliers, materialsBySupplier, supplierId);
+        return true;
+    }
+
+    // Drops every link of the supplier
+    public boolean removeSupplier(String supplier) {
+        int supplierId = suppliers.idOf(supplier);
+        if (supplierId < 0) {
+            return false;
+        }
+        materialsBySupplier.get(supplierId).forEach(materialId -> {
+            suppliersByMaterial.get(materialId).remove(supplierId);
+            releaseIfUnused(materials, suppliersByMaterial, materialId);
+        });
+        materialsBySupplier.get(supplierId).clear();
+        suppliers.release(supplierId);
+        LOGGER.debug("Removed supplier {} from index", supplier);
+        return true;
+    }
+
+    // Drops every link of the material
+    public boolean removeMaterial(String materialName) {
+        int materialId = materials.idOf(materialName);
+        if (materialId < 0) {
+            return false;
+        }
+        suppliersByMaterial.get(materialId).forEach(supplierId -> {
+            materialsBySupplier.get(supplierId).remove(materialId);
+            releaseIfUnused(suppliers, materialsBySupplier, supplierId);
+        });
+        suppliersByMaterial.get(materialId).clear();
+        materials.release(materialId);
+        LOGGER.debug("Removed material {} from index", materialName);
+        return true;
+    }
+
+    public boolean isLinked(String supplier, String materialName) {
+        int supplierId = suppliers.idOf(supplier);
+        int materialId = materials.idOf(materialName);
+        return supplierId >= 0 && materialId >= 0 && materialsBySupplier.get(supplierId).contains(materialId);
+    }
+
+    public Set<String> getMaterials(String supplier) {
+        int supplierId = suppliers.idOf(supplier);
+        return supplierId < 0 ? Collections.emptySet() : namesOf(materials, materialsBySupplier.get(supplierId));
+    }
+
+    public Set<String> getSuppliers(String materialName) {
+        int materialId = materials.idOf(materialName);
+        return materialId < 0 ? Collections.emptySet() : namesOf(suppliers, suppliersByMaterial.get(materialId));
+    }
+
+    /**
+     * @return Suppliers that deliver every one of the materials
+     */
+    public Set<String> findSuppliersForAll(Collection<String> materialNames) {
+        return namesOf(suppliers, intersect(materials, suppliersByMaterial, materialNames));
+    }
+
+    /**
+     * @return Suppliers that deliver at least one of the materials
+     */
+    public Set<String> findSuppliersForAny(Collection<String> materialNames) {
+        return namesOf(suppliers, union(materials, suppliersByMaterial, materialNames));
+    }
+
+    /**
+     * @return Materials that every one of the suppliers delivers
+     */
+    public Set<String> findMaterialsFromAll(Collection<String> supplierNames) {
+        return namesOf(materials, intersect(suppliers, materialsBySupplier, supplierNames));
+    }
+
+    /**
+     * @return Materials that at least one of the suppliers delivers
+     */
+    public Set<String> findMaterialsFromAny(Collection<String> supplierNames) {
+        return namesOf(materials, union(suppliers, materialsBySupplier, supplierNames));
+    }
+
+    /**
+     * Same intersection as findSuppliersForAll without building the name set
+     * @return Number of suppliers that deliver every one of the materials
+     */
+    public int countSuppliersForAll(Collection<String> materialNames) {
+        return intersect(materials, suppliersByMaterial, materialNames).getCardinality();
+    }
+
+    // Suppliers with at least one linked material
+    public Set<String> getLinkedSuppliers() {
+        return new HashSet<>(suppliers.idsByName.keySet());
+    }
+
+    public int getSupplierCount() {
+        return suppliers.idsByName.size();
+    }
+
+    public int getMaterialCount() {
+        return materials.idsByName.size();
+    }
+
+    // Approximate bytes held by the bitmaps
+    public long getBitmapSizeInBytes() {
+        long bytes = 0;
+        for (RoaringBitmap bitmap : materialsBySupplier) {
+            bytes += bitmap.getSizeInBytes();
+        }
+        for (RoaringBitmap bitmap : suppliersByMaterial) {
+            bytes += bitmap.getSizeInBytes();
+        }
+        return bytes;
+    }
+
+    // Smallest bitmaps first, so the running result shrinks fast and can stop once empty
+    private static RoaringBitmap intersect(Dictionary keys, List<RoaringBitmap> bitmaps, Collection<String> names) {
+        if (names.isEmpty()) {
+            return new RoaringBitmap();
+        }
+        List<RoaringBitmap> operands = new ArrayList<>(names.size());
+        for (String name : names) {
+            int id = keys.idOf(name);
+            if (id < 0) {
+                return new RoaringBitmap();
+            }
+            operands.add(bitmaps.get(id));
+        }
+        operands.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+        RoaringBitmap result = operands.get(0).copy();
+        for (int i = 1; i < operands.size() && !result.isEmpty(); i++) {
+            result = RoaringBitmap.and(result, operands.get(i));
+        }
+        return result;
+    }
+
+    private static RoaringBitmap union(Dictionary keys, List<RoaringBitmap> bitmaps, Collection<String> names) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (String name : names) {
+            int id = keys.idOf(name);
+            if (id >= 0) {
+                result.addAll(bitmaps.get(id));
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> namesOf(Dictionary dictionary, RoaringBitmap ids) {
+        Set<String> names = new LinkedHashSet<>();
+        ids.forEach(id -> names.add(dictionary.nameOf(id)));
+        return names;
+    }
+
+    private static void releaseIfUnused(Dictionary dictionary, List<RoaringBitmap> bitmaps, int id) {
+        if (bitmaps.get(id).isEmpty()) {
+            dictionary.release(id);
+        }
+    }
+
+    private static RoaringBitmap bitmapAt(List<RoaringBitmap> bitmaps, int id) {
+        while (bitmaps.size() <= id) {
+            bitmaps.add(new RoaringBitmap());
+        }
+        return bitmaps.get(id);
+    }
+}
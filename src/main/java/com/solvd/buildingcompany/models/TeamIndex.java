@@ -0,0 +1,614 @@
+package com.solvd.buildingcompany.models;
+
+import com.solvd.buildingcompany.interfaces.TeamFilter;
+import com.solvd.buildingcompany.models.workers.AbstractConstructionTeamMember;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.*;
+
+/**
+ * Members of a team and the aggregates kept over them: position lists, members ordered by
+ * experience, certified and per-level counts, and the team cost for one number of hours.
+ * Shared by {@link ConstructionTeam} and {@link ConcurrentConstructionTeam}, which decide
+ * how it is guarded and published; the index itself is not thread-safe and does not
+ * listen to its members, the owning team passes their changes to update.
+ */
+class TeamIndex<T extends AbstractConstructionTeamMember> {
+    private static final Logger LOGGER = LogManager.getLogger(TeamIndex.class);
+    // Extra cost of an indexed candidate (stats lookup and ordering), in filter node tests
+    private static final int INDEXED_CANDIDATE_COST = 6;
+    // Smallest addAll batch for which rebuilding the experience index can beat inserting
+    private static final int BULK_LOAD_MIN_BATCH = 64;
+
+    private final ArrayList<T> members;
+    private final Map<String, List<T>> membersByPosition;
+    private final Set<String> uniqueSpecializations;
+
+    // What each member currently contributes to the aggregates
+    private Map<T, MemberStats<T>> statsByMember;
+    // Highest experience first, earlier joiners first on ties
+    private final Comparator<MemberStats<T>> experienceOrder;
+    private final TreeSet<MemberStats<T>> membersByExperience;
+    private final Map<String, Integer> certifiedCountByPosition;
+    // Secondary indexes for the filter planner and experience range queries
+    private Set<T> certifiedMembers;
+    // Member count per experience level; levels are small, so range counts visit few buckets
+    private final TreeMap<Integer, Integer> countByExperience;
+    private long nextSequence;
+    // Team cost is kept for one hours value; another value triggers a full recompute
+    private boolean costTracked;
+    private int costHours;
+    private double teamCost;
+
+    private static class MemberStats<T> {
+        private final T member;
+        private final long sequence;
+        private String position;
+        private int experienceLevel;
+        private boolean certified;
+        private double salary;
+
+        public MemberStats(T member, long sequence) {
+            this.member = member;
+            this.sequence = sequence;
+        }
+
+        // Search bound in membersByExperience that no member equals
+        private static <T> MemberStats<T> bound(int experienceLevel, long sequence) {
+            MemberStats<T> bound = new MemberStats<>(null, sequence);
+            bound.experienceLevel = experienceLevel;
+            return bound;
+        }
+    }
+
+    TeamIndex() {
+        this.members = new ArrayList<>();
+        this.membersByPosition = new HashMap<>();
+        this.uniqueSpecializations = new LinkedHashSet<>();
+        this.statsByMember = new IdentityHashMap<>();
+        this.experienceOrder = (a, b) -> a.experienceLevel != b.experienceLevel
+                ? Integer.compare(b.experienceLevel, a.experienceLevel)
+                : Long.compare(a.sequence, b.sequence);
+        this.membersByExperience = new TreeSet<>(experienceOrder);
+        this.certifiedCountByPosition = new HashMap<>();
+        this.certifiedMembers = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.countByExperience = new TreeMap<>();
+    }
+
+    /**
+     * @return false if the member was already in the index
+     */
+    boolean add(T member) {
+        if (statsByMember.containsKey(member)) {
+            return false;
+        }
+        members.add(member);
+        MemberStats<T> stats = new MemberStats<>(member, nextSequence++);
+        statsByMember.put(member, stats);
+        include(stats, true);
+        return true;
+    }
+
+    /**
+     * Adds the members not already in the index, in iteration order. The member list is
+     * sized once and position lists and specializations are updated once per position
+     * @return The members added
+     */
+    List<T> addAll(Collection<? extends T> newMembers) {
+        members.ensureCapacity(members.size() + newMembers.size());
+        if (newMembers.size() > statsByMember.size()) {
+            // Size the identity maps once instead of doubling them through the batch
+            Map<T, MemberStats<T>> resizedStats = new IdentityHashMap<>(statsByMember.size() + newMembers.size());
+            resizedStats.putAll(statsByMember);
+            statsByMember = resizedStats;
+            Set<T> resizedCertified = Collections.newSetFromMap(
+                    new IdentityHashMap<>(certifiedMembers.size() + newMembers.size()));
+            resizedCertified.addAll(certifiedMembers);
+            certifiedMembers = resizedCertified;
+        }
+        List<MemberStats<T>> batch = new ArrayList<>(newMembers.size());
+        List<T> added = new ArrayList<>(newMembers.size());
+        for (T member : newMembers) {
+            if (statsByMember.containsKey(member)) {
+                continue;
+            }
+            MemberStats<T> stats = new MemberStats<>(member, nextSequence++);
+            statsByMember.put(member, stats);
+            members.add(member);
+            batch.add(stats);
+            added.add(member);
+        }
+        includeAll(batch);
+        return added;
+    }
+
+    /**
+     * @return false if the member was not in the index
+     */
+    boolean remove(Object member) {
+        MemberStats<T> stats = statsByMember.remove(member);
+        if (stats == null) {
+            return false;
+        }
+        exclude(stats, true);
+        members.remove(stats.member);
+        if (members.isEmpty()) {
+            // Drop rounding left over from subtracting salaries
+            teamCost = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Takes the member's current fields into the aggregates again
+     * @return false if the member is not in the index
+     */
+    boolean update(Object member) {
+        MemberStats<T> stats = statsByMember.get(member);
+        if (stats == null) {
+            return false;
+        }
+        // Keep the member's place in its position list unless the position changed
+        boolean positionChanged = !Objects.equals(stats.position, stats.member.getPosition());
+        exclude(stats, positionChanged);
+        include(stats, positionChanged);
+        return true;
+    }
+
+    void clear() {
+        members.clear();
+        membersByPosition.clear();
+        uniqueSpecializations.clear();
+        statsByMember.clear();
+        membersByExperience.clear();
+        certifiedCountByPosition.clear();
+        certifiedMembers.clear();
+        countByExperience.clear();
+        teamCost = 0;
+    }
+
+    /**
+     * @return Position the member is indexed under, or null if it is not in the index
+     */
+    String positionOf(Object member) {
+        MemberStats<T> stats = statsByMember.get(member);
+        return stats == null ? null : stats.position;
+    }
+
+    List<T> getMembers() {
+        return Collections.unmodifiableList(members);
+    }
+
+    List<T> getMembersByPosition(String position) {
+        List<T> positionMembers = membersByPosition.get(position);
+        return positionMembers == null ? Collections.emptyList() : Collections.unmodifiableList(positionMembers);
+    }
+
+    Set<String> getUniqueSpecializations() {
+        return uniqueSpecializations;
+    }
+
+    int size() {
+        return members.size();
+    }
+
+    Map<String, Integer> getCertifiedCounts() {
+        return Collections.unmodifiableMap(certifiedCountByPosition);
+    }
+
+    int getCertifiedCount(String position) {
+        return certifiedCountByPosition.getOrDefault(position, 0);
+    }
+
+    double calculateTeamCost(int hours) {
+        if (!costTracked || hours != costHours) {
+            // Different hours: price every member once, then keep the sum up to date
+            costTracked = true;
+            costHours = hours;
+            teamCost = 0;
+            for (MemberStats<T> stats : statsByMember.values()) {
+                stats.salary = stats.member.calculateMonthlySalary(hours);
+                teamCost += stats.salary;
+            }
+        }
+        return teamCost;
+    }
+
+    T getTeamLead() {
+        return membersByExperience.isEmpty() ? null : membersByExperience.first().member;
+    }
+
+    // Live view over the experience index, most experienced first
+    Collection<T> getMembersWithExperience(int minExperience, int maxExperience) {
+        if (minExperience > maxExperience) {
+            return Collections.emptyList();
+        }
+        return new ExperienceRangeView(minExperience, maxExperience);
+    }
+
+    int countMembersWithExperience(int minExperience, int maxExperience) {
+        if (minExperience > maxExperience) {
+            return 0;
+        }
+        int count = 0;
+        for (int levelCount : countByExperience.subMap(minExperience, true, maxExperience, true).values()) {
+            count += levelCount;
+        }
+        return count;
+    }
+
+    // Matches in join order; see ConstructionTeam.findMembers
+    List<T> findMembers(TeamFilter<? super T> filter) {
+        Collection<T> candidates = candidates(filter, filterSize(filter));
+        if (candidates == null) {
+            List<T> matches = new ArrayList<>();
+            for (T member : members) {
+                if (filter.test(member)) {
+                    matches.add(member);
+                }
+            }
+            return matches;
+        }
+        List<MemberStats<T>> matches = new ArrayList<>();
+        boolean ordered = true;
+        long lastSequence = -1;
+        for (T member : candidates) {
+            if (filter.test(member)) {
+                MemberStats<T> stats = statsByMember.get(member);
+                ordered &= stats.sequence > lastSequence;
+                lastSequence = stats.sequence;
+                matches.add(stats);
+            }
+        }
+        if (!ordered) {
+            matches.sort(Comparator.comparingLong(stats -> stats.sequence));
+        }
+        List<T> result = new ArrayList<>(matches.size());
+        for (MemberStats<T> stats : matches) {
+            result.add(stats.member);
+        }
+        LOGGER.debug("Filter answered from {} indexed candidates", candidates.size());
+        return result;
+    }
+
+    int countMembers(TeamFilter<? super T> filter) {
+        Collection<T> candidates = candidates(filter, filterSize(filter));
+        int count = 0;
+        for (T member : candidates != null ? candidates : members) {
+            if (filter.test(member)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    Map<String, Long> getMemberCountByPosition() {
+        Map<String, Long> counts = new HashMap<>();
+        membersByPosition.forEach((position, positionMembers) -> counts.put(position, (long) positionMembers.size()));
+        return counts;
+    }
+
+    /**
+     * Picks the smallest index-backed superset of the filter's matches
+     * @param filterSize Node count of the whole filter, the cost of testing one member
+     * @return Candidate members, or null if the filter is cheaper to answer with a full scan
+     */
+    private Collection<T> candidates(TeamFilter<?> filter, int filterSize) {
+        Collection<T> candidates;
+        if (filter instanceof TeamFilter.Position<?> position) {
+            candidates = getMembersByPosition(position.position());
+        } else if (filter instanceof TeamFilter.Certified<?>) {
+            candidates = certifiedMembers;
+        } else if (filter instanceof TeamFilter.ExperienceRange<?> range) {
+            candidates = getMembersWithExperience(range.minExperience(), range.maxExperience());
+        } else if (filter instanceof TeamFilter.And<?> and) {
+            Collection<T> left = candidates(and.left(), filterSize);
+            Collection<T> right = candidates(and.right(), filterSize);
+            candidates = left == null ? right
+                    : right == null ? left
+                    : left.size() <= right.size() ? left : right;
+        } else if (filter instanceof TeamFilter.Or<?> or) {
+            Collection<T> left = candidates(or.left(), filterSize);
+            Collection<T> right = candidates(or.right(), filterSize);
+            if (left == null || right == null || !worthIndexing(left.size() + right.size(), filterSize)) {
+                return null;
+            }
+            candidates = union(left, right);
+        } else {
+            return null;
+        }
+        return candidates == null || !worthIndexing(candidates.size(), filterSize) ? null : candidates;
+    }
+
+    // Testing the candidates plus their indexing overhead must beat testing every member
+    private boolean worthIndexing(int candidateCount, int filterSize) {
+        return (long) candidateCount * (filterSize + INDEXED_CANDIDATE_COST) < (long) members.size() * filterSize;
+    }
+
+    private static int filterSize(TeamFilter<?> filter) {
+        if (filter instanceof TeamFilter.And<?> and) {
+            return 1 + filterSize(and.left()) + filterSize(and.right());
+        } else if (filter instanceof TeamFilter.Or<?> or) {
+            return 1 + filterSize(or.left()) + filterSize(or.right());
+        } else if (filter instanceof TeamFilter.Not<?> not) {
+            return 1 + filterSize(not.filter());
+        }
+        return 1;
+    }
+
+    // Members of both collections once each, in join order. The inputs are mostly in join order
+    // already, so the sort is close to a merge, unlike iterating a hash set in arbitrary order
+    private List<T> union(Collection<T> left, Collection<T> right) {
+        List<MemberStats<T>> stats = new ArrayList<>(left.size() + right.size());
+        for (T member : left) {
+            stats.add(statsByMember.get(member));
+        }
+        for (T member : right) {
+            stats.add(statsByMember.get(member));
+        }
+        stats.sort(Comparator.comparingLong(memberStats -> memberStats.sequence));
+        List<T> union = new ArrayList<>(stats.size());
+        long lastSequence = -1;
+        for (MemberStats<T> memberStats : stats) {
+            if (memberStats.sequence != lastSequence) {
+                union.add(memberStats.member);
+                lastSequence = memberStats.sequence;
+            }
+        }
+        return union;
+    }
+
+    // Batch members are in join order, so a stable sort by level gives the index order; levels
+    // are small integers, so a counting sort over the batch's level range usually does it
+    private List<MemberStats<T>> sortByExperience(List<MemberStats<T>> batch) {
+        int minLevel = Integer.MAX_VALUE;
+        int maxLevel = Integer.MIN_VALUE;
+        for (MemberStats<T> stats : batch) {
+            minLevel = Math.min(minLevel, stats.experienceLevel);
+            maxLevel = Math.max(maxLevel, stats.experienceLevel);
+        }
+        List<MemberStats<T>> sorted = new ArrayList<>(batch);
+        if (batch.isEmpty() || (long) maxLevel - minLevel > batch.size()) {
+            sorted.sort(experienceOrder);
+            return sorted;
+        }
+        // Start of each level's run, highest level first
+        int[] next = new int[maxLevel - minLevel + 2];
+        for (MemberStats<T> stats : batch) {
+            next[maxLevel - stats.experienceLevel + 1]++;
+        }
+        for (int i = 1; i < next.length; i++) {
+            next[i] += next[i - 1];
+        }
+        for (MemberStats<T> stats : batch) {
+            sorted.set(next[maxLevel - stats.experienceLevel]++, stats);
+        }
+        return sorted;
+    }
+
+    // Read-only SortedSet over already sorted, distinct stats; range views binary search the list.
+    // TreeSet.addAll into an empty set builds its tree from one of these without comparisons
+    private static final class SortedStats<T> extends AbstractSet<MemberStats<T>>
+            implements SortedSet<MemberStats<T>> {
+        private final List<MemberStats<T>> sorted;
+        private final Comparator<MemberStats<T>> comparator;
+
+        private SortedStats(List<MemberStats<T>> sorted, Comparator<MemberStats<T>> comparator) {
+            this.sorted = sorted;
+            this.comparator = comparator;
+        }
+
+        @Override
+        public Iterator<MemberStats<T>> iterator() {
+            return Collections.unmodifiableList(sorted).iterator();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean contains(Object stats) {
+            return stats instanceof MemberStats<?>
+                    && Collections.binarySearch(sorted, (MemberStats<T>) stats, comparator) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return sorted.size();
+        }
+
+        @Override
+        public Comparator<? super MemberStats<T>> comparator() {
+            return comparator;
+        }
+
+        @Override
+        public MemberStats<T> first() {
+            if (sorted.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            return sorted.get(0);
+        }
+
+        @Override
+        public MemberStats<T> last() {
+            if (sorted.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            return sorted.get(sorted.size() - 1);
+        }
+
+        @Override
+        public SortedSet<MemberStats<T>> subSet(MemberStats<T> fromElement, MemberStats<T> toElement) {
+            if (comparator.compare(fromElement, toElement) > 0) {
+                throw new IllegalArgumentException("fromElement is after toElement");
+            }
+            return new SortedStats<>(sorted.subList(indexOf(fromElement), indexOf(toElement)), comparator);
+        }
+
+        @Override
+        public SortedSet<MemberStats<T>> headSet(MemberStats<T> toElement) {
+            return new SortedStats<>(sorted.subList(0, indexOf(toElement)), comparator);
+        }
+
+        @Override
+        public SortedSet<MemberStats<T>> tailSet(MemberStats<T> fromElement) {
+            return new SortedStats<>(sorted.subList(indexOf(fromElement), sorted.size()), comparator);
+        }
+
+        // Index of the first stats not before the given one
+        private int indexOf(MemberStats<T> stats) {
+            int index = Collections.binarySearch(sorted, stats, comparator);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+
+    // Members whose experience is in [minExperience, maxExperience], read from membersByExperience
+    private class ExperienceRangeView extends AbstractCollection<T> {
+        private final int minExperience;
+        private final int maxExperience;
+        private final NavigableSet<MemberStats<T>> range;
+
+        private ExperienceRangeView(int minExperience, int maxExperience) {
+            this.minExperience = minExperience;
+            this.maxExperience = maxExperience;
+            this.range = membersByExperience.subSet(
+                    MemberStats.bound(maxExperience, Long.MIN_VALUE), true,
+                    MemberStats.bound(minExperience, Long.MAX_VALUE), true);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            Iterator<MemberStats<T>> stats = range.iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return stats.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    return stats.next().member;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return countMembersWithExperience(minExperience, maxExperience);
+        }
+
+        @Override
+        public boolean contains(Object member) {
+            MemberStats<T> stats = statsByMember.get(member);
+            return stats != null && stats.experienceLevel >= minExperience && stats.experienceLevel <= maxExperience;
+        }
+    }
+
+    // Takes a member's current state into every aggregate; position lists only when asked
+    private void include(MemberStats<T> stats, boolean updatePosition) {
+        T member = stats.member;
+        stats.position = member.getPosition();
+        stats.experienceLevel = member.getExperienceLevel();
+        stats.certified = member.isCertified();
+
+        if (updatePosition) {
+            membersByPosition.computeIfAbsent(stats.position, k -> new ArrayList<>()).add(member);
+            uniqueSpecializations.add(stats.position);
+        }
+        if (stats.certified) {
+            certifiedCountByPosition.merge(stats.position, 1, Integer::sum);
+            certifiedMembers.add(member);
+        }
+        membersByExperience.add(stats);
+        countByExperience.merge(stats.experienceLevel, 1, Integer::sum);
+        if (costTracked) {
+            stats.salary = member.calculateMonthlySalary(costHours);
+            teamCost += stats.salary;
+        }
+    }
+
+    // include for a batch of new members, grouping them by position first
+    private void includeAll(List<MemberStats<T>> batch) {
+        // Linked, so new specializations keep the order of their first member
+        Map<String, List<T>> batchByPosition = new LinkedHashMap<>();
+        for (MemberStats<T> stats : batch) {
+            T member = stats.member;
+            stats.position = member.getPosition();
+            stats.experienceLevel = member.getExperienceLevel();
+            stats.certified = member.isCertified();
+
+            batchByPosition.computeIfAbsent(stats.position, k -> new ArrayList<>()).add(member);
+            if (stats.certified) {
+                certifiedCountByPosition.merge(stats.position, 1, Integer::sum);
+                certifiedMembers.add(member);
+            }
+            countByExperience.merge(stats.experienceLevel, 1, Integer::sum);
+            if (costTracked) {
+                stats.salary = member.calculateMonthlySalary(costHours);
+                teamCost += stats.salary;
+            }
+        }
+        addAllByExperience(batch);
+        batchByPosition.forEach((position, positionMembers) -> {
+            List<T> existing = membersByPosition.putIfAbsent(position, positionMembers);
+            if (existing == null) {
+                uniqueSpecializations.add(position);
+            } else {
+                existing.addAll(positionMembers);
+            }
+        });
+    }
+
+    // A batch is inserted member by member unless that costs more than a rebuild: then it is
+    // sorted, merged with the experience index and the tree rebuilt in linear time
+    private void addAllByExperience(List<MemberStats<T>> batch) {
+        int total = membersByExperience.size() + batch.size();
+        int treeDepth = 32 - Integer.numberOfLeadingZeros(total);
+        if (batch.size() < BULK_LOAD_MIN_BATCH || (long) batch.size() * treeDepth < total) {
+            for (MemberStats<T> stats : batch) {
+                membersByExperience.add(stats);
+            }
+            return;
+        }
+        List<MemberStats<T>> sortedBatch = sortByExperience(batch);
+        List<MemberStats<T>> merged = new ArrayList<>(membersByExperience.size() + sortedBatch.size());
+        Iterator<MemberStats<T>> existing = membersByExperience.iterator();
+        MemberStats<T> next = existing.hasNext() ? existing.next() : null;
+        for (MemberStats<T> stats : sortedBatch) {
+            while (next != null && experienceOrder.compare(next, stats) < 0) {
+                merged.add(next);
+                next = existing.hasNext() ? existing.next() : null;
+            }
+            merged.add(stats);
+        }
+        while (next != null) {
+            merged.add(next);
+            next = existing.hasNext() ? existing.next() : null;
+        }
+        // Cleared and refilled rather than replaced, as ExperienceRangeViews hold subsets of it
+        membersByExperience.clear();
+        membersByExperience.addAll(new SortedStats<>(merged, experienceOrder));
+    }
+
+    // Takes back what include added, using the recorded state rather than the member's current one
+    private void exclude(MemberStats<T> stats, boolean updatePosition) {
+        if (updatePosition) {
+            List<T> positionMembers = membersByPosition.get(stats.position);
+            positionMembers.remove(stats.member);
+            if (positionMembers.isEmpty()) {
+                membersByPosition.remove(stats.position);
+                uniqueSpecializations.remove(stats.position);
+            }
+        }
+        if (stats.certified) {
+            certifiedCountByPosition.merge(stats.position, -1, (count, delta) -> count + delta == 0 ? null : count + delta);
+            certifiedMembers.remove(stats.member);
+        }
+        membersByExperience.remove(stats);
+        countByExperience.merge(stats.experienceLevel, -1, (count, delta) -> count + delta == 0 ? null : count + delta);
+        if (costTracked) {
+            teamCost -= stats.salary;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.solvd.buildingcompany.models;
+
+import com.solvd.buildingcompany.models.workers.AbstractConstructionTeamMember;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a workforce allocation: the members chosen for each site, what they cost there
+ * per month, and the workers left unassigned. The cost of the greedy starting allocation is
+ * kept next to the final one, so the gain of the search is visible.
+ */
+public class WorkforceAllocation<T extends AbstractConstructionTeamMember> {
+    private static final Logger LOGGER = LogManager.getLogger(WorkforceAllocation.class);
+
+    private final Map<ConstructionSite, List<T>> assignments;
+    private final Map<ConstructionSite, Double> siteCosts;
+    private final List<T> unassignedWorkers;
+    private final double initialCost;
+    private final double totalCost;
+    private final long movesTried;
+    private final boolean budgetExhausted;
+
+    public WorkforceAllocation(Map<ConstructionSite, List<T>> assignments, Map<ConstructionSite, Double> siteCosts,
+                               List<T> unassignedWorkers, double initialCost, double totalCost,
+                               long movesTried, boolean budgetExhausted) {
+        this.assignments = Collections.unmodifiableMap(assignments);
+        this.siteCosts = Collections.unmodifiableMap(siteCosts);
+        this.unassignedWorkers = Collections.unmodifiableList(unassignedWorkers);
+        this.initialCost = initialCost;
+        this.totalCost = totalCost;
+        this.movesTried = movesTried;
+        this.budgetExhausted = budgetExhausted;
+    }
+
+    /**
+     * @return Members per site, in the order the requirements were given
+     */
+    public Map<ConstructionSite, List<T>> getAssignments() {
+        return assignments;
+    }
+
+    public List<T> getMembers(ConstructionSite site) {
+        return assignments.getOrDefault(site, Collections.emptyList());
+    }
+
+    public double getSiteCost(ConstructionSite site) {
+        return siteCosts.getOrDefault(site, 0.0);
+    }
+
+    public List<T> getUnassignedWorkers() {
+        return unassignedWorkers;
+    }
+
+    /**
+     * @return Monthly salary total of the greedy allocation the search started from
+     */
+    public double getInitialCost() {
+        return initialCost;
+    }
+
+    /**
+     * @return Monthly salary total of this allocation
+     */
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    public long getMovesTried() {
+        return movesTried;
+    }
+
+    /**
+     * @return true if a search was cut off by the time budget rather than running out of improvements
+     */
+    public boolean isBudgetExhausted() {
+        return budgetExhausted;
+    }
+
+    /**
+     * Gives every site a new team with its allocated members. The teams the sites had
+     * before are left as they are, since other sites or callers may still use them;
+     * their members only hold them weakly, so unused ones are garbage collected
+     */
+    public void applyToSites() {
+        assignments.forEach((site, members) -> site.setTeam(
+                ConstructionTeam.<T>builder(members.size()).addAll(members).build()));
+        LOGGER.debug("Allocation applied to {} sites", assignments.size());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("WorkforceAllocation: %d sites, %d unassigned, monthly cost $%.2f (greedy $%.2f)",
+                assignments.size(), unassignedWorkers.size(), totalCost, initialCost);
+    }
+}
@@ -27,6 +27,7 @@ public abstract class AbstractConstructionTeamMember
 
     public void setExperienceLevel(int experienceLevel) {
         this.experienceLevel = experienceLevel;
+        fireChanged();
     }
 
     public abstract boolean canPerformComplexTask();
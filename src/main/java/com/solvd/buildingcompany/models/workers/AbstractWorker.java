@@ -1,14 +1,21 @@
 package com.solvd.buildingcompany.models.workers;
 
+import com.solvd.buildingcompany.interfaces.WorkerChangeListener;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 public abstract class AbstractWorker {
     private static final Logger LOGGER = LogManager.getLogger(AbstractWorker.class);
 
     private String name;
     private String position;
     private double hourlyRate;
+    // Teams keeping aggregates over this worker; notified after every setter
+    private final List<WorkerChangeListener> changeListeners = new CopyOnWriteArrayList<>();
 
     public AbstractWorker(String name, String position, double hourlyRate) {
         this.name = name;
@@ -23,6 +30,7 @@ public abstract class AbstractWorker {
 
     public void setName(String name) {
         this.name = name;
+        fireChanged();
     }
 
     public String getPosition() {
@@ -31,6 +39,7 @@ public abstract class AbstractWorker {
 
     public void setPosition(String position) {
         this.position = position;
+        fireChanged();
     }
 
     public double getHourlyRate() {
@@ -39,6 +48,24 @@ public abstract class AbstractWorker {
 
     public void setHourlyRate(double hourlyRate) {
         this.hourlyRate = hourlyRate;
+        fireChanged();
+    }
+
+    public void addChangeListener(WorkerChangeListener listener) {
+        // Drop listeners whose owner is gone, so a worker that joins many teams doesn't pile them up
+        changeListeners.removeIf(WorkerChangeListener::isDetached);
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(WorkerChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    // Subclass setters call this too, since certification and salary depend on their fields
+    protected void fireChanged() {
+        for (WorkerChangeListener listener : changeListeners) {
+            listener.workerChanged(this);
+        }
     }
 
     public abstract double calculateMonthlySalary(int hoursWorked);
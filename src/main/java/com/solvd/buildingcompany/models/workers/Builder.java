@@ -10,6 +10,7 @@ public class Builder extends AbstractConstructionTeamMember {
 
     public void setSpecialization(String specialization) {
         this.specialization = specialization;
+        fireChanged();
     }
 
     public Builder(String name, String specialization, double hourlyRate) {
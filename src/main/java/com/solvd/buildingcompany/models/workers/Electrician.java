@@ -20,6 +20,7 @@ public class Electrician extends AbstractConstructionTeamMember {
 
     public void setInsuranceAmount(double insuranceAmount) {
         this.insuranceAmount = insuranceAmount;
+        fireChanged();
     }
 
     @Override
@@ -20,6 +20,7 @@ public class Plumber extends AbstractConstructionTeamMember {
 
     public void setHasOwnTools(boolean hasOwnTools) {
         this.hasOwnTools = hasOwnTools;
+        fireChanged();
     }
 
     public boolean hasOwnTools() {
@@ -0,0 +1,480 @@
+package com.solvd.buildingcompany.persistence;
+
+import com.solvd.buildingcompany.enums.InventoryOperation;
+import com.solvd.buildingcompany.models.BuildingMaterial;
+import com.solvd.buildingcompany.models.MaterialInventory;
+import com.solvd.buildingcompany.models.PendingOrderPipeline;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * MaterialInventory whose mutations survive a restart.
+ * Each mutation is checked, appended to the write-ahead log and only then applied, all under
+ * one write lock, so the log order matches the in-memory order and a failed append leaves the
+ * state unchanged. The caller then waits for the group commit outside the lock, also through
+ * interrupts, and the mutation is acknowledged only once durable; other threads can read it
+ * before that.
+ * <p>
+ * A failed flush is fatal. The mutations waiting on it fail, the state is reloaded from disk,
+ * i.e. what a restart would recover, and every later mutation and compaction is refused until
+ * the inventory is reopened. A mutation reported as failed is thus never snapshotted from memory.
+ * <p>
+ * The directory holds snapshot-N.snap files (state before log generation N) and
+ * wal-N.log files. Opening restores the newest snapshot and replays the logs from
+ * its generation on. After compactionThreshold mutations a background compaction
+ * starts a new log generation, writes a snapshot of the state at that point and
+ * deletes the files it supersedes.
+ */
+public class DurableMaterialInventory implements AutoCloseable {
+    private static final Logger LOGGER = LogManager.getLogger(DurableMaterialInventory.class);
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final String LOG_PREFIX = "wal-";
+    private static final String LOG_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int groupCommitBytes;
+    private final long groupCommitMillis;
+    private final long compactionThreshold;
+    // Replaced when the state is reloaded after a log failure
+    private MaterialInventory<BuildingMaterial> inventory;
+    private final ReentrantReadWriteLock lock;
+    // Held by compaction while it writes and deletes files, and by the reload after a log failure
+    private final ReentrantLock fileLock;
+    private final ExecutorService compactor;
+    private final AtomicBoolean compacting;
+    private final AtomicLong mutationsSinceCompaction;
+
+    private WriteAheadLog log;
+    private long generation;
+    // Set once a log flush failed; mutations and compactions are refused from then on
+    private IOException failure;
+
+    /**
+     * Restores the inventory stored in the directory, or starts an empty one
+     * @param directory Directory for snapshots and logs, created if missing
+     * @param groupCommitBytes Flush the log once this many bytes are waiting
+     * @param groupCommitMillis Flush the log at the latest after this long
+     * @param compactionThreshold Mutations between compactions, 0 to only compact on request
+     * @throws IOException if the stored state cannot be read or the log cannot be opened
+     */
+    public DurableMaterialInventory(Path directory, int groupCommitBytes, long groupCommitMillis,
+                                    long compactionThreshold) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.groupCommitBytes = groupCommitBytes;
+        this.groupCommitMillis = groupCommitMillis;
+        this.compactionThreshold = compactionThreshold;
+        this.inventory = new MaterialInventory<>();
+        this.lock = new ReentrantReadWriteLock();
+        this.fileLock = new ReentrantLock();
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.compacting = new AtomicBoolean();
+        this.mutationsSinceCompaction = new AtomicLong();
+        recover();
+    }
+
+    public void addMaterial(BuildingMaterial material) throws IOException {
+        long sequence;
+        WriteAheadLog current;
+        lock.writeLock().lock();
+        try {
+            checkUsable();
+            current = log;
+            sequence = current.append(WalEntry.of(InventoryOperation.ADD_MATERIAL, material));
+            inventory.addMaterial(material);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        commit(current, sequence);
+    }
+
+    public boolean removeMaterial(String name) throws IOException {
+        long sequence;
+        WriteAheadLog current;
+        lock.writeLock().lock();
+        try {
+            checkUsable();
+            if (inventory.getMaterial(name) == null) {
+                return false;
+            }
+            current = log;
+            sequence = current.append(WalEntry.of(InventoryOperation.REMOVE_MATERIAL, name));
+            inventory.removeMaterial(name);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        commit(current, sequence);
+        return true;
+    }
+
+    /**
+     * Orders a material without blocking; the default pipeline is unbounded and accepts every order
+     * @return true if the order was accepted and logged
+     */
+    public boolean orderMaterial(BuildingMaterial material) throws IOException {
+        long sequence;
+        WriteAheadLog current;
+        lock.writeLock().lock();
+        try {
+            checkUsable();
+            PendingOrderPipeline<BuildingMaterial> pipeline = inventory.getOrderPipeline();
+            if (!pipeline.canOffer(material)) {
+                return false;
+            }
+            current = log;
+            sequence = current.append(WalEntry.of(InventoryOperation.ORDER_MATERIAL, material));
+            pipeline.offer(material);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        commit(current, sequence);
+        return true;
+    }
+
+    public BuildingMaterial processPendingOrder() throws IOException {
+        BuildingMaterial material;
+        long sequence;
+        WriteAheadLog current;
+        lock.writeLock().lock();
+        try {
+            checkUsable();
+            if (inventory.getOrderPipeline().isEmpty()) {
+                return null;
+            }
+            current = log;
+            sequence = current.append(WalEntry.of(InventoryOperation.PROCESS_ORDER));
+            material = inventory.processPendingOrder();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        commit(current, sequence);
+        return material;
+    }
+
+    public void addSupplier(String supplier) throws IOException {
+        long sequence;
+        WriteAheadLog current;
+        lock.writeLock().lock();
+        try {
+            checkUsable();
+            current = log;
+            sequence = current.append(WalEntry.of(InventoryOperation.ADD_SUPPLIER, supplier));
+            inventory.addSupplier(supplier);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        commit(current, sequence);
+    }
+
+    public BuildingMaterial getMaterial(String name) {
+        lock.readLock().lock();
+        try {
+            return inventory.getMaterial(name);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Set<String> getSuppliers() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(inventory.getSuppliers());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<BuildingMaterial> getPendingOrders() {
+        lock.readLock().lock();
+        try {
+            return inventory.getPendingOrders();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTotalInventoryCount() {
+        lock.readLock().lock();
+        try {
+            return inventory.getTotalInventoryCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public double calculateTotalInventoryValue() {
+        lock.readLock().lock();
+        try {
+            return inventory.calculateTotalInventoryValue();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getMaterialCount() {
+        lock.readLock().lock();
+        try {
+            return inventory.getMaterialCatalog().size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getGeneration() {
+        lock.readLock().lock();
+        try {
+            return generation;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Starts a new log generation and writes a snapshot of the state at that point.
+     * Mutators are only held up while the state is copied, not while the file is written
+     * @throws IOException if the log cannot be rotated or the snapshot cannot be written,
+     * or if a log flush failed earlier
+     */
+    public void compact() throws IOException {
+        fileLock.lock();
+        try {
+            compactFiles();
+        } finally {
+            fileLock.unlock();
+        }
+    }
+
+    /**
+     * @return true if a log flush failed, so the inventory only serves reads until reopened
+     */
+    public boolean isFailed() {
+        lock.readLock().lock();
+        try {
+            return failure != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void compactFiles() throws IOException {
+        long snapshotGeneration;
+        WriteAheadLog previous;
+        List<BuildingMaterial> catalog;
+        List<BuildingMaterial> stock;
+        List<String> suppliers;
+        List<BuildingMaterial> orders;
+        lock.writeLock().lock();
+        try {
+            checkUsable();
+            // The new generation is opened first, so a failure leaves the current log in use
+            snapshotGeneration = generation + 1;
+            WriteAheadLog next = new WriteAheadLog(logPath(snapshotGeneration), groupCommitBytes, groupCommitMillis);
+            previous = log;
+            log = next;
+            generation = snapshotGeneration;
+            catalog = new ArrayList<>(inventory.getMaterialCatalog().values());
+            stock = new ArrayList<>(inventory.getStockItems());
+            suppliers = new ArrayList<>(inventory.getSuppliers());
+            orders = inventory.getPendingOrders();
+            mutationsSinceCompaction.set(0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Closing flushes every entry of the old generation; if it fails, the snapshot is not
+        // written and recovery still replays the old log
+        previous.close();
+        InventorySnapshot.write(snapshotPath(snapshotGeneration), catalog, stock, suppliers, orders);
+        for (Path file : listFiles()) {
+            long fileGeneration = generationOf(file);
+            boolean staleLog = isLog(file) && fileGeneration < snapshotGeneration;
+            boolean staleSnapshot = isSnapshot(file) && fileGeneration < snapshotGeneration;
+            if (staleLog || staleSnapshot) {
+                Files.deleteIfExists(file);
+            }
+        }
+        LOGGER.info("Compacted inventory into snapshot generation {}", snapshotGeneration);
+    }
+
+    /**
+     * Flushes the log, waits for a running compaction and closes the log
+     */
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.writeLock().lock();
+        try {
+            log.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void commit(WriteAheadLog current, long sequence) throws IOException {
+        try {
+            current.awaitDurableUninterruptibly(sequence);
+        } catch (IOException e) {
+            fail(current, e);
+            throw e;
+        }
+        if (compactionThreshold > 0 && mutationsSinceCompaction.incrementAndGet() >= compactionThreshold
+                && compacting.compareAndSet(false, true)) {
+            compactor.submit(() -> {
+                try {
+                    compact();
+                } catch (IOException e) {
+                    LOGGER.error("Inventory compaction failed", e);
+                } finally {
+                    compacting.set(false);
+                }
+            });
+        }
+    }
+
+    private void checkUsable() throws IOException {
+        if (failure != null) {
+            throw new IOException("Inventory refuses changes after a write-ahead log failure; reopen it", failure);
+        }
+    }
+
+    // Stops accepting changes and replaces the state, which may hold mutations that never became
+    // durable, with what is on disk; only the first failure reloads
+    private void fail(WriteAheadLog failedLog, IOException cause) {
+        fileLock.lock();
+        lock.writeLock().lock();
+        try {
+            if (failure != null) {
+                return;
+            }
+            failure = cause;
+            LOGGER.error("Write-ahead log {} failed, reloading inventory from {}", failedLog.getPath(), directory, cause);
+            // The failed log may be the one a compaction just rotated away from
+            closeQuietly(failedLog);
+            closeQuietly(log);
+            inventory = new MaterialInventory<>();
+            try {
+                restore();
+            } catch (IOException e) {
+                LOGGER.error("Reloading inventory from {} failed", directory, e);
+            }
+        } finally {
+            lock.writeLock().unlock();
+            fileLock.unlock();
+        }
+    }
+
+    private static void closeQuietly(WriteAheadLog writeAheadLog) {
+        try {
+            writeAheadLog.close();
+        } catch (IOException e) {
+            LOGGER.debug("Closing write-ahead log {} after a failure: {}", writeAheadLog.getPath(), e.getMessage());
+        }
+    }
+
+    private void recover() throws IOException {
+        restore();
+        log = new WriteAheadLog(logPath(generation), groupCommitBytes, groupCommitMillis);
+    }
+
+    // Loads the newest snapshot and replays the logs after it into the inventory
+    private void restore() throws IOException {
+        long begin = System.nanoTime();
+        long snapshotGeneration = 0;
+        SortedSet<Long> logGenerations = new TreeSet<>();
+        for (Path file : listFiles()) {
+            if (isSnapshot(file)) {
+                snapshotGeneration = Math.max(snapshotGeneration, generationOf(file));
+            } else if (isLog(file)) {
+                logGenerations.add(generationOf(file));
+            }
+        }
+        if (snapshotGeneration > 0) {
+            MappedInventorySnapshot.open(snapshotPath(snapshotGeneration)).restoreInto(inventory);
+        }
+
+        int replayed = 0;
+        for (long logGeneration : logGenerations.tailSet(snapshotGeneration)) {
+            replayed += WriteAheadLog.replay(logPath(logGeneration), this::apply);
+        }
+        generation = logGenerations.isEmpty()
+                ? snapshotGeneration
+                : Math.max(snapshotGeneration, logGenerations.last());
+        LOGGER.info("Recovered inventory from {} (snapshot generation {}, {} log entries) in {} ms",
+                directory, snapshotGeneration, replayed, (System.nanoTime() - begin) / 1_000_000);
+    }
+
+    private void apply(WalEntry entry) {
+        switch (entry.operation()) {
+            case ADD_MATERIAL -> inventory.addMaterial(entry.toMaterial());
+            case REMOVE_MATERIAL -> inventory.removeMaterial(entry.name());
+            case ORDER_MATERIAL -> inventory.getOrderPipeline().offer(entry.toMaterial());
+            case PROCESS_ORDER -> inventory.processPendingOrder();
+            case ADD_SUPPLIER -> inventory.addSupplier(entry.name());
+        }
+    }
+
+    private List<Path> listFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                if ((isSnapshot(file) || isLog(file)) && generationOf(file) >= 0) {
+                    files.add(file);
+                }
+            }
+        }
+        return files;
+    }
+
+    private Path snapshotPath(long fileGeneration) {
+        return directory.resolve(SNAPSHOT_PREFIX + fileGeneration + SNAPSHOT_SUFFIX);
+    }
+
+    private Path logPath(long fileGeneration) {
+        return directory.resolve(LOG_PREFIX + fileGeneration + LOG_SUFFIX);
+    }
+
+    private static boolean isSnapshot(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+    }
+
+    private static boolean isLog(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(LOG_PREFIX) && name.endsWith(LOG_SUFFIX);
+    }
+
+    // Generation number from the file name, -1 if it does not parse
+    private static long generationOf(Path file) {
+        String name = file.getFileName().toString();
+        int start = isSnapshot(file) ? SNAPSHOT_PREFIX.length() : LOG_PREFIX.length();
+        int end = name.lastIndexOf('.');
+        try {
+            return Long.parseLong(name.substring(start, end));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return -1;
+        }
+    }
+}
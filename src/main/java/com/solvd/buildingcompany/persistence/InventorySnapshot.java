@@ -0,0 +1,166 @@
+package com.solvd.buildingcompany.persistence;
+
+import com.solvd.buildingcompany.models.BuildingMaterial;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes inventory snapshots that {@link MappedInventorySnapshot} maps back lazily.
+ * <p>
+ * Layout: a fixed header, an open-addressing hash table of record offsets for
+ * the catalog, the catalog records, then the stock, supplier and pending order sections.
+ * A material record is name length, UTF-8 name, price, unit type length, UTF-8 unit type.
+ * <p>
+ * The file is written through a mapping of a temporary file in the same directory
+ * and then atomically moved over the target, so readers of an older snapshot keep
+ * their mapping and never see a half-written file.
+ */
+public final class InventorySnapshot {
+    private static final Logger LOGGER = LogManager.getLogger(InventorySnapshot.class);
+
+    static final int MAGIC = 0x42434953;
+    static final int VERSION = 1;
+    // magic, version, materialCount, slotCount, stockCount, supplierCount, orderCount, padding
+    // then catalogOffset, stockOffset, suppliersOffset, ordersOffset, fileLength
+    static final int HEADER_BYTES = 8 * Integer.BYTES + 5 * Long.BYTES;
+    static final int EMPTY_SLOT = 0;
+
+    private InventorySnapshot() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Writes a snapshot; the collections are only read, so callers may pass live views
+     * of a concurrent inventory or copies of a single-threaded one
+     * @param path Target file, replaced atomically
+     * @param catalog Catalog entries, one per material name
+     * @param stock Stock entries
+     * @param suppliers Supplier names
+     * @param pendingOrders Pending orders, oldest first
+     * @throws IOException if the file cannot be written or would be larger than 2 GB
+     */
+    public static void write(Path path, Collection<? extends BuildingMaterial> catalog,
+                             Collection<? extends BuildingMaterial> stock,
+                             Collection<String> suppliers,
+                             Collection<? extends BuildingMaterial> pendingOrders) throws IOException {
+        long begin = System.nanoTime();
+        List<EncodedMaterial> catalogRecords = encodeAll(catalog);
+        List<EncodedMaterial> stockRecords = encodeAll(stock);
+        List<byte[]> supplierNames = new ArrayList<>(suppliers.size());
+        for (String supplier : suppliers) {
+            supplierNames.add(supplier.getBytes(StandardCharsets.UTF_8));
+        }
+        List<EncodedMaterial> orderRecords = encodeAll(pendingOrders);
+
+        int slotCount = tableSize(catalogRecords.size());
+        long catalogOffset = HEADER_BYTES + (long) slotCount * Integer.BYTES;
+        long stockOffset = catalogOffset + sizeOf(catalogRecords);
+        long suppliersOffset = stockOffset + sizeOf(stockRecords);
+        long ordersOffset = suppliersOffset;
+        for (byte[] supplier : supplierNames) {
+            ordersOffset += Integer.BYTES + supplier.length;
+        }
+        long fileLength = ordersOffset + sizeOf(orderRecords);
+        if (fileLength > Integer.MAX_VALUE) {
+            throw new IOException("Inventory snapshot would exceed 2 GB: " + fileLength + " bytes");
+        }
+
+        Path directory = path.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileLength);
+                buffer.putInt(MAGIC).putInt(VERSION)
+                        .putInt(catalogRecords.size()).putInt(slotCount)
+                        .putInt(stockRecords.size()).putInt(supplierNames.size())
+                        .putInt(orderRecords.size()).putInt(0)
+                        .putLong(catalogOffset).putLong(stockOffset)
+                        .putLong(suppliersOffset).putLong(ordersOffset).putLong(fileLength);
+
+                // Records are written in order while their offsets go into the hash table
+                int position = (int) catalogOffset;
+                for (EncodedMaterial record : catalogRecords) {
+                    int slot = MappedInventorySnapshot.hash(record.name) & (slotCount - 1);
+                    while (buffer.getInt(HEADER_BYTES + slot * Integer.BYTES) != EMPTY_SLOT) {
+                        slot = (slot + 1) & (slotCount - 1);
+                    }
+                    buffer.putInt(HEADER_BYTES + slot * Integer.BYTES, position);
+                    position = putRecord(buffer, position, record);
+                }
+                for (EncodedMaterial record : stockRecords) {
+                    position = putRecord(buffer, position, record);
+                }
+                for (byte[] supplier : supplierNames) {
+                    buffer.putInt(position, supplier.length);
+                    buffer.put(position + Integer.BYTES, supplier);
+                    position += Integer.BYTES + supplier.length;
+                }
+                for (EncodedMaterial record : orderRecords) {
+                    position = putRecord(buffer, position, record);
+                }
+                buffer.force();
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        LOGGER.info("Wrote inventory snapshot {} ({} materials, {} bytes) in {} ms", path,
+                catalogRecords.size(), fileLength, (System.nanoTime() - begin) / 1_000_000);
+    }
+
+    // Power of two with load factor at most one half
+    static int tableSize(int entries) {
+        int slots = 2;
+        while (slots < entries * 2L) {
+            slots <<= 1;
+        }
+        return slots;
+    }
+
+    private static int putRecord(MappedByteBuffer buffer, int position, EncodedMaterial record) {
+        buffer.putInt(position, record.name.length);
+        position += Integer.BYTES;
+        buffer.put(position, record.name);
+        position += record.name.length;
+        buffer.putDouble(position, record.pricePerUnit);
+        position += Double.BYTES;
+        buffer.putInt(position, record.unitType.length);
+        position += Integer.BYTES;
+        buffer.put(position, record.unitType);
+        return position + record.unitType.length;
+    }
+
+    private static List<EncodedMaterial> encodeAll(Collection<? extends BuildingMaterial> materials) {
+        List<EncodedMaterial> encoded = new ArrayList<>(materials.size());
+        for (BuildingMaterial material : materials) {
+            encoded.add(new EncodedMaterial(material.name().getBytes(StandardCharsets.UTF_8),
+                    material.pricePerUnit(), material.unitType().getBytes(StandardCharsets.UTF_8)));
+        }
+        return encoded;
+    }
+
+    private static long sizeOf(List<EncodedMaterial> records) {
+        long size = 0;
+        for (EncodedMaterial record : records) {
+            size += 2L * Integer.BYTES + Double.BYTES + record.name.length + record.unitType.length;
+        }
+        return size;
+    }
+
+    private record EncodedMaterial(byte[] name, double pricePerUnit, byte[] unitType) {
+    }
+}
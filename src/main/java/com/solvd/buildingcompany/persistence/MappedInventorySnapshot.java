@@ -0,0 +1,240 @@
+package com.solvd.buildingcompany.persistence;
+
+import com.solvd.buildingcompany.models.BuildingMaterial;
+import com.solvd.buildingcompany.models.MaterialInterner;
+import com.solvd.buildingcompany.models.MaterialInventory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Read-only view of a snapshot written by {@link InventorySnapshot}.
+ * Opening only maps the file and checks the header; the operating system pages
+ * data in as it is touched. getMaterial goes through the stored hash table and
+ * decodes a single record, so lookups work right after startup without a full import.
+ * Sections are decoded only when asked for. Safe for concurrent readers.
+ */
+public class MappedInventorySnapshot {
+    private static final Logger LOGGER = LogManager.getLogger(MappedInventorySnapshot.class);
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final int materialCount;
+    private final int slotCount;
+    private final int stockCount;
+    private final int supplierCount;
+    private final int orderCount;
+    private final int catalogOffset;
+    private final int stockOffset;
+    private final int suppliersOffset;
+    private final int ordersOffset;
+
+    private MappedInventorySnapshot(Path path, ByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.capacity() < InventorySnapshot.HEADER_BYTES
+                || buffer.getInt(0) != InventorySnapshot.MAGIC) {
+            throw new IOException("Not an inventory snapshot: " + path);
+        }
+        if (buffer.getInt(4) != InventorySnapshot.VERSION) {
+            throw new IOException("Unsupported inventory snapshot version " + buffer.getInt(4) + ": " + path);
+        }
+        this.materialCount = buffer.getInt(8);
+        this.slotCount = buffer.getInt(12);
+        this.stockCount = buffer.getInt(16);
+        this.supplierCount = buffer.getInt(20);
+        this.orderCount = buffer.getInt(24);
+        this.catalogOffset = (int) buffer.getLong(32);
+        this.stockOffset = (int) buffer.getLong(40);
+        this.suppliersOffset = (int) buffer.getLong(48);
+        this.ordersOffset = (int) buffer.getLong(56);
+        if (buffer.getLong(64) != buffer.capacity()) {
+            throw new IOException("Truncated inventory snapshot: " + path);
+        }
+    }
+
+    /**
+     * Maps a snapshot file; the mapping stays valid after the file is replaced or deleted
+     * @param path Snapshot file
+     * @return Mapped snapshot
+     * @throws IOException if the file cannot be read or is not a snapshot
+     */
+    public static MappedInventorySnapshot open(Path path) throws IOException {
+        long begin = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Inventory snapshot larger than 2 GB: " + path);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            MappedInventorySnapshot snapshot = new MappedInventorySnapshot(path, buffer);
+            LOGGER.debug("Mapped inventory snapshot {} in {} us", path, (System.nanoTime() - begin) / 1_000);
+            return snapshot;
+        }
+    }
+
+    /**
+     * Looks up one catalog entry through the stored hash table, decoding only that record
+     * @return The material, or null if the snapshot has no entry for the name
+     */
+    public BuildingMaterial getMaterial(String name) {
+        int position = findRecord(name.getBytes(StandardCharsets.UTF_8));
+        return position < 0 ? null : readRecord(position);
+    }
+
+    public boolean containsMaterial(String name) {
+        return findRecord(name.getBytes(StandardCharsets.UTF_8)) >= 0;
+    }
+
+    public int getMaterialCount() {
+        return materialCount;
+    }
+
+    public int getStockCount() {
+        return stockCount;
+    }
+
+    public int getOrderCount() {
+        return orderCount;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    // Decodes catalog entries one at a time, in the order they were written
+    public void forEachMaterial(Consumer<? super BuildingMaterial> action) {
+        forEachRecord(catalogOffset, materialCount, action);
+    }
+
+    public List<BuildingMaterial> getStockItems() {
+        List<BuildingMaterial> stock = new ArrayList<>(stockCount);
+        forEachRecord(stockOffset, stockCount, stock::add);
+        return stock;
+    }
+
+    public Set<String> getSuppliers() {
+        Set<String> suppliers = new HashSet<>();
+        int position = suppliersOffset;
+        for (int i = 0; i < supplierCount; i++) {
+            int length = buffer.getInt(position);
+            suppliers.add(readString(position + Integer.BYTES, length));
+            position += Integer.BYTES + length;
+        }
+        return suppliers;
+    }
+
+    /**
+     * @return Pending orders, oldest first
+     */
+    public List<BuildingMaterial> getPendingOrders() {
+        List<BuildingMaterial> orders = new ArrayList<>(orderCount);
+        forEachRecord(ordersOffset, orderCount, orders::add);
+        return orders;
+    }
+
+    /**
+     * Decodes every section into a new inventory
+     * @return Inventory with the snapshot's catalog, stock, suppliers and pending orders
+     */
+    public MaterialInventory<BuildingMaterial> toInventory() {
+        MaterialInventory<BuildingMaterial> inventory = new MaterialInventory<>();
+        restoreInto(inventory);
+        return inventory;
+    }
+
+    /**
+     * Replaces the inventory's catalog, stock and suppliers with the snapshot's
+     * and queues the snapshot's pending orders behind any already pending
+     */
+    public void restoreInto(MaterialInventory<BuildingMaterial> inventory) {
+        long begin = System.nanoTime();
+        Map<String, BuildingMaterial> catalog = new HashMap<>(Math.max(16, materialCount * 4 / 3 + 1));
+        forEachMaterial(material -> catalog.put(material.name(), material));
+        inventory.setMaterialCatalog(catalog);
+        inventory.setStockItems(getStockItems());
+        inventory.setSuppliers(getSuppliers());
+        for (BuildingMaterial order : getPendingOrders()) {
+            if (!inventory.orderMaterial(order)) {
+                LOGGER.warn("Order pipeline rejected restored order: {}", order.name());
+            }
+        }
+        LOGGER.info("Restored inventory from snapshot {} in {} ms", path, (System.nanoTime() - begin) / 1_000_000);
+    }
+
+    // Same hash on the write and read side, so it must not depend on the JVM run
+    static int hash(byte[] encoded) {
+        int hash = 0x811C9DC5;
+        for (byte b : encoded) {
+            hash = (hash ^ b) * 0x01000193;
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        return hash ^ (hash >>> 13);
+    }
+
+    private int findRecord(byte[] name) {
+        int mask = slotCount - 1;
+        int slot = hash(name) & mask;
+        int position;
+        while ((position = buffer.getInt(InventorySnapshot.HEADER_BYTES + slot * Integer.BYTES))
+                != InventorySnapshot.EMPTY_SLOT) {
+            if (nameEquals(position, name)) {
+                return position;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private boolean nameEquals(int position, byte[] name) {
+        if (buffer.getInt(position) != name.length) {
+            return false;
+        }
+        int start = position + Integer.BYTES;
+        for (int i = 0; i < name.length; i++) {
+            if (buffer.get(start + i) != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void forEachRecord(int position, int count, Consumer<? super BuildingMaterial> action) {
+        for (int i = 0; i < count; i++) {
+            action.accept(readRecord(position));
+            position += recordLength(position);
+        }
+    }
+
+    private BuildingMaterial readRecord(int position) {
+        int nameLength = buffer.getInt(position);
+        String name = readString(position + Integer.BYTES, nameLength);
+        int pricePosition = position + Integer.BYTES + nameLength;
+        double pricePerUnit = buffer.getDouble(pricePosition);
+        int unitLength = buffer.getInt(pricePosition + Double.BYTES);
+        String unitType = readString(pricePosition + Double.BYTES + Integer.BYTES, unitLength);
+        // Stock and order sections repeat catalog records, so share one instance per value
+        return MaterialInterner.getInstance().intern(name, pricePerUnit, unitType);
+    }
+
+    private int recordLength(int position) {
+        int nameLength = buffer.getInt(position);
+        int unitLength = buffer.getInt(position + Integer.BYTES + nameLength + Double.BYTES);
+        return 2 * Integer.BYTES + Double.BYTES + nameLength + unitLength;
+    }
+
+    private String readString(int position, int length) {
+        byte[] encoded = new byte[length];
+        buffer.get(position, encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,34 @@
+package com.solvd.buildingcompany.persistence;
+
+import com.solvd.buildingcompany.enums.InventoryOperation;
+import com.solvd.buildingcompany.models.BuildingMaterial;
+import com.solvd.buildingcompany.models.MaterialInterner;
+
+/**
+ * One logged inventory mutation. Only the fields the operation needs are set:
+ * material operations carry all three, removals and suppliers only a name,
+ * and processing an order carries nothing
+ */
+public record WalEntry(
+        InventoryOperation operation,
+        String name,
+        double pricePerUnit,
+        String unitType
+) {
+
+    public static WalEntry of(InventoryOperation operation, BuildingMaterial material) {
+        return new WalEntry(operation, material.name(), material.pricePerUnit(), material.unitType());
+    }
+
+    public static WalEntry of(InventoryOperation operation, String name) {
+        return new WalEntry(operation, name, 0.0, null);
+    }
+
+    public static WalEntry of(InventoryOperation operation) {
+        return new WalEntry(operation, null, 0.0, null);
+    }
+
+    public BuildingMaterial toMaterial() {
+        return MaterialInterner.getInstance().intern(name, pricePerUnit, unitType);
+    }
+}
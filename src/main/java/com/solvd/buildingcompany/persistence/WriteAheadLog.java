@@ -0,0 +1,355 @@
+package com.solvd.buildingcompany.persistence;
+
+import com.solvd.buildingcompany.enums.InventoryOperation;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of inventory mutations with group commit.
+ * append only copies the encoded entry into an in-memory batch and returns its
+ * sequence number; a background flusher writes the batch to the FileChannel and
+ * forces it to disk once it reaches groupCommitBytes or its oldest entry is
+ * groupCommitMillis old. Callers wait with awaitDurable, so every thread that
+ * appended while one fsync was running shares the next one.
+ * <p>
+ * Entry format: int body length, body (operation code and its fields), int CRC32 of the body.
+ * A torn or corrupt tail from a crash is cut off by replay.
+ */
+public class WriteAheadLog implements AutoCloseable {
+    private static final Logger LOGGER = LogManager.getLogger(WriteAheadLog.class);
+    private static final int MAX_BODY_BYTES = 1 << 20;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int groupCommitBytes;
+    private final long groupCommitNanos;
+    private final ReentrantLock lock;
+    private final Condition flushNeeded;
+    private final Condition durable;
+    private final Thread flusher;
+
+    private ByteArrayOutputStream pending;
+    private long firstPendingNanos;
+    private long appendedSequence;
+    private long durableSequence;
+    private long syncCount;
+    private boolean syncRequested;
+    private boolean closed;
+    private IOException failure;
+
+    /**
+     * Opens the log for appending, creating the file if needed
+     * @param path Log file
+     * @param groupCommitBytes Flush as soon as this many bytes are waiting
+     * @param groupCommitMillis Flush at the latest when the oldest waiting entry is this old
+     * @throws IOException if the file cannot be opened
+     */
+    public WriteAheadLog(Path path, int groupCommitBytes, long groupCommitMillis) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        this.groupCommitBytes = Math.max(1, groupCommitBytes);
+        this.groupCommitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, groupCommitMillis));
+        this.lock = new ReentrantLock();
+        this.flushNeeded = lock.newCondition();
+        this.durable = lock.newCondition();
+        this.pending = new ByteArrayOutputStream(Math.min(this.groupCommitBytes, 1 << 16) + 256);
+        this.flusher = new Thread(this::runFlusher, "wal-flusher-" + path.getFileName());
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+        LOGGER.debug("Opened write-ahead log {} (group commit {} bytes / {} ms)",
+                path, groupCommitBytes, groupCommitMillis);
+    }
+
+    /**
+     * Adds an entry to the current batch without waiting for the disk
+     * @return Sequence number to pass to awaitDurable
+     * @throws IOException if the log is closed or an earlier flush failed
+     */
+    public long append(WalEntry entry) throws IOException {
+        byte[] record = encode(entry);
+        lock.lock();
+        try {
+            checkWritable();
+            if (pending.size() == 0) {
+                firstPendingNanos = System.nanoTime();
+                flushNeeded.signal();
+            }
+            pending.write(record);
+            if (pending.size() >= groupCommitBytes) {
+                flushNeeded.signal();
+            }
+            return ++appendedSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until the entry with the given sequence number is on disk
+     * @throws IOException if the flush failed or the wait was interrupted
+     */
+    public void awaitDurable(long sequence) throws IOException {
+        lock.lock();
+        try {
+            while (durableSequence < sequence && failure == null) {
+                durable.await();
+            }
+            if (durableSequence < sequence) {
+                throw new IOException("Write-ahead log flush failed: " + path, failure);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for write-ahead log flush");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Like awaitDurable, but keeps waiting when interrupted, so the caller learns whether the
+     * entry made it; the interrupt status is set again before returning
+     * @throws IOException if the flush failed
+     */
+    public void awaitDurableUninterruptibly(long sequence) throws IOException {
+        lock.lock();
+        try {
+            while (durableSequence < sequence && failure == null) {
+                durable.awaitUninterruptibly();
+            }
+            if (durableSequence < sequence) {
+                throw new IOException("Write-ahead log flush failed: " + path, failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Flushes everything appended so far without waiting for the group commit window
+    public void sync() throws IOException {
+        long target;
+        lock.lock();
+        try {
+            target = appendedSequence;
+            syncRequested = true;
+            flushNeeded.signal();
+        } finally {
+            lock.unlock();
+        }
+        awaitDurable(target);
+    }
+
+    public long getAppendedCount() {
+        lock.lock();
+        try {
+            return appendedSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Number of fsyncs so far; appended count divided by this is the average group size
+    public long getSyncCount() {
+        lock.lock();
+        try {
+            return syncCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Flushes what is pending, stops the flusher and closes the file
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            flushNeeded.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null) {
+            throw new IOException("Write-ahead log flush failed: " + path, failure);
+        }
+        LOGGER.debug("Closed write-ahead log {}", path);
+    }
+
+    /**
+     * Feeds every intact entry of a log file to the consumer, in order.
+     * Anything after the first torn or corrupt entry is truncated away
+     * @param path Log file; a missing file counts as empty
+     * @param consumer Receives the entries
+     * @return Number of entries replayed
+     * @throws IOException if the file cannot be read
+     */
+    public static int replay(Path path, Consumer<WalEntry> consumer) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        long fileSize = Files.size(path);
+        long validBytes = 0;
+        int replayed = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            while (validBytes + 2 * Integer.BYTES <= fileSize) {
+                int length = in.readInt();
+                if (length <= 0 || length > MAX_BODY_BYTES || validBytes + 2L * Integer.BYTES + length > fileSize) {
+                    break;
+                }
+                byte[] body = new byte[length];
+                in.readFully(body);
+                int checksum = in.readInt();
+                if (checksum != checksum(body)) {
+                    break;
+                }
+                consumer.accept(decode(body));
+                validBytes += 2L * Integer.BYTES + length;
+                replayed++;
+            }
+        }
+        if (validBytes < fileSize) {
+            LOGGER.warn("Truncating {} bytes of torn write-ahead log tail in {}", fileSize - validBytes, path);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(validBytes);
+            }
+        }
+        LOGGER.debug("Replayed {} entries from {}", replayed, path);
+        return replayed;
+    }
+
+    private void runFlusher() {
+        lock.lock();
+        try {
+            while (true) {
+                while (pending.size() == 0 && !closed) {
+                    flushNeeded.await();
+                }
+                if (pending.size() == 0) {
+                    return;
+                }
+                // Let the batch grow until it is big enough or its oldest entry is due
+                long deadline = firstPendingNanos + groupCommitNanos;
+                while (!closed && !syncRequested && pending.size() < groupCommitBytes) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    flushNeeded.awaitNanos(remaining);
+                }
+                byte[] batch = pending.toByteArray();
+                pending.reset();
+                syncRequested = false;
+                long batchSequence = appendedSequence;
+
+                IOException error = null;
+                lock.unlock();
+                try {
+                    writeFully(batch);
+                    channel.force(false);
+                } catch (IOException e) {
+                    error = e;
+                } finally {
+                    lock.lock();
+                }
+                if (error != null) {
+                    LOGGER.error("Write-ahead log flush failed for {}", path, error);
+                    failure = error;
+                    durable.signalAll();
+                    return;
+                }
+                durableSequence = batchSequence;
+                syncCount++;
+                durable.signalAll();
+            }
+        } catch (InterruptedException e) {
+            failure = new InterruptedIOException("Write-ahead log flusher interrupted");
+            durable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeFully(byte[] batch) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(batch);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void checkWritable() throws IOException {
+        if (closed) {
+            throw new IOException("Write-ahead log is closed: " + path);
+        }
+        if (failure != null) {
+            throw new IOException("Write-ahead log flush failed: " + path, failure);
+        }
+    }
+
+    private static byte[] encode(WalEntry entry) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(body);
+        out.writeByte(entry.operation().getCode());
+        switch (entry.operation()) {
+            case ADD_MATERIAL, ORDER_MATERIAL -> {
+                out.writeUTF(entry.name());
+                out.writeDouble(entry.pricePerUnit());
+                out.writeUTF(entry.unitType());
+            }
+            case REMOVE_MATERIAL, ADD_SUPPLIER -> out.writeUTF(entry.name());
+            case PROCESS_ORDER -> {
+                // No fields, the order queue is replayed in the same sequence
+            }
+        }
+        byte[] bodyBytes = body.toByteArray();
+
+        ByteArrayOutputStream record = new ByteArrayOutputStream(bodyBytes.length + 2 * Integer.BYTES);
+        DataOutputStream recordOut = new DataOutputStream(record);
+        recordOut.writeInt(bodyBytes.length);
+        recordOut.write(bodyBytes);
+        recordOut.writeInt(checksum(bodyBytes));
+        return record.toByteArray();
+    }
+
+    private static WalEntry decode(byte[] body) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        InventoryOperation operation = InventoryOperation.fromCode(in.readByte());
+        return switch (operation) {
+            case ADD_MATERIAL, ORDER_MATERIAL -> new WalEntry(operation, in.readUTF(), in.readDouble(), in.readUTF());
+            case REMOVE_MATERIAL, ADD_SUPPLIER -> WalEntry.of(operation, in.readUTF());
+            case PROCESS_ORDER -> WalEntry.of(operation);
+        };
+    }
+
+    private static int checksum(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+}
@@ -19,13 +19,15 @@ public class ConstructionCalculator {
     private static final double WOOD_COST = 3000.0;
     private static final double CONCRETE_COST = 4000.0;
     private static final double DEFAULT_COST = 4500.0;
+    // Smallest team calculate accepts
+    public static final int MIN_TEAM_SIZE = 3;
 
     public ConstructionResult calculate(Project project, ConstructionTeam team) throws InvalidMaterialException, InsufficientTeamSizeException, BudgetExceededException {
         LOGGER.info("Starting calculation for project: {}", project.getName());
 
         int teamSize = team.getMembers().size();
-        if (teamSize < 3) {
-            throw new InsufficientTeamSizeException("Team is too small for construction project", teamSize, 3);
+        if (teamSize < MIN_TEAM_SIZE) {
+            throw new InsufficientTeamSizeException("Team is too small for construction project", teamSize, MIN_TEAM_SIZE);
         }
 
         // Using CostEstimator functional interface
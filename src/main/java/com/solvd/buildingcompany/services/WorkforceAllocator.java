@@ -0,0 +1,601 @@
+package com.solvd.buildingcompany.services;
+
+import com.solvd.buildingcompany.exceptions.InsufficientTeamSizeException;
+import com.solvd.buildingcompany.models.ConstructionSite;
+import com.solvd.buildingcompany.models.SiteStaffingRequirement;
+import com.solvd.buildingcompany.models.WorkforceAllocation;
+import com.solvd.buildingcompany.models.workers.AbstractConstructionTeamMember;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Assigns workers to construction sites at the lowest total monthly salary it can find
+ * within a time budget. Every site gets its position counts and at least
+ * ConstructionCalculator.MIN_TEAM_SIZE members. A worker costs calculateMonthlySalary at the
+ * site's monthly hours, so who goes where matters, not only who is picked.
+ * A greedy pass gives every place the cheapest remaining worker, busiest sites first. Independent
+ * local searches then improve copies of that allocation in parallel on a ForkJoinPool, each
+ * until the budget runs out or it stops finding improvements, and the cheapest result wins.
+ */
+public class WorkforceAllocator {
+    private static final Logger LOGGER = LogManager.getLogger(WorkforceAllocator.class);
+    private static final double EPSILON = 1e-9;
+    // Moves tried between deadline checks
+    private static final int CHECK_INTERVAL = 256;
+    // Workers per cost task before it stops splitting
+    private static final int COST_CHUNK = 1_024;
+
+    private final ForkJoinPool pool;
+    private Duration timeBudget;
+    private int searchTasks;
+    private long seed;
+
+    public WorkforceAllocator(Duration timeBudget) {
+        this(ForkJoinPool.commonPool(), timeBudget);
+    }
+
+    public WorkforceAllocator(ForkJoinPool pool, Duration timeBudget) {
+        this.pool = pool;
+        setTimeBudget(timeBudget);
+        this.searchTasks = Math.max(2, pool.getParallelism());
+        this.seed = 42;
+    }
+
+    public Duration getTimeBudget() {
+        return timeBudget;
+    }
+
+    public void setTimeBudget(Duration timeBudget) {
+        if (timeBudget == null || timeBudget.isNegative()) {
+            throw new IllegalArgumentException("Time budget cannot be negative: " + timeBudget);
+        }
+        this.timeBudget = timeBudget;
+    }
+
+    public int getSearchTasks() {
+        return searchTasks;
+    }
+
+    /**
+     * @param searchTasks Independent searches to run, each from the greedy allocation with its own random moves
+     */
+    public void setSearchTasks(int searchTasks) {
+        if (searchTasks < 1) {
+            throw new IllegalArgumentException("At least one search task is needed: " + searchTasks);
+        }
+        this.searchTasks = searchTasks;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @param workers Workers available; each is assigned to at most one site
+     * @param requirements One requirement per site
+     * @return The cheapest allocation found
+     * @throws InsufficientTeamSizeException If there are too few workers of a required position, or in total
+     */
+    public <T extends AbstractConstructionTeamMember> WorkforceAllocation<T> allocate(
+            Collection<? extends T> workers, List<SiteStaffingRequirement> requirements)
+            throws InsufficientTeamSizeException {
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+        // A worker listed twice is still one worker
+        Set<T> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<T> workerList = new ArrayList<>(workers.size());
+        for (T worker : workers) {
+            if (distinct.add(worker)) {
+                workerList.add(worker);
+            }
+        }
+        Problem problem = new Problem(workerList, requirements);
+        problem.checkFeasible();
+        pool.invoke(new CostTask(problem, 0, problem.workerCount));
+
+        Solution initial = problem.greedy();
+        Solution best = pool.invoke(new SearchTask(problem, initial, 0, searchTasks, deadline, seed));
+        if (initial.cost < best.cost) {
+            best = initial;
+        }
+        WorkforceAllocation<T> allocation = toAllocation(problem, workerList, requirements, initial, best);
+        LOGGER.debug("Allocated {} workers to {} sites: ${} (greedy ${}), {} moves tried",
+                problem.slotCount, requirements.size(), allocation.getTotalCost(), allocation.getInitialCost(),
+                allocation.getMovesTried());
+        return allocation;
+    }
+
+    private <T extends AbstractConstructionTeamMember> WorkforceAllocation<T> toAllocation(
+            Problem problem, List<T> workers, List<SiteStaffingRequirement> requirements,
+            Solution initial, Solution best) {
+        Map<ConstructionSite, List<T>> assignments = new LinkedHashMap<>();
+        Map<ConstructionSite, Double> siteCosts = new LinkedHashMap<>();
+        double totalCost = 0;
+        for (int site = 0; site < problem.siteCount; site++) {
+            List<T> members = new ArrayList<>(problem.siteSize[site]);
+            double siteCost = 0;
+            for (int slot = problem.slotStart[site]; slot < problem.slotStart[site + 1]; slot++) {
+                int worker = best.slotWorker[slot];
+                members.add(workers.get(worker));
+                siteCost += problem.cost(worker, site);
+            }
+            ConstructionSite constructionSite = requirements.get(site).getSite();
+            assignments.put(constructionSite, members);
+            siteCosts.put(constructionSite, siteCost);
+            totalCost += siteCost;
+        }
+        List<T> unassigned = new ArrayList<>(best.freeCount);
+        for (int worker = 0; worker < problem.workerCount; worker++) {
+            if (best.workerSlot[worker] < 0) {
+                unassigned.add(workers.get(worker));
+            }
+        }
+        return new WorkforceAllocation<>(assignments, siteCosts, unassigned, initial.cost, totalCost,
+                problem.movesTried.sum(), problem.budgetExhausted.get());
+    }
+
+    /**
+     * Workers, sites and costs as arrays. Positions and distinct monthly hours are numbered,
+     * and each site owns a range of slots, one per member it gets
+     */
+    private static final class Problem {
+        private final List<? extends AbstractConstructionTeamMember> workers;
+        private final List<SiteStaffingRequirement> requirements;
+        private final int workerCount;
+        private final int siteCount;
+        private final List<String> positions;
+        private final int[] workerPosition;
+        private final int[] hoursByClass;
+        private final int[] siteHoursClass;
+        private final int[] siteSize;
+        private final int[][] demand;
+        private final int[] slotStart;
+        private final int[] slotSite;
+        private final int slotCount;
+        // Monthly salary of each worker at each hours class
+        private final double[] cost;
+        private final LongAdder movesTried;
+        private final AtomicBoolean budgetExhausted;
+
+        private Problem(List<? extends AbstractConstructionTeamMember> workers,
+                        List<SiteStaffingRequirement> requirements) {
+            this.workers = workers;
+            this.requirements = requirements;
+            this.workerCount = workers.size();
+            this.siteCount = requirements.size();
+
+            Map<String, Integer> positionIds = new HashMap<>();
+            this.positions = new ArrayList<>();
+            this.workerPosition = new int[workerCount];
+            for (int worker = 0; worker < workerCount; worker++) {
+                workerPosition[worker] = positionId(positionIds, workers.get(worker).getPosition());
+            }
+            Map<Integer, Integer> hoursClasses = new HashMap<>();
+            Set<ConstructionSite> sites = Collections.newSetFromMap(new IdentityHashMap<>());
+            this.siteHoursClass = new int[siteCount];
+            this.siteSize = new int[siteCount];
+            this.slotStart = new int[siteCount + 1];
+            for (int site = 0; site < siteCount; site++) {
+                SiteStaffingRequirement requirement = requirements.get(site);
+                if (!sites.add(requirement.getSite())) {
+                    throw new IllegalArgumentException("Site listed twice: " + requirement.getSite().getAddress());
+                }
+                requirement.getPositionCounts().keySet().forEach(position -> positionId(positionIds, position));
+                siteHoursClass[site] = hoursClasses.computeIfAbsent(requirement.getMonthlyHours(), k -> hoursClasses.size());
+                siteSize[site] = requirement.getTeamSize();
+                slotStart[site + 1] = slotStart[site] + siteSize[site];
+            }
+            this.slotCount = slotStart[siteCount];
+            this.hoursByClass = new int[hoursClasses.size()];
+            hoursClasses.forEach((hours, hoursClass) -> hoursByClass[hoursClass] = hours);
+            this.demand = new int[siteCount][positions.size()];
+            for (int site = 0; site < siteCount; site++) {
+                for (Map.Entry<String, Integer> entry : requirements.get(site).getPositionCounts().entrySet()) {
+                    demand[site][positionIds.get(entry.getKey())] = entry.getValue();
+                }
+            }
+            this.slotSite = new int[slotCount];
+            for (int site = 0; site < siteCount; site++) {
+                Arrays.fill(slotSite, slotStart[site], slotStart[site + 1], site);
+            }
+            this.cost = new double[workerCount * hoursByClass.length];
+            this.movesTried = new LongAdder();
+            this.budgetExhausted = new AtomicBoolean();
+        }
+
+        private int positionId(Map<String, Integer> positionIds, String position) {
+            return positionIds.computeIfAbsent(position, k -> {
+                positions.add(k);
+                return positions.size() - 1;
+            });
+        }
+
+        private double cost(int worker, int site) {
+            return cost[worker * hoursByClass.length + siteHoursClass[site]];
+        }
+
+        private void checkFeasible() throws InsufficientTeamSizeException {
+            int[] supply = new int[positions.size()];
+            for (int position : workerPosition) {
+                supply[position]++;
+            }
+            for (int position = 0; position < positions.size(); position++) {
+                int required = 0;
+                for (int site = 0; site < siteCount; site++) {
+                    required += demand[site][position];
+                }
+                if (supply[position] < required) {
+                    throw new InsufficientTeamSizeException("Not enough " + positions.get(position)
+                            + " workers for the site requirements", supply[position], required);
+                }
+            }
+            if (workerCount < slotCount) {
+                throw new InsufficientTeamSizeException("Workforce too small to staff every site", workerCount, slotCount);
+            }
+        }
+
+        // Fills each site's position places, then its remaining places, from the busiest sites down
+        private Solution greedy() {
+            Solution solution = new Solution(this);
+            int hoursClassCount = hoursByClass.length;
+            // Workers by cost at each hours class, overall and per position
+            int[][] byCost = new int[hoursClassCount][];
+            int[][][] byCostAndPosition = new int[hoursClassCount][positions.size()][];
+            int[] positionSizes = new int[positions.size()];
+            for (int position : workerPosition) {
+                positionSizes[position]++;
+            }
+            // Each class is sorted from the previous order; salaries mostly scale with hours, so that is nearly sorted already
+            Integer[] order = IntStream.range(0, workerCount).boxed().toArray(Integer[]::new);
+            for (int hoursClass = 0; hoursClass < hoursClassCount; hoursClass++) {
+                int column = hoursClass;
+                Arrays.sort(order, Comparator.comparingDouble(worker -> cost[worker * hoursClassCount + column]));
+                byCost[hoursClass] = Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+                for (int position = 0; position < positions.size(); position++) {
+                    byCostAndPosition[hoursClass][position] = new int[positionSizes[position]];
+                }
+                int[] filled = new int[positions.size()];
+                for (int worker : byCost[hoursClass]) {
+                    int position = workerPosition[worker];
+                    byCostAndPosition[hoursClass][position][filled[position]++] = worker;
+                }
+            }
+            Integer[] sitesByHours = new Integer[siteCount];
+            for (int site = 0; site < siteCount; site++) {
+                sitesByHours[site] = site;
+            }
+            Arrays.sort(sitesByHours, Comparator.comparingInt((Integer site) -> -hoursByClass[siteHoursClass[site]]));
+
+            int[] nextSlot = slotStart.clone();
+            int[][] positionCursor = new int[hoursClassCount][positions.size()];
+            for (int site : sitesByHours) {
+                int hoursClass = siteHoursClass[site];
+                for (int position = 0; position < positions.size(); position++) {
+                    int[] candidates = byCostAndPosition[hoursClass][position];
+                    for (int i = 0; i < demand[site][position]; i++) {
+                        while (solution.workerSlot[candidates[positionCursor[hoursClass][position]]] >= 0) {
+                            positionCursor[hoursClass][position]++;
+                        }
+                        solution.place(nextSlot[site]++, candidates[positionCursor[hoursClass][position]]);
+                    }
+                }
+            }
+            int[] cursor = new int[hoursClassCount];
+            for (int site : sitesByHours) {
+                int hoursClass = siteHoursClass[site];
+                while (nextSlot[site] < slotStart[site + 1]) {
+                    while (solution.workerSlot[byCost[hoursClass][cursor[hoursClass]]] >= 0) {
+                        cursor[hoursClass]++;
+                    }
+                    solution.place(nextSlot[site]++, byCost[hoursClass][cursor[hoursClass]]);
+                }
+            }
+            for (int slot = 0; slot < slotCount; slot++) {
+                solution.cost += cost(solution.slotWorker[slot], slotSite[slot]);
+            }
+            return solution;
+        }
+    }
+
+    /**
+     * One allocation being searched: the worker in every slot, position counts per site
+     * and the unassigned workers, overall and per position, for constant-time moves
+     */
+    private static final class Solution {
+        private final Problem problem;
+        private final int[] slotWorker;
+        private final int[] workerSlot;
+        private final int[][] count;
+        private final int[] free;
+        private final int[] freeIndex;
+        private int freeCount;
+        private final int[][] freeByPosition;
+        private final int[] freeByPositionCount;
+        private final int[] freeByPositionIndex;
+        private double cost;
+
+        private Solution(Problem problem) {
+            this.problem = problem;
+            this.slotWorker = new int[problem.slotCount];
+            this.workerSlot = new int[problem.workerCount];
+            this.count = new int[problem.siteCount][problem.positions.size()];
+            this.free = new int[problem.workerCount];
+            this.freeIndex = new int[problem.workerCount];
+            this.freeByPosition = new int[problem.positions.size()][];
+            this.freeByPositionCount = new int[problem.positions.size()];
+            this.freeByPositionIndex = new int[problem.workerCount];
+            int[] positionSizes = new int[problem.positions.size()];
+            for (int position : problem.workerPosition) {
+                positionSizes[position]++;
+            }
+            for (int position = 0; position < positionSizes.length; position++) {
+                freeByPosition[position] = new int[positionSizes[position]];
+            }
+            Arrays.fill(workerSlot, -1);
+            for (int worker = 0; worker < problem.workerCount; worker++) {
+                addFree(worker);
+            }
+        }
+
+        private Solution(Solution other) {
+            this.problem = other.problem;
+            this.slotWorker = other.slotWorker.clone();
+            this.workerSlot = other.workerSlot.clone();
+            this.count = new int[other.count.length][];
+            for (int site = 0; site < count.length; site++) {
+                count[site] = other.count[site].clone();
+            }
+            this.free = other.free.clone();
+            this.freeIndex = other.freeIndex.clone();
+            this.freeCount = other.freeCount;
+            this.freeByPosition = new int[other.freeByPosition.length][];
+            for (int position = 0; position < freeByPosition.length; position++) {
+                freeByPosition[position] = other.freeByPosition[position].clone();
+            }
+            this.freeByPositionCount = other.freeByPositionCount.clone();
+            this.freeByPositionIndex = other.freeByPositionIndex.clone();
+            this.cost = other.cost;
+        }
+
+        // Puts a free worker into an empty or just vacated slot
+        private void place(int slot, int worker) {
+            removeFree(worker);
+            slotWorker[slot] = worker;
+            workerSlot[worker] = slot;
+            count[problem.slotSite[slot]][problem.workerPosition[worker]]++;
+        }
+
+        // Takes the worker out of its slot and back to the free workers
+        private void vacate(int slot) {
+            int worker = slotWorker[slot];
+            workerSlot[worker] = -1;
+            count[problem.slotSite[slot]][problem.workerPosition[worker]]--;
+            addFree(worker);
+        }
+
+        private void addFree(int worker) {
+            free[freeCount] = worker;
+            freeIndex[worker] = freeCount++;
+            int position = problem.workerPosition[worker];
+            freeByPosition[position][freeByPositionCount[position]] = worker;
+            freeByPositionIndex[worker] = freeByPositionCount[position]++;
+        }
+
+        private void removeFree(int worker) {
+            int last = free[--freeCount];
+            free[freeIndex[worker]] = last;
+            freeIndex[last] = freeIndex[worker];
+            int position = problem.workerPosition[worker];
+            int lastOfPosition = freeByPosition[position][--freeByPositionCount[position]];
+            freeByPosition[position][freeByPositionIndex[worker]] = lastOfPosition;
+            freeByPositionIndex[lastOfPosition] = freeByPositionIndex[worker];
+        }
+
+        // Whether the site keeps its requirement after losing a worker of this position
+        private boolean canSpare(int site, int position) {
+            return count[site][position] > problem.demand[site][position];
+        }
+    }
+
+    // Prices every worker at every hours class, splitting the workers across the pool
+    private static final class CostTask extends RecursiveAction {
+        private final Problem problem;
+        private final int from;
+        private final int to;
+
+        private CostTask(Problem problem, int from, int to) {
+            this.problem = problem;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > COST_CHUNK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new CostTask(problem, from, mid), new CostTask(problem, mid, to));
+                return;
+            }
+            int hoursClassCount = problem.hoursByClass.length;
+            for (int worker = from; worker < to; worker++) {
+                AbstractConstructionTeamMember member = problem.workers.get(worker);
+                for (int hoursClass = 0; hoursClass < hoursClassCount; hoursClass++) {
+                    problem.cost[worker * hoursClassCount + hoursClass] =
+                            member.calculateMonthlySalary(problem.hoursByClass[hoursClass]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs searches [from, to) from copies of the start allocation, forking halves across
+     * the pool, and returns the cheapest result
+     */
+    private static final class SearchTask extends RecursiveTask<Solution> {
+        private final Problem problem;
+        private final Solution start;
+        private final int from;
+        private final int to;
+        private final long deadline;
+        private final long seed;
+
+        private SearchTask(Problem problem, Solution start, int from, int to, long deadline, long seed) {
+            this.problem = problem;
+            this.start = start;
+            this.from = from;
+            this.to = to;
+            this.deadline = deadline;
+            this.seed = seed;
+        }
+
+        @Override
+        protected Solution compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                SearchTask left = new SearchTask(problem, start, from, mid, deadline, seed);
+                left.fork();
+                Solution right = new SearchTask(problem, start, mid, to, deadline, seed).compute();
+                Solution leftResult = left.join();
+                return leftResult.cost <= right.cost ? leftResult : right;
+            }
+            Solution solution = new Solution(start);
+            search(solution, new SplittableRandom(seed + from));
+            return solution;
+        }
+
+        // First-improvement local search; stops at the deadline or after a long run without improvement
+        private void search(Solution solution, SplittableRandom random) {
+            if (problem.slotCount == 0) {
+                return;
+            }
+            long idleLimit = Math.max(10_000L, 8L * (problem.slotCount + problem.workerCount));
+            long idle = 0;
+            long moves = 0;
+            while (idle < idleLimit) {
+                if (moves % CHECK_INTERVAL == 0 && System.nanoTime() - deadline >= 0) {
+                    problem.budgetExhausted.set(true);
+                    break;
+                }
+                moves++;
+                boolean improved = switch (random.nextInt(3)) {
+                    case 0 -> tryReplace(solution, random);
+                    case 1 -> trySwap(solution, random);
+                    default -> tryShift(solution, random);
+                };
+                idle = improved ? 0 : idle + 1;
+            }
+            problem.movesTried.add(moves);
+        }
+
+        // A free worker, half the time one with the given position so the slot's site stays staffed
+        private int pickFree(Solution solution, SplittableRandom random, int position) {
+            if (solution.freeCount == 0) {
+                return -1;
+            }
+            int sameCount = solution.freeByPositionCount[position];
+            if (sameCount > 0 && random.nextBoolean()) {
+                return solution.freeByPosition[position][random.nextInt(sameCount)];
+            }
+            return solution.free[random.nextInt(solution.freeCount)];
+        }
+
+        // A free worker takes an assigned worker's place
+        private boolean tryReplace(Solution solution, SplittableRandom random) {
+            int slot = random.nextInt(problem.slotCount);
+            int site = problem.slotSite[slot];
+            int assigned = solution.slotWorker[slot];
+            int position = problem.workerPosition[assigned];
+            int candidate = pickFree(solution, random, position);
+            if (candidate < 0 || problem.workerPosition[candidate] != position && !solution.canSpare(site, position)) {
+                return false;
+            }
+            double delta = problem.cost(candidate, site) - problem.cost(assigned, site);
+            if (delta >= -EPSILON) {
+                return false;
+            }
+            solution.vacate(slot);
+            solution.place(slot, candidate);
+            solution.cost += delta;
+            return true;
+        }
+
+        // Two assigned workers at sites with different hours trade places
+        private boolean trySwap(Solution solution, SplittableRandom random) {
+            int first = random.nextInt(problem.slotCount);
+            int second = random.nextInt(problem.slotCount);
+            int firstSite = problem.slotSite[first];
+            int secondSite = problem.slotSite[second];
+            if (problem.siteHoursClass[firstSite] == problem.siteHoursClass[secondSite]) {
+                return false;
+            }
+            int firstWorker = solution.slotWorker[first];
+            int secondWorker = solution.slotWorker[second];
+            int firstPosition = problem.workerPosition[firstWorker];
+            int secondPosition = problem.workerPosition[secondWorker];
+            if (firstPosition != secondPosition
+                    && (!solution.canSpare(firstSite, firstPosition) || !solution.canSpare(secondSite, secondPosition))) {
+                return false;
+            }
+            double delta = problem.cost(firstWorker, secondSite) + problem.cost(secondWorker, firstSite)
+                    - problem.cost(firstWorker, firstSite) - problem.cost(secondWorker, secondSite);
+            if (delta >= -EPSILON) {
+                return false;
+            }
+            solution.slotWorker[first] = secondWorker;
+            solution.slotWorker[second] = firstWorker;
+            solution.workerSlot[firstWorker] = second;
+            solution.workerSlot[secondWorker] = first;
+            solution.count[firstSite][firstPosition]--;
+            solution.count[firstSite][secondPosition]++;
+            solution.count[secondSite][secondPosition]--;
+            solution.count[secondSite][firstPosition]++;
+            solution.cost += delta;
+            return true;
+        }
+
+        // An assigned worker moves to another site, pushing its worker out, and a free worker fills the gap
+        private boolean tryShift(Solution solution, SplittableRandom random) {
+            int from = random.nextInt(problem.slotCount);
+            int to = random.nextInt(problem.slotCount);
+            int fromSite = problem.slotSite[from];
+            int toSite = problem.slotSite[to];
+            if (fromSite == toSite) {
+                return false;
+            }
+            int moving = solution.slotWorker[from];
+            int displaced = solution.slotWorker[to];
+            int movingPosition = problem.workerPosition[moving];
+            int displacedPosition = problem.workerPosition[displaced];
+            int filler = pickFree(solution, random, movingPosition);
+            if (filler < 0
+                    || problem.workerPosition[filler] != movingPosition && !solution.canSpare(fromSite, movingPosition)
+                    || movingPosition != displacedPosition && !solution.canSpare(toSite, displacedPosition)) {
+                return false;
+            }
+            double delta = problem.cost(moving, toSite) - problem.cost(displaced, toSite)
+                    + problem.cost(filler, fromSite) - problem.cost(moving, fromSite);
+            if (delta >= -EPSILON) {
+                return false;
+            }
+            solution.vacate(to);
+            solution.vacate(from);
+            solution.place(to, moving);
+            solution.place(from, filler);
+            solution.cost += delta;
+            return true;
+        }
+    }
+}